@@ -0,0 +1,102 @@
+package com.jvosantos.games.gameoflife.benchmark;
+
+import com.jvosantos.games.gameoflife.engine.LifePatterns;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+/**
+ * Runs the engine benchmarks with the GC profiler, to get the allocation rate of every engine, and prints a summary
+ * with the generations per second, the cells calculated per nanosecond and the allocation rate of each benchmark.
+ * <p>
+ * Accepts the same arguments as the JMH command line, e.g. {@code -p mode=BITPACKED,VECTORIZED SoupBenchmark}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class BenchmarkRunner {
+
+    private static final double NANOSECONDS_PER_SECOND = 1e9;
+
+    /**
+     * Runs the benchmarks selected by the command line arguments.
+     *
+     * @param args JMH command line arguments.
+     * @throws Exception if the arguments can't be parsed or the benchmarks can't be run.
+     */
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build();
+        } catch (CommandLineOptionException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        System.out.println();
+        System.out.printf("%-50s %16s %12s %16s %14s%n", "Benchmark", "generations/s", "cells/ns", "alloc MB/s",
+            "alloc B/gen");
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            double generationsPerSecond = result.getPrimaryResult().getScore();
+
+            System.out.printf("%-50s %16.1f %12.4f %16s %14s%n", describe(params), generationsPerSecond,
+                generationsPerSecond * cellsPerGeneration(params) / NANOSECONDS_PER_SECOND,
+                secondaryScore(result, "gc.alloc.rate"), secondaryScore(result, "gc.alloc.rate.norm"));
+        }
+    }
+
+    /**
+     * Describes a benchmark by its class and parameters, e.g. "SoupBenchmark SPARSE 4096".
+     */
+    private static String describe(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        StringBuilder description = new StringBuilder(
+            benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1,
+                benchmark.lastIndexOf('.')));
+
+        for (String key : params.getParamsKeys()) {
+            description.append(' ').append(params.getParam(key));
+        }
+
+        return description.toString();
+    }
+
+    /**
+     * Gets the number of cells of the world calculated on every generation.
+     */
+    private static long cellsPerGeneration(BenchmarkParams params) {
+        if (params.getParam("size") != null) {
+            long size = Long.parseLong(params.getParam("size"));
+
+            return size * size;
+        }
+
+        int[][] pattern = LifePatterns.valueOf(params.getParam("pattern")).getPattern();
+
+        return (long) pattern.length * pattern[0].length;
+    }
+
+    /**
+     * Gets a score of the profilers, or "n/a" if it wasn't measured.
+     */
+    private static String secondaryScore(RunResult result, String label) {
+        for (Result<?> secondary : result.getSecondaryResults().values()) {
+            // older JMH versions prefix the labels of the profilers with a middle dot
+            if (secondary.getLabel().endsWith(label) && secondary.getLabel().length() <= label.length() + 1) {
+                return String.format("%.1f", secondary.getScore());
+            }
+        }
+
+        return "n/a";
+    }
+}
@@ -0,0 +1,102 @@
+package com.jvosantos.games.gameoflife.benchmark;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameEngineFactory;
+import com.jvosantos.games.gameoflife.engine.GameMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many generations per second each {@link com.jvosantos.games.gameoflife.engine.GameMode} calculates on
+ * a workload defined by the subclasses.
+ * <p>
+ * The subclasses list the modes they measure, leaving out the ones a workload doesn't fit. None of them lists MAPPED,
+ * which measures the disk more than the engine, or DISTRIBUTED, which starts worker JVMs of its own.
+ * <p>
+ * Every invocation advances the engine by a single generation, so the throughput is in generations per second. The
+ * engine is seeded again before each iteration, so every iteration measures the same generations of the workload
+ * instead of a world that keeps settling down.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public abstract class EngineBenchmark {
+
+    private int[][] seed;
+    private GameEngine engine;
+
+    /**
+     * Gets the mode of the engine being measured.
+     *
+     * @return the game mode.
+     */
+    protected abstract GameMode getMode();
+
+    /**
+     * Creates the initial pattern of the workload.
+     *
+     * @return the initial pattern.
+     */
+    protected abstract int[][] createSeed();
+
+    /**
+     * Creates the initial pattern of the workload once per trial.
+     */
+    @Setup(Level.Trial)
+    public void createWorkload() {
+        seed = createSeed();
+        engine = GameEngineFactory.getEngine(getMode());
+    }
+
+    /**
+     * Releases the files or the memory outside of the heap held by the engine, if any.
+     *
+     * @throws IOException if the engine can't be closed.
+     */
+    @TearDown(Level.Trial)
+    public void closeEngine() throws IOException {
+        if (engine instanceof Closeable) {
+            ((Closeable) engine).close();
+        }
+    }
+
+    /**
+     * Seeds the engine with the initial pattern of the workload.
+     */
+    @Setup(Level.Iteration)
+    public void seedEngine() {
+        engine.seed(seed);
+    }
+
+    /**
+     * Advances the engine by one generation. The board is returned so that the generation can't be optimized away.
+     *
+     * @return the board of the engine.
+     */
+    @Benchmark
+    public Board nextGeneration() {
+        engine.nextGeneration();
+
+        return engine.getBoard();
+    }
+}
@@ -0,0 +1,35 @@
+package com.jvosantos.games.gameoflife.benchmark;
+
+import com.jvosantos.games.gameoflife.engine.GameMode;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures the engines with bit packed or array worlds on the square random soups of
+ * {@link com.jvosantos.games.gameoflife.benchmark.SoupBenchmark} that are too large for the others. A 16384x16384 soup
+ * has over a hundred million live cells, which don't fit in the memory of the benchmark, on the heap or off it, on
+ * engines keeping every live cell as an entry of a hash table or a quadtree.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class LargeSoupBenchmark extends EngineBenchmark {
+
+    /**
+     * Engine being measured. Every listed mode is measured unless told otherwise with {@code -p mode=...}.
+     */
+    @Param({"CONSTRAINED", "BITPACKED", "PARALLEL", "VECTORIZED", "TORUS", "GROWING", "TEMPORAL"})
+    public GameMode mode;
+
+    /**
+     * Number of rows and columns of the soup.
+     */
+    @Param({"16384"})
+    public int size;
+
+    @Override protected GameMode getMode() {
+        return mode;
+    }
+
+    @Override protected int[][] createSeed() {
+        return SoupBenchmark.createSoup(size);
+    }
+}
@@ -0,0 +1,34 @@
+package com.jvosantos.games.gameoflife.benchmark;
+
+import com.jvosantos.games.gameoflife.engine.GameMode;
+import com.jvosantos.games.gameoflife.engine.LifePatterns;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures every engine on the patterns of {@link com.jvosantos.games.gameoflife.engine.LifePatterns}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class PatternBenchmark extends EngineBenchmark {
+
+    /**
+     * Engine being measured. Every listed mode is measured unless told otherwise with {@code -p mode=...}.
+     */
+    @Param({"ENDLESS", "CONSTRAINED", "BITPACKED", "HASHLIFE", "PARALLEL", "SPARSE", "VECTORIZED", "TORUS", "OFFHEAP",
+        "GROWING", "TEMPORAL"})
+    public GameMode mode;
+
+    /**
+     * Pattern used as the seed. Every pattern is measured unless told otherwise with {@code -p pattern=...}.
+     */
+    @Param
+    public LifePatterns pattern;
+
+    @Override protected GameMode getMode() {
+        return mode;
+    }
+
+    @Override protected int[][] createSeed() {
+        return pattern.getPattern();
+    }
+}
@@ -0,0 +1,60 @@
+package com.jvosantos.games.gameoflife.benchmark;
+
+import com.jvosantos.games.gameoflife.engine.GameMode;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.Random;
+
+/**
+ * Measures every engine on square random soups, with half of the cells alive.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class SoupBenchmark extends EngineBenchmark {
+
+    /**
+     * Seed of the random soups, so every run measures the same soups.
+     */
+    private static final long SOUP_SEED = 42;
+
+    /**
+     * Engine being measured. Every listed mode is measured unless told otherwise with {@code -p mode=...}.
+     */
+    @Param({"ENDLESS", "CONSTRAINED", "BITPACKED", "HASHLIFE", "PARALLEL", "SPARSE", "VECTORIZED", "TORUS", "OFFHEAP",
+        "GROWING", "TEMPORAL"})
+    public GameMode mode;
+
+    /**
+     * Number of rows and columns of the soup. Larger soups are measured by
+     * {@link com.jvosantos.games.gameoflife.benchmark.LargeSoupBenchmark}.
+     */
+    @Param({"256", "4096"})
+    public int size;
+
+    @Override protected GameMode getMode() {
+        return mode;
+    }
+
+    @Override protected int[][] createSeed() {
+        return createSoup(size);
+    }
+
+    /**
+     * Creates a square random soup, the same one for every size on every run.
+     *
+     * @param size The number of rows and columns of the soup.
+     * @return the soup.
+     */
+    static int[][] createSoup(int size) {
+        int[][] soup = new int[size][size];
+        Random random = new Random(SOUP_SEED);
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                soup[i][j] = random.nextInt(2);
+            }
+        }
+
+        return soup;
+    }
+}
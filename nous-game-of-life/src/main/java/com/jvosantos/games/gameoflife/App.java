@@ -1,14 +1,28 @@
 package com.jvosantos.games.gameoflife;
 
+import com.jvosantos.games.gameoflife.batch.BatchRunner;
+import com.jvosantos.games.gameoflife.batch.BatchSeed;
+import com.jvosantos.games.gameoflife.engine.CycleDetector;
+import com.jvosantos.games.gameoflife.engine.GameEngine;
 import com.jvosantos.games.gameoflife.engine.GameEngineFactory;
 import com.jvosantos.games.gameoflife.engine.LifePatterns;
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.engine.Size;
+import com.jvosantos.games.gameoflife.metrics.EngineMetrics;
+import com.jvosantos.games.gameoflife.metrics.MeteredEngine;
+import com.jvosantos.games.gameoflife.metrics.MetricsLog;
+import com.jvosantos.games.gameoflife.patterns.PatternFile;
 import com.jvosantos.games.gameoflife.settings.ApplicationSettings;
 import com.jvosantos.games.gameoflife.ui.ConsoleInterface;
-import net.nous.test.GameOfLife;
+import com.jvosantos.games.gameoflife.ui.RenderPipeline;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.nio.file.FileSystems;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A running application for game of life. Accepts different setting either by default, file and/or application arguments and runs game of life.
@@ -34,38 +48,202 @@ public class App {
             return ;
         }
 
-        // instantiate a new game of life
-        GameOfLife gameOfLife =
-            GameEngineFactory.getEngine(APPLICATION_SETTINGS.getProperty(ApplicationSettings.MODE));
+        // run many games without printing them, if asked to, instead of a single one
+        if (APPLICATION_SETTINGS.<Integer>getProperty(ApplicationSettings.BATCH_SOUPS) > 0
+            || APPLICATION_SETTINGS.getProperty(ApplicationSettings.BATCH_DIRECTORY) != null) {
+            runBatch();
+            return ;
+        }
+
+        // instantiate a new game of life, closed once the game is over to release the workers, files or memory it
+        // holds, whether the game ended or failed
+        GameEngine gameOfLife =
+            GameEngineFactory.getEngine(APPLICATION_SETTINGS.getProperty(ApplicationSettings.MODE),
+                APPLICATION_SETTINGS.<Integer>getProperty(ApplicationSettings.PARALLELISM));
+        try {
+            play(gameOfLife);
+        } finally {
+            if (gameOfLife instanceof Closeable) {
+                ((Closeable) gameOfLife).close();
+            }
+        }
+    }
+
+    /**
+     * Plays game of life on the given engine with the defined settings.
+     */
+    private static void play(GameEngine gameOfLife) throws Exception {
+        gameOfLife.setRule(APPLICATION_SETTINGS.getProperty(ApplicationSettings.RULE));
+
+        // record the metrics of the engine, if asked to, exposing them as an MBean and writing them to a CSV log
+        String metricsLogFile = APPLICATION_SETTINGS.getProperty(ApplicationSettings.METRICS_LOG);
+        MetricsLog metricsLog = null;
+        if (APPLICATION_SETTINGS.<Boolean>getProperty(ApplicationSettings.METRICS) || metricsLogFile != null) {
+            MeteredEngine meteredEngine = new MeteredEngine(gameOfLife, new EngineMetrics(
+                APPLICATION_SETTINGS.<Integer>getProperty(ApplicationSettings.STEPS_BETWEEN_BOUNDING_BOXES)));
+            meteredEngine.getMetrics().register(APPLICATION_SETTINGS.getProperty(ApplicationSettings.MODE).toString());
+            gameOfLife = meteredEngine;
+
+            if (metricsLogFile != null) {
+                try {
+                    metricsLog = new MetricsLog(meteredEngine.getMetrics(),
+                        FileSystems.getDefault().getPath(metricsLogFile),
+                        APPLICATION_SETTINGS.getProperty(ApplicationSettings.MS_BETWEEN_METRICS));
+                } catch (IOException e) {
+                    System.err.println(e.getMessage());
+                    return ;
+                }
+            }
+        }
 
         // create a new console interface
         ConsoleInterface consoleInterface = new ConsoleInterface(
             APPLICATION_SETTINGS.getProperty(ApplicationSettings.ALIVE_CHARACTER),
-            APPLICATION_SETTINGS.getProperty(ApplicationSettings.DEAD_CHARACTER));
+            APPLICATION_SETTINGS.getProperty(ApplicationSettings.DEAD_CHARACTER),
+            APPLICATION_SETTINGS.<Boolean>getProperty(ApplicationSettings.DIFF));
 
-        // get initial seed
-        int[][] seed = (APPLICATION_SETTINGS.getProperty(ApplicationSettings.PATTERN_FILE) != null)?
-            LifePatterns.parsePattern(Files.readAllLines(FileSystems.getDefault()
-                .getPath(APPLICATION_SETTINGS.getProperty(ApplicationSettings.PATTERN_FILE))))
-            :
-            ((LifePatterns) APPLICATION_SETTINGS.getProperty(ApplicationSettings.PATTERN))
-                .getPattern();
+        // get initial seed, streaming the pattern file straight into the engine
+        Pattern seed;
+        try {
+            seed = (APPLICATION_SETTINGS.getProperty(ApplicationSettings.PATTERN_FILE) != null)?
+                PatternFile.open(APPLICATION_SETTINGS.getProperty(ApplicationSettings.INPUT_PATTERN),
+                    FileSystems.getDefault().getPath(APPLICATION_SETTINGS.getProperty(ApplicationSettings.PATTERN_FILE)))
+                :
+                Pattern.of(((LifePatterns) APPLICATION_SETTINGS.getProperty(ApplicationSettings.PATTERN))
+                    .getPattern());
+        } catch (IOException | ParseException e) {
+            System.err.println(e.getMessage());
+            return ;
+        }
 
-        // print the initial seed
-        consoleInterface.printBoard(seed);
         // initialize game of life with the given seed
         gameOfLife.seed(seed);
 
-        // get max generations and endless flag from settings
+        // get max generations, endless and headless flags from settings. Endless runs have no last generation to be
+        // printed, so they are never headless.
         int maxGenerations = APPLICATION_SETTINGS.getProperty(ApplicationSettings.MAX_GENERATIONS);
         boolean endless = APPLICATION_SETTINGS.getProperty(ApplicationSettings.ENDLESS);
+        boolean headless = !endless && APPLICATION_SETTINGS.<Boolean>getProperty(ApplicationSettings.HEADLESS);
+
+        // print the generations on a renderer thread of their own, if asked to, so the engine never waits for the console
+        int frameBuffer = APPLICATION_SETTINGS.getProperty(ApplicationSettings.FRAME_BUFFER);
+        long msBetweenGenerations = APPLICATION_SETTINGS.getProperty(ApplicationSettings.MS_BETWEEN_GENERATIONS);
+        RenderPipeline pipeline = (frameBuffer > 0 && !headless)
+            ? new RenderPipeline(consoleInterface::printBoard, frameBuffer, msBetweenGenerations) : null;
+
+        // print the initial seed
+        if (!headless) {
+            show(consoleInterface, pipeline, gameOfLife, 0);
+        }
+
+        // watch the hashes of the last generations, if asked to, to stop once the world repeats itself
+        int cycleHistory = APPLICATION_SETTINGS.getProperty(ApplicationSettings.CYCLE_HISTORY);
+        CycleDetector cycleDetector = (cycleHistory > 0) ? new CycleDetector(cycleHistory) : null;
+        if (cycleDetector != null) {
+            cycleDetector.observe(gameOfLife, 0);
+        }
+        long stableGeneration = -1;
+
+        if (headless && cycleDetector == null) {
+            // nothing is read before the last generation, so the engine goes straight to it
+            gameOfLife.advance(maxGenerations);
+        } else {
+            // until we reach the defined max generations or forever
+            // print the next board and wait a few milliseconds, unless the renderer thread does the waiting.
+            for (int i = 0; i < maxGenerations || endless; i++) {
+                gameOfLife.nextGeneration();
+                if (!headless) {
+                    show(consoleInterface, pipeline, gameOfLife, i + 1);
+                }
+
+                if (cycleDetector != null
+                    && cycleDetector.observe(gameOfLife, i + 1) != CycleDetector.Stability.EVOLVING) {
+                    stableGeneration = cycleDetector.getCycleStart();
+
+                    // nothing new will ever be shown, so an endless run stops here and a bounded one skips the whole
+                    // periods left, calculating only the generations needed to reach its last generation
+                    if (!endless) {
+                        long remaining = cycleDetector.remainingGenerations(i + 1, maxGenerations);
+                        gameOfLife.advance(remaining);
+                        if (remaining > 0 && !headless) {
+                            show(consoleInterface, pipeline, gameOfLife, maxGenerations);
+                        }
+                    }
+                    break;
+                }
 
-        // until we reach the defined max generations or forever
-        // print the next board and wait a few milliseconds.
-        for (int i = 0; i < maxGenerations || endless; i++) {
-            consoleInterface.printBoard(gameOfLife.next());
-            Thread.sleep(
-                APPLICATION_SETTINGS.getProperty(ApplicationSettings.MS_BETWEEN_GENERATIONS));
+                if (!headless && pipeline == null) {
+                    Thread.sleep(msBetweenGenerations);
+                }
+            }
+        }
+
+        // wait for the renderer to print the generations left
+        if (pipeline != null) {
+            pipeline.close();
+        }
+
+        // print the last generation
+        if (headless) {
+            consoleInterface.printBoard(gameOfLife.getBoard());
+        }
+
+        // report how the world evolves once it stopped evolving, after the generations printed up to then
+        if (stableGeneration >= 0) {
+            consoleInterface.printStability(stableGeneration, cycleDetector);
+        }
+
+        // write the metrics of the last generation
+        if (metricsLog != null) {
+            metricsLog.close();
+        }
+    }
+
+    /**
+     * Runs the random soups and the pattern files of the batch settings on a batch runner, writing the summary of each
+     * run to the results file.
+     */
+    private static void runBatch() throws InterruptedException {
+        List<BatchSeed> seeds = new ArrayList<>();
+        Path results =
+            FileSystems.getDefault().getPath(APPLICATION_SETTINGS.getProperty(ApplicationSettings.BATCH_RESULTS));
+
+        try {
+            String directory = APPLICATION_SETTINGS.getProperty(ApplicationSettings.BATCH_DIRECTORY);
+            if (directory != null) {
+                seeds.addAll(BatchSeed.directory(FileSystems.getDefault().getPath(directory),
+                    APPLICATION_SETTINGS.getProperty(ApplicationSettings.INPUT_PATTERN)));
+            }
+
+            Size soupSize = APPLICATION_SETTINGS.getProperty(ApplicationSettings.SOUP_SIZE);
+            seeds.addAll(BatchSeed.soups(APPLICATION_SETTINGS.getProperty(ApplicationSettings.BATCH_SOUPS),
+                soupSize.getWidth(), soupSize.getHeight(),
+                APPLICATION_SETTINGS.getProperty(ApplicationSettings.SOUP_DENSITY),
+                APPLICATION_SETTINGS.getProperty(ApplicationSettings.SOUP_SEED)));
+
+            new BatchRunner(APPLICATION_SETTINGS.getProperty(ApplicationSettings.MODE),
+                APPLICATION_SETTINGS.getProperty(ApplicationSettings.RULE),
+                APPLICATION_SETTINGS.getProperty(ApplicationSettings.PARALLELISM),
+                APPLICATION_SETTINGS.<Integer>getProperty(ApplicationSettings.MAX_GENERATIONS),
+                APPLICATION_SETTINGS.getProperty(ApplicationSettings.CYCLE_HISTORY),
+                APPLICATION_SETTINGS.getProperty(ApplicationSettings.BATCH_WORKERS)).run(seeds, results);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            return ;
+        }
+
+        System.out.printf("%d runs written to %s.%n", seeds.size(), results);
+    }
+
+    /**
+     * Prints a generation on the console, or hands it to the render pipeline when there is one.
+     */
+    private static void show(ConsoleInterface consoleInterface, RenderPipeline pipeline, GameEngine gameOfLife,
+        long generation) {
+        if (pipeline != null) {
+            pipeline.offer(gameOfLife.getBoard(), generation);
+        } else {
+            consoleInterface.printBoard(gameOfLife.getBoard());
         }
     }
 
@@ -0,0 +1,241 @@
+package com.jvosantos.games.gameoflife.batch;
+
+import com.jvosantos.games.gameoflife.engine.CycleDetector;
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameEngineFactory;
+import com.jvosantos.games.gameoflife.engine.GameMode;
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.engine.Rule;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs many independent games without printing them, to gather statistics over many seeds, e.g. thousands of random
+ * soups.
+ * <p>
+ * Every run seeds an engine of its own and calculates generations until the last generation, watching the hashes of
+ * the world with a {@link com.jvosantos.games.gameoflife.engine.CycleDetector}. Once the world is known to be empty,
+ * static or periodic, only the generations needed to reach the last generation are calculated, like the application
+ * does. The {@link com.jvosantos.games.gameoflife.batch.RunSummary summary} of each run is handed over as soon as the
+ * run is over, so results are written in the order the runs finish.
+ * <p>
+ * Runs are spread over a fixed number of workers, running on virtual threads on JVMs that have them and on daemon
+ * platform threads on the others. The workers bound the number of engines in memory at once.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class BatchRunner {
+
+    /**
+     * Number of generations whose hashes are kept when no history is given, so runs still stop calculating once the
+     * world stabilizes.
+     */
+    public static final int DEFAULT_CYCLE_HISTORY = 100;
+
+    private final GameMode mode;
+    private final Rule rule;
+    private final int parallelism;
+    private final long maxGenerations;
+    private final int cycleHistory;
+    private final int workers;
+
+    /**
+     * Creates a new batch runner.
+     *
+     * @param mode           The mode of the engine of each run.
+     * @param rule           The rule of the engine of each run.
+     * @param parallelism    The parallelism of the engine of each run, see
+     *                       {@link com.jvosantos.games.gameoflife.engine.GameEngineFactory#getEngine(GameMode, int)}.
+     * @param maxGenerations The last generation of each run.
+     * @param cycleHistory   The number of generations whose hashes are kept, or 0 for {@link #DEFAULT_CYCLE_HISTORY}.
+     * @param workers        The number of runs running at once.
+     */
+    public BatchRunner(GameMode mode, Rule rule, int parallelism, long maxGenerations, int cycleHistory, int workers) {
+        if (maxGenerations < 0) {
+            throw new IllegalArgumentException("Cannot run a negative number of generations.");
+        }
+
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Batch must have at least one worker.");
+        }
+
+        this.mode = mode;
+        this.rule = rule;
+        this.parallelism = parallelism;
+        this.maxGenerations = maxGenerations;
+        this.cycleHistory = (cycleHistory > 0) ? cycleHistory : DEFAULT_CYCLE_HISTORY;
+        this.workers = workers;
+    }
+
+    /**
+     * Runs every seed and writes their summaries to a results file, a CSV file with the columns of
+     * {@link RunSummary#HEADER}.
+     *
+     * @param seeds   The seeds to be run.
+     * @param results The results file, replaced if it exists.
+     * @throws IOException          if the results file can't be written.
+     * @throws InterruptedException if interrupted while waiting for the runs.
+     */
+    public void run(List<BatchSeed> seeds, Path results) throws IOException, InterruptedException {
+        try (BufferedWriter writer = Files.newBufferedWriter(results, StandardCharsets.UTF_8)) {
+            writer.write(RunSummary.HEADER);
+            writer.newLine();
+
+            try {
+                run(seeds, summary -> {
+                    try {
+                        writer.write(summary.toCsv());
+                        writer.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Runs every seed, handing the summary of each run to the consumer as soon as it is over. The consumer is called
+     * by one worker at a time.
+     *
+     * @param seeds    The seeds to be run.
+     * @param consumer The consumer of the summaries.
+     * @throws RuntimeException     the first exception thrown by the consumer, after which the runs left are skipped.
+     * @throws InterruptedException if interrupted while waiting for the runs, in which case the runs left are
+     *                              cancelled.
+     */
+    public void run(List<BatchSeed> seeds, Consumer<RunSummary> consumer) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers, threadFactory());
+        RuntimeException[] failure = new RuntimeException[1];
+
+        for (BatchSeed seed : seeds) {
+            pool.execute(() -> {
+                // once the consumer fails, the runs left are skipped
+                synchronized (failure) {
+                    if (failure[0] != null) {
+                        return;
+                    }
+                }
+
+                RunSummary summary = run(seed);
+
+                synchronized (failure) {
+                    if (failure[0] == null) {
+                        try {
+                            consumer.accept(summary);
+                        } catch (RuntimeException e) {
+                            failure[0] = e;
+                        }
+                    }
+                }
+            });
+        }
+
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                // runs may take a long time, there's nothing to do but wait
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            throw e;
+        }
+
+        synchronized (failure) {
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+    }
+
+    /**
+     * Runs a seed on the calling thread. Failures of the run, e.g. a pattern file that can't be read or a rule the
+     * engine can't run, are reported on the summary.
+     *
+     * @param seed The seed to be run.
+     * @return the summary of the run.
+     */
+    public RunSummary run(BatchSeed seed) {
+        long start = System.nanoTime();
+        GameEngine engine = null;
+
+        try {
+            Pattern pattern = seed.open();
+
+            engine = GameEngineFactory.getEngine(mode, parallelism);
+            engine.setRule(rule);
+            engine.seed(pattern);
+            long initialPopulation = engine.getBoard().getPopulation();
+
+            CycleDetector cycleDetector = new CycleDetector(cycleHistory);
+            CycleDetector.Stability stability = cycleDetector.observe(engine, 0);
+            long generation = 0;
+            while (stability == CycleDetector.Stability.EVOLVING && generation < maxGenerations) {
+                engine.nextGeneration();
+                stability = cycleDetector.observe(engine, ++generation);
+            }
+
+            long stableGeneration = cycleDetector.getCycleStart();
+            if (stability != CycleDetector.Stability.EVOLVING) {
+                engine.advance(cycleDetector.remainingGenerations(generation, maxGenerations));
+            }
+
+            return new RunSummary(seed.getName(), pattern.getWidth(), pattern.getHeight(), initialPopulation,
+                engine.getBoard().getPopulation(), maxGenerations, stability, stableGeneration,
+                cycleDetector.getPeriod(), elapsedMs(start));
+        } catch (Exception e) {
+            return RunSummary.failed(seed.getName(), String.valueOf(e.getMessage()), elapsedMs(start));
+        } finally {
+            if (engine instanceof Closeable) {
+                try {
+                    ((Closeable) engine).close();
+                } catch (IOException e) {
+                    // the run is over already
+                }
+            }
+        }
+    }
+
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Gets a factory of virtual threads when the JVM has them, looked up by reflection since the project targets Java
+     * 8, or a factory of daemon platform threads otherwise.
+     *
+     * @return the factory of the threads of the workers.
+     */
+    static ThreadFactory threadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "game-of-life-batch-", 0L);
+
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger threads = new AtomicInteger();
+
+            return runnable -> {
+                Thread thread = new Thread(runnable, "game-of-life-batch-" + threads.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.jvosantos.games.gameoflife.batch;
+
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.patterns.PatternFile;
+import com.jvosantos.games.gameoflife.settings.PatternType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The seed of a run of a {@link com.jvosantos.games.gameoflife.batch.BatchRunner}, opened by the worker running it, so
+ * a pattern file that can't be read only fails its own run.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public interface BatchSeed {
+
+    /**
+     * Gets the name of the run, written to the results.
+     *
+     * @return the name of the seed.
+     */
+    String getName();
+
+    /**
+     * Opens the pattern of the seed.
+     *
+     * @return the pattern the run is seeded with.
+     * @throws IOException    if the pattern can't be read.
+     * @throws ParseException if the pattern isn't valid.
+     */
+    Pattern open() throws IOException, ParseException;
+
+    /**
+     * Gets the seeds of a number of random soups, the soup of run i being seeded with the given seed plus i. Soups are
+     * named after their seeds.
+     *
+     * @param count   The number of soups.
+     * @param width   The number of columns of each soup.
+     * @param height  The number of rows of each soup.
+     * @param density The probability of each cell being alive, from 0 to 1.
+     * @param seed    The seed of the first soup.
+     * @return the seeds of the soups.
+     */
+    static List<BatchSeed> soups(int count, int width, int height, double density, long seed) {
+        List<BatchSeed> seeds = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            SoupPattern soup = new SoupPattern(width, height, density, seed + i);
+
+            seeds.add(new BatchSeed() {
+                @Override public String getName() {
+                    return "soup-" + soup.getSeed();
+                }
+
+                @Override public Pattern open() {
+                    return soup;
+                }
+            });
+        }
+
+        return seeds;
+    }
+
+    /**
+     * Gets the seeds of the pattern files of a directory, sorted by name. Sub-directories are not visited.
+     *
+     * @param directory The directory with the pattern files.
+     * @param type      The format of the pattern files.
+     * @return the seeds of the files, named after the files.
+     * @throws IOException if the directory can't be listed.
+     */
+    static List<BatchSeed> directory(Path directory, PatternType type) throws IOException {
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        List<BatchSeed> seeds = new ArrayList<>(files.size());
+        for (Path file : files) {
+            seeds.add(new BatchSeed() {
+                @Override public String getName() {
+                    return file.getFileName().toString();
+                }
+
+                @Override public Pattern open() throws IOException, ParseException {
+                    return PatternFile.open(type, file);
+                }
+            });
+        }
+
+        return seeds;
+    }
+}
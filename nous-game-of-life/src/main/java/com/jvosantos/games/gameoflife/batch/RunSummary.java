@@ -0,0 +1,216 @@
+package com.jvosantos.games.gameoflife.batch;
+
+import com.jvosantos.games.gameoflife.engine.CycleDetector;
+
+/**
+ * The summary of a run of a {@link com.jvosantos.games.gameoflife.batch.BatchRunner}, either finished or failed.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class RunSummary {
+
+    /**
+     * Header of the results file, naming the columns of the summaries.
+     */
+    public static final String HEADER = "run,width,height,initial_population,final_population,generations,stability,"
+        + "stable_generation,period,elapsed_ms,error";
+
+    private final String name;
+    private final int width;
+    private final int height;
+    private final long initialPopulation;
+    private final long finalPopulation;
+    private final long generations;
+    private final CycleDetector.Stability stability;
+    private final long stableGeneration;
+    private final long period;
+    private final long elapsedMs;
+    private final String error;
+
+    /**
+     * Creates the summary of a finished run.
+     *
+     * @param name              The name of the run.
+     * @param width             The width of the seed.
+     * @param height            The height of the seed.
+     * @param initialPopulation The number of live cells of the seed.
+     * @param finalPopulation   The number of live cells on the last generation.
+     * @param generations       The last generation.
+     * @param stability         How the world evolves from its stable generation on, EVOLVING if it never stabilized.
+     * @param stableGeneration  The first generation of the world once stable, or -1 if it never stabilized.
+     * @param period            The period of the world once stable, or 0 if it never stabilized.
+     * @param elapsedMs         The number of milliseconds taken by the run.
+     */
+    public RunSummary(String name, int width, int height, long initialPopulation, long finalPopulation,
+        long generations, CycleDetector.Stability stability, long stableGeneration, long period, long elapsedMs) {
+        this(name, width, height, initialPopulation, finalPopulation, generations, stability, stableGeneration, period,
+            elapsedMs, null);
+    }
+
+    private RunSummary(String name, int width, int height, long initialPopulation, long finalPopulation,
+        long generations, CycleDetector.Stability stability, long stableGeneration, long period, long elapsedMs,
+        String error) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+        this.initialPopulation = initialPopulation;
+        this.finalPopulation = finalPopulation;
+        this.generations = generations;
+        this.stability = stability;
+        this.stableGeneration = stableGeneration;
+        this.period = period;
+        this.elapsedMs = elapsedMs;
+        this.error = error;
+    }
+
+    /**
+     * Creates the summary of a failed run.
+     *
+     * @param name      The name of the run.
+     * @param error     The reason of the failure.
+     * @param elapsedMs The number of milliseconds taken until the failure.
+     * @return the summary of the run.
+     */
+    public static RunSummary failed(String name, String error, long elapsedMs) {
+        return new RunSummary(name, 0, 0, -1, -1, -1, null, -1, 0, elapsedMs, error);
+    }
+
+    /**
+     * Gets the name of the run.
+     *
+     * @return the name of the run.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the width of the seed.
+     *
+     * @return the number of columns of the seed, or 0 if the run failed.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the seed.
+     *
+     * @return the number of rows of the seed, or 0 if the run failed.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the population of the seed.
+     *
+     * @return the number of live cells of the seed, or -1 if the run failed.
+     */
+    public long getInitialPopulation() {
+        return initialPopulation;
+    }
+
+    /**
+     * Gets the population of the last generation.
+     *
+     * @return the number of live cells of the last generation, or -1 if the run failed.
+     */
+    public long getFinalPopulation() {
+        return finalPopulation;
+    }
+
+    /**
+     * Gets the last generation of the run.
+     *
+     * @return the number of generations calculated, or -1 if the run failed.
+     */
+    public long getGenerations() {
+        return generations;
+    }
+
+    /**
+     * Gets how the world evolves from its stable generation on.
+     *
+     * @return the stability of the world, EVOLVING if it never stabilized, or null if the run failed.
+     */
+    public CycleDetector.Stability getStability() {
+        return stability;
+    }
+
+    /**
+     * Gets the first generation of the world once stable, i.e., the first generation of its cycle.
+     *
+     * @return the stable generation, or -1 if the world never stabilized.
+     */
+    public long getStableGeneration() {
+        return stableGeneration;
+    }
+
+    /**
+     * Gets the number of generations after which the world repeats itself once stable.
+     *
+     * @return the period of the world, 1 for empty and static worlds, or 0 if it never stabilized.
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the time taken by the run.
+     *
+     * @return the number of milliseconds taken by the run.
+     */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Gets the reason of the failure of the run.
+     *
+     * @return the error of the run, or null if it finished.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Formats the summary as a row of the results file, with the columns of {@link #HEADER}. Values that don't apply
+     * to the run are left empty.
+     *
+     * @return the row of the summary, without a line separator.
+     */
+    public String toCsv() {
+        StringBuilder row = new StringBuilder(field(name));
+
+        if (error != null) {
+            return row.append(",,,,,,,,,").append(elapsedMs).append(',').append(field(error)).toString();
+        }
+
+        row.append(',').append(width)
+            .append(',').append(height)
+            .append(',').append(initialPopulation)
+            .append(',').append(finalPopulation)
+            .append(',').append(generations)
+            .append(',').append(stability)
+            .append(',');
+        if (stableGeneration >= 0) {
+            row.append(stableGeneration).append(',').append(period);
+        } else {
+            row.append(',');
+        }
+
+        return row.append(',').append(elapsedMs).append(',').toString();
+    }
+
+    /**
+     * Quotes a value holding commas, quotes or line breaks.
+     */
+    private static String field(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,77 @@
+package com.jvosantos.games.gameoflife.batch;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.Pattern;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random soup, where every cell of a rectangle is alive with a given probability.
+ * <p>
+ * The cells are drawn from a random generator seeded with the seed of the soup every time they are visited, so a soup
+ * is never kept in memory and the same seed always gives the same soup.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class SoupPattern implements Pattern {
+
+    private final int width;
+    private final int height;
+    private final double density;
+    private final long seed;
+
+    /**
+     * Creates a new random soup.
+     *
+     * @param width   The number of columns of the soup.
+     * @param height  The number of rows of the soup.
+     * @param density The probability of each cell being alive, from 0 to 1.
+     * @param seed    The seed of the random generator drawing the cells.
+     */
+    public SoupPattern(int width, int height, double density, long seed) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Soup must have at least one row and one column.");
+        }
+
+        if (density < 0 || density > 1) {
+            throw new IllegalArgumentException("Density must be between 0 and 1.");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.density = density;
+        this.seed = seed;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the seed of the random generator drawing the cells.
+     *
+     * @return the seed of the soup.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public void forEachLiveCell(Board.CellConsumer consumer) {
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (random.nextDouble() < density) {
+                    consumer.accept(x, y);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.jvosantos.games.gameoflife.distributed;
+
+/**
+ * Enumeration of the commands sent by the coordinator of a distributed world to its workers, each written as its
+ * ordinal followed by its arguments.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public enum Command {
+    /**
+     * Sets the rule of the game, followed by its notation.
+     */
+    RULE,
+    /**
+     * Replaces the strip of the worker by a strip without live cells, followed by its first row, its number of rows,
+     * the number of columns of the world and flags (1 or 0) telling whether there are strips above and below it.
+     */
+    SEED,
+    /**
+     * Brings a cell of the strip to life, followed by its coordinate on the world packed into a long.
+     */
+    CELL,
+    /**
+     * Calculates a number of generations, followed by the number of generations. The worker answers with the
+     * population and the hash of its strip.
+     */
+    STEP,
+    /**
+     * Reads rows of the strip, followed by the first row, relative to the strip, and the number of rows. The worker
+     * answers with the words of every row.
+     */
+    ROWS,
+    /**
+     * Stops the worker.
+     */
+    CLOSE
+}
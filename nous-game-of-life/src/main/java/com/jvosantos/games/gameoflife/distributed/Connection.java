@@ -0,0 +1,177 @@
+package com.jvosantos.games.gameoflife.distributed;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A connection between the coordinator of a distributed world and one of its workers, or between two neighbouring
+ * workers, reading and writing primitive values through two reusable direct buffers.
+ * <p>
+ * Values written are only sent when the output buffer fills up or the connection is flushed, so every message must be
+ * flushed before waiting for its answer.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class Connection implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final SocketChannel channel;
+    private final ByteBuffer input;
+    private final ByteBuffer output;
+
+    /**
+     * Creates a new connection over the given channel, which is made blocking and sends small messages right away.
+     *
+     * @param channel The connected channel.
+     * @throws IOException if the channel can't be configured.
+     */
+    public Connection(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        channel.configureBlocking(true);
+        channel.socket().setTcpNoDelay(true);
+
+        input = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        input.flip();
+        output = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Connects to the given port of the loopback address.
+     *
+     * @param port The port listening for connections.
+     * @return the connection.
+     * @throws IOException if the connection can't be made.
+     */
+    public static Connection connect(int port) throws IOException {
+        return new Connection(SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)));
+    }
+
+    public void writeInt(int value) throws IOException {
+        reserve(Integer.BYTES);
+        output.putInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        reserve(Long.BYTES);
+        output.putLong(value);
+    }
+
+    /**
+     * Writes the first values of an array.
+     *
+     * @param values The array with the values.
+     * @param count  The number of values written.
+     * @throws IOException if the channel can't be written.
+     */
+    public void writeLongs(long[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writeLong(values[i]);
+        }
+    }
+
+    /**
+     * Writes a string as its length followed by its UTF-8 bytes. The string must fit in the output buffer.
+     *
+     * @param value The string.
+     * @throws IOException if the channel can't be written.
+     */
+    public void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        writeInt(bytes.length);
+        reserve(bytes.length);
+        output.put(bytes);
+    }
+
+    /**
+     * Sends every value written so far.
+     *
+     * @throws IOException if the channel can't be written.
+     */
+    public void flush() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        output.clear();
+    }
+
+    public int readInt() throws IOException {
+        fill(Integer.BYTES);
+
+        return input.getInt();
+    }
+
+    public long readLong() throws IOException {
+        fill(Long.BYTES);
+
+        return input.getLong();
+    }
+
+    /**
+     * Reads values into the first positions of an array.
+     *
+     * @param values The array receiving the values.
+     * @param count  The number of values read.
+     * @throws IOException if the channel can't be read.
+     */
+    public void readLongs(long[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            values[i] = readLong();
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(String)}.
+     *
+     * @return the string.
+     * @throws IOException if the channel can't be read.
+     */
+    public String readString() throws IOException {
+        byte[] bytes = new byte[readInt()];
+
+        fill(bytes.length);
+        input.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Sends the values written so far if the output buffer doesn't have room for the given number of bytes.
+     */
+    private void reserve(int bytes) throws IOException {
+        if (output.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Reads from the channel until the input buffer has at least the given number of bytes.
+     *
+     * @throws EOFException if the channel is closed by the other side first.
+     */
+    private void fill(int bytes) throws IOException {
+        if (input.remaining() >= bytes) {
+            return;
+        }
+
+        input.compact();
+        while (input.position() < bytes) {
+            if (channel.read(input) < 0) {
+                throw new EOFException("Connection was closed.");
+            }
+        }
+        input.flip();
+    }
+}
@@ -0,0 +1,211 @@
+package com.jvosantos.games.gameoflife.distributed;
+
+import com.jvosantos.games.gameoflife.engine.Coordinate;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked;
+import com.jvosantos.games.gameoflife.engine.Rule;
+import com.jvosantos.games.gameoflife.engine.WorldHash;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+
+/**
+ * A worker of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeDistributed}, running on a JVM of its own and
+ * calculating a strip of consecutive rows of the world, bit packed like in
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked}.
+ * <p>
+ * The strip is kept with an extra halo row above and below it. Before each generation the worker sends its first and
+ * last rows to the workers of the strips above and below, and receives their last and first rows into its halos. The
+ * links between neighbouring workers are used in two phases, first the links below the even workers and then the
+ * links below the odd ones, and on each link the upper worker writes first while the lower one reads first, so the
+ * exchange never deadlocks however large the rows are.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public final class StripWorker {
+
+    private final int index;
+    private final Connection coordinator;
+    private final Connection above;
+    private final Connection below;
+    private final Strip strip = new Strip();
+
+    private StripWorker(int index, Connection coordinator, Connection above, Connection below) {
+        this.index = index;
+        this.coordinator = coordinator;
+        this.above = above;
+        this.below = below;
+    }
+
+    /**
+     * Runs a worker until the coordinator closes it or goes away.
+     * <p>
+     * The worker connects to the coordinator, reports its index and the port where it listens for the worker above,
+     * and receives the port of the worker below, or -1 if it is the last one.
+     *
+     * @param args the port of the coordinator and the index of the worker.
+     * @throws IOException if a connection fails.
+     */
+    public static void main(String[] args) throws IOException {
+        int coordinatorPort = Integer.parseInt(args[0]);
+        int index = Integer.parseInt(args[1]);
+
+        try (ServerSocketChannel server = ServerSocketChannel.open();
+             Connection coordinator = Connection.connect(coordinatorPort)) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+            coordinator.writeInt(index);
+            coordinator.writeInt(((InetSocketAddress) server.getLocalAddress()).getPort());
+            coordinator.flush();
+
+            // connecting to the worker below succeeds before it accepts, so every worker can connect before accepting
+            int belowPort = coordinator.readInt();
+            Connection below = (belowPort < 0) ? null : Connection.connect(belowPort);
+            Connection above = (index == 0) ? null : new Connection(server.accept());
+
+            new StripWorker(index, coordinator, above, below).run();
+        }
+    }
+
+    /**
+     * Runs the commands of the coordinator until it sends {@link Command#CLOSE} or closes the connection.
+     */
+    private void run() throws IOException {
+        while (true) {
+            Command command;
+            try {
+                command = Command.values()[coordinator.readInt()];
+            } catch (EOFException e) {
+                return;
+            }
+
+            switch (command) {
+                case RULE:
+                    strip.setRule(Rule.parse(coordinator.readString()));
+                    break;
+                case SEED:
+                    strip.allocate(coordinator.readInt(), coordinator.readInt(), coordinator.readInt(),
+                        coordinator.readInt() != 0, coordinator.readInt() != 0);
+                    break;
+                case CELL:
+                    long cell = coordinator.readLong();
+                    strip.setAlive(Coordinate.unpackX(cell), Coordinate.unpackY(cell));
+                    break;
+                case STEP:
+                    for (long generations = coordinator.readLong(); generations > 0; generations--) {
+                        strip.exchangeHalos();
+                        strip.step();
+                    }
+
+                    coordinator.writeLong(strip.population);
+                    coordinator.writeLong(strip.getWorldHash());
+                    coordinator.flush();
+                    break;
+                case ROWS:
+                    int fromRow = coordinator.readInt();
+                    int count = coordinator.readInt();
+
+                    for (int i = fromRow; i < fromRow + count; i++) {
+                        strip.writeRow(i, coordinator);
+                    }
+                    coordinator.flush();
+                    break;
+                case CLOSE:
+                default:
+                    return;
+            }
+        }
+    }
+
+    /**
+     * Rows of the strip, with the halo above on the first row and the halo below on the last one, stepped with the
+     * kernel of the bit packed world.
+     */
+    private final class Strip extends GameOfLifeBitPacked {
+        private int firstRow;
+        private boolean hasAbove;
+        private boolean hasBelow;
+        private long population;
+
+        /**
+         * Allocates a strip without live cells. The keys of the rows are the keys of their rows on the world, so the
+         * hashes of the strips add up to the hash of the world.
+         */
+        private void allocate(int firstRow, int stripRows, int cols, boolean hasAbove, boolean hasBelow) {
+            this.firstRow = firstRow;
+            this.hasAbove = hasAbove;
+            this.hasBelow = hasBelow;
+            this.rows = stripRows + 2;
+            this.cols = cols;
+            words = (cols + WORD_SIZE - 1) / WORD_SIZE;
+            lastWordMask = (cols % WORD_SIZE == 0) ? -1L : (1L << (cols % WORD_SIZE)) - 1;
+
+            current = new long[rows][words];
+            next = new long[rows][words];
+            emptyRow = new long[words];
+            columnKeys = WorldHash.powers(WorldHash.X_BASE, cols);
+            rowKeys = WorldHash.powers(WorldHash.Y_BASE, rows);
+            long firstKey = WorldHash.power(WorldHash.Y_BASE, firstRow - 1);
+            for (int i = 0; i < rows; i++) {
+                rowKeys[i] *= firstKey;
+            }
+            hash = 0;
+            population = 0;
+        }
+
+        /**
+         * Brings a cell to life, given its coordinate on the world.
+         */
+        private void setAlive(int x, int y) {
+            int row = y - firstRow + 1;
+            long cell = 1L << (x % WORD_SIZE);
+
+            if ((current[row][x / WORD_SIZE] & cell) == 0) {
+                current[row][x / WORD_SIZE] |= cell;
+                hash += rowKeys[row] * columnKeys[x];
+                population++;
+            }
+        }
+
+        /**
+         * Sends the first and last rows of the strip to the workers above and below, receiving their last and first
+         * rows into the halos.
+         */
+        private void exchangeHalos() throws IOException {
+            for (int phase = 0; phase < 2; phase++) {
+                if (hasBelow && index % 2 == phase) {
+                    below.writeLongs(current[rows - 2], words);
+                    below.flush();
+                    below.readLongs(current[rows - 1], words);
+                }
+
+                if (hasAbove && (index + 1) % 2 == phase) {
+                    above.readLongs(current[0], words);
+                    above.writeLongs(current[1], words);
+                    above.flush();
+                }
+            }
+        }
+
+        /**
+         * Calculates the next generation of the rows of the strip, leaving the halos to the next exchange.
+         */
+        private void step() {
+            hash += stepRows(1, rows - 1);
+            swapBuffers();
+
+            population = 0;
+            for (int i = 1; i < rows - 1; i++) {
+                for (long word : current[i]) {
+                    population += Long.bitCount(word);
+                }
+            }
+        }
+
+        private void writeRow(int row, Connection connection) throws IOException {
+            connection.writeLongs(current[row + 1], words);
+        }
+    }
+}
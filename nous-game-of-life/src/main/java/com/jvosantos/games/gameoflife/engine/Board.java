@@ -0,0 +1,126 @@
+package com.jvosantos.games.gameoflife.engine;
+
+/**
+ * A read-only view over the cells of a world, with x being the column and y the row of a cell.
+ * <p>
+ * Boards are exposed by the engines without copying their world, so a board always shows the current generation of its
+ * engine. Unbounded worlds are seen through a window with the dimensions of the board, defined by the engine pattern
+ * strategy.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public interface Board {
+
+    /**
+     * Gets the number of columns of the board.
+     *
+     * @return the width of the board.
+     */
+    int getWidth();
+
+    /**
+     * Gets the number of rows of the board.
+     *
+     * @return the height of the board.
+     */
+    int getHeight();
+
+    /**
+     * Checks if a cell of the board is alive.
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     * @return True if the cell is alive, false otherwise.
+     */
+    boolean isAlive(int x, int y);
+
+    /**
+     * Gets the number of live cells of the world, including the ones outside of the board on unbounded worlds.
+     *
+     * @return the number of live cells.
+     */
+    long getPopulation();
+
+    /**
+     * Copies a row of the board into an array, with 0 for dead cells and 1 for live cells.
+     *
+     * @param y   The row to be copied.
+     * @param row An array with at least the width of the board where the row is copied to.
+     */
+    default void readRow(int y, int[] row) {
+        for (int x = 0; x < getWidth(); x++) {
+            row[x] = isAlive(x, y) ? CellState.ALIVE.ordinal() : CellState.DEAD.ordinal();
+        }
+    }
+
+    /**
+     * Iterates the rows of the board from top to bottom. The same array is reused for every row, so it must not be
+     * kept by the consumer.
+     *
+     * @param consumer The consumer of each row.
+     */
+    default void forEachRow(RowConsumer consumer) {
+        int[] row = new int[getWidth()];
+
+        for (int y = 0; y < getHeight(); y++) {
+            readRow(y, row);
+            consumer.accept(y, row);
+        }
+    }
+
+    /**
+     * Iterates the live cells of the board, in no particular order.
+     *
+     * @param consumer The consumer of each live cell.
+     */
+    default void forEachLiveCell(CellConsumer consumer) {
+        for (int y = 0; y < getHeight(); y++) {
+            for (int x = 0; x < getWidth(); x++) {
+                if (isAlive(x, y)) {
+                    consumer.accept(x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the board into a new bidimensional array, with 0 for dead cells and 1 for live cells.
+     *
+     * @return a bidimensional array containing the cells.
+     */
+    default int[][] toArray() {
+        int[][] array = new int[getHeight()][getWidth()];
+
+        forEachLiveCell((x, y) -> array[y][x] = CellState.ALIVE.ordinal());
+
+        return array;
+    }
+
+    /**
+     * Consumer of the rows of a board.
+     */
+    @FunctionalInterface
+    interface RowConsumer {
+        /**
+         * Consumes a row of the board.
+         *
+         * @param y   The row number.
+         * @param row The cells of the row, 0 for dead cells and 1 for live cells.
+         */
+        void accept(int y, int[] row);
+    }
+
+    /**
+     * Consumer of the live cells of a board.
+     */
+    @FunctionalInterface
+    interface CellConsumer {
+        /**
+         * Consumes a live cell of the board.
+         *
+         * @param x The column of the cell.
+         * @param y The row of the cell.
+         */
+        void accept(int x, int y);
+    }
+}
@@ -52,6 +52,34 @@ public class Coordinate {
         return new Coordinate(x + coordinate.x, y + coordinate.y);
     }
 
+    /**
+     * Packs an x and a y value into a single long, x on the high 32 bits and y on the low 32 bits.
+     * @param x An integer representing an horizontal distance from the origin.
+     * @param y An integer representing a vertical distance from the origin.
+     * @return A long holding both values.
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the x value of a coordinate packed with {@link #pack(int, int)}.
+     * @param packed The packed coordinate.
+     * @return The x value.
+     */
+    public static int unpackX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Gets the y value of a coordinate packed with {@link #pack(int, int)}.
+     * @param packed The packed coordinate.
+     * @return The y value.
+     */
+    public static int unpackY(long packed) {
+        return (int) packed;
+    }
+
     /**
      * Checks if two coordinates are equal based on x value and y value.
      * @param o the object to check for equality
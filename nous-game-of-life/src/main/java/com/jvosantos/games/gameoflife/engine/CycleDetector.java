@@ -0,0 +1,208 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import java.util.Arrays;
+
+/**
+ * Detects when a world stops evolving, i.e., when it is empty, static or repeats itself periodically, from the
+ * {@link GameEngine#getWorldHash() hashes} of its last generations.
+ * <p>
+ * Only the hashes of a bounded number of generations are kept. A world whose hash matches the hash of one of those
+ * generations is likely back to the same cells, but different worlds may share a hash, so the match is only a
+ * candidate: its live cells are kept and compared with the live cells of the world a period later. Once they are the
+ * same, the world repeats every period generations from the candidate on, and its fate is known without calculating
+ * it. A repeated world is thus found one period after it first repeats itself. Periods longer than the history are not
+ * detected.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class CycleDetector {
+
+    /**
+     * How a world evolves from a generation on.
+     */
+    public enum Stability {
+        /**
+         * The world isn't known to repeat itself yet.
+         */
+        EVOLVING,
+        /**
+         * The world has no live cells.
+         */
+        EMPTY,
+        /**
+         * The world is the same on every generation.
+         */
+        STATIC,
+        /**
+         * The world repeats itself every period generations.
+         */
+        PERIODIC
+    }
+
+    /**
+     * Hashes and generations of the last observed generations, as a ring with the oldest one on {@code next} once
+     * full.
+     */
+    private final long[] hashes;
+    private final long[] generations;
+    private int next;
+    private int size;
+
+    /**
+     * Live cells of the last candidate, sorted, with its hash, generation and period, or null when there's no
+     * candidate.
+     */
+    private long[] candidateCells;
+    private long candidateHash;
+    private long candidateGeneration;
+    private long candidatePeriod;
+
+    private Stability stability = Stability.EVOLVING;
+    private long period;
+    private long cycleStart = -1;
+
+    /**
+     * Creates a new cycle detector keeping the hashes of the given number of generations.
+     *
+     * @param historySize The number of generations kept, which is the longest period detected.
+     */
+    public CycleDetector(int historySize) {
+        if (historySize <= 0) {
+            throw new IllegalArgumentException("History must keep at least one generation.");
+        }
+
+        hashes = new long[historySize];
+        generations = new long[historySize];
+    }
+
+    /**
+     * Observes a generation of a world, comparing its hash with the hashes of the generations kept. Only the hash of
+     * the world is read, unless it is 0, in which case the population tells if the world is empty, or unless it matches
+     * the hash of a generation kept or of the candidate, in which case the live cells are visited.
+     *
+     * @param engine     The engine with the world.
+     * @param generation The generation of the world, greater than the generations observed before.
+     * @return how the world evolves from this generation on.
+     */
+    public Stability observe(GameEngine engine, long generation) {
+        long hash = engine.getWorldHash();
+
+        if (hash == 0 && engine.getBoard().getPopulation() == 0) {
+            stability = Stability.EMPTY;
+            period = 1;
+            cycleStart = generation;
+            candidateCells = null;
+        } else {
+            stability = Stability.EVOLVING;
+            period = 0;
+            cycleStart = -1;
+
+            // a period after the candidate, the world either is back to its cells or the candidate was a mere collision
+            if (candidateCells != null && generation - candidateGeneration >= candidatePeriod) {
+                if (generation - candidateGeneration == candidatePeriod && hash == candidateHash
+                    && Arrays.equals(candidateCells, liveCells(engine))) {
+                    period = candidatePeriod;
+                    // the cycle started on the generation whose hash the candidate matched
+                    cycleStart = candidateGeneration - candidatePeriod;
+                    stability = (period == 1) ? Stability.STATIC : Stability.PERIODIC;
+                }
+                candidateCells = null;
+            }
+
+            // the most recent match gives the shortest period
+            for (int i = 1; i <= size && stability == Stability.EVOLVING && candidateCells == null; i++) {
+                int slot = (next - i + hashes.length) % hashes.length;
+
+                if (hashes[slot] == hash) {
+                    candidateCells = liveCells(engine);
+                    candidateHash = hash;
+                    candidateGeneration = generation;
+                    candidatePeriod = generation - generations[slot];
+                }
+            }
+        }
+
+        hashes[next] = hash;
+        generations[next] = generation;
+        next = (next + 1) % hashes.length;
+        size = Math.min(size + 1, hashes.length);
+
+        return stability;
+    }
+
+    /**
+     * Forgets every generation observed, to start observing a new world.
+     */
+    public void reset() {
+        next = 0;
+        size = 0;
+        candidateCells = null;
+        stability = Stability.EVOLVING;
+        period = 0;
+        cycleStart = -1;
+    }
+
+    /**
+     * Gets the live cells of a world, each one packed in a long with its column on the high half and its row on the
+     * low half, sorted so that equal worlds give equal arrays whatever the order the engine visits them in.
+     */
+    private static long[] liveCells(GameEngine engine) {
+        long[][] cells = {new long[16]};
+        int[] count = {0};
+
+        engine.forEachLiveCell((x, y) -> {
+            if (count[0] == cells[0].length) {
+                cells[0] = Arrays.copyOf(cells[0], cells[0].length * 2);
+            }
+            cells[0][count[0]++] = ((long) x << 32) | (y & 0xFFFFFFFFL);
+        });
+
+        long[] sorted = Arrays.copyOf(cells[0], count[0]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Gets how the world evolves from the last observed generation on.
+     *
+     * @return the stability of the world.
+     */
+    public Stability getStability() {
+        return stability;
+    }
+
+    /**
+     * Gets the number of generations after which the world repeats itself, 1 for empty and static worlds.
+     *
+     * @return the period of the world, or 0 while it is evolving.
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the first generation of the cycle of the world, i.e., the generation it first repeated itself from, which
+     * is a period before the generation its cells were kept on, or the generation it was found empty on.
+     *
+     * @return the first generation of the cycle, or -1 while the world is evolving.
+     */
+    public long getCycleStart() {
+        return cycleStart;
+    }
+
+    /**
+     * Gets how many generations must still be calculated to reach a target generation, skipping the whole periods
+     * the world goes through on the way. The world must not be evolving.
+     *
+     * @param generation       The last observed generation.
+     * @param targetGeneration The generation to be reached.
+     * @return the number of generations to calculate, smaller than the period.
+     */
+    public long remainingGenerations(long generation, long targetGeneration) {
+        if (stability == Stability.EVOLVING) {
+            throw new IllegalStateException("World is still evolving.");
+        }
+
+        return Math.max(0, targetGeneration - generation) % period;
+    }
+}
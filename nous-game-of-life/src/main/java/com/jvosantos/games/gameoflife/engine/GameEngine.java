@@ -0,0 +1,140 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+
+/**
+ * A game of life implementation that can advance its world without producing a bidimensional array and exposes it as a
+ * read-only {@link com.jvosantos.games.gameoflife.engine.Board}.
+ * <p>
+ * {@link #next()} is kept as an adapter for the {@link net.nous.test.GameOfLife} contract, copying the board after
+ * each generation. Runs only interested in later generations should {@link #advance(long)} the engine and read the
+ * board, or take a {@link #snapshot()}, once they get there.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public interface GameEngine extends GameOfLife {
+
+    /**
+     * Sets the initial pattern of the game from its live cells, writing them straight into the representation of the
+     * engine. This overrides the current generation and resets the world.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    void seed(Pattern pattern);
+
+    /**
+     * Calculates the next generation of cells.
+     */
+    void nextGeneration();
+
+    /**
+     * Calculates the given number of generations without producing anything in between. The default implementation
+     * calculates them one by one, engines able to skip generations override it.
+     *
+     * @param generations The number of generations to calculate.
+     * @throws IllegalArgumentException if the number of generations is negative.
+     */
+    default void advance(long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative number of generations.");
+        }
+
+        for (long generation = 0; generation < generations; generation++) {
+            nextGeneration();
+        }
+    }
+
+    /**
+     * Copies the current generation into a new bidimensional array, with the dimensions of the board.
+     *
+     * @return A bidimensional integer array representing the current generation of cells.
+     */
+    default int[][] snapshot() {
+        return getBoard().toArray();
+    }
+
+    /**
+     * Gets a view over the current generation. The same view is returned on every call and follows the engine as it
+     * advances.
+     *
+     * @return the board of the engine.
+     */
+    Board getBoard();
+
+    /**
+     * Visits every live cell of the world. Worlds without boundaries also visit the live cells that wandered off their
+     * board, so the cells may lie outside of it.
+     *
+     * @param consumer The consumer receiving the column and row of each live cell.
+     */
+    default void forEachLiveCell(Board.CellConsumer consumer) {
+        getBoard().forEachLiveCell(consumer);
+    }
+
+    /**
+     * Gets the {@link WorldHash} of the live cells of the whole world. Engines keep it up to date as cells are born and
+     * die, so reading it doesn't visit the world. The default implementation visits every live cell.
+     *
+     * @return the hash of the world.
+     */
+    default long getWorldHash() {
+        return WorldHash.of(this);
+    }
+
+    /**
+     * Gets the number of cells born since the engine was seeded. Engines counting them do it as they update the
+     * {@link #getWorldHash() hash} of the world, so reading it doesn't visit the world. The default implementation
+     * doesn't count them.
+     *
+     * @return the number of cells born since the last seed, or -1 if the engine doesn't count them.
+     */
+    default long getBirths() {
+        return -1;
+    }
+
+    /**
+     * Gets the number of cells killed since the engine was seeded, counted like {@link #getBirths()}.
+     *
+     * @return the number of cells killed since the last seed, or -1 if the engine doesn't count them.
+     */
+    default long getDeaths() {
+        return -1;
+    }
+
+    /**
+     * Checks if the world has boundaries, in which case every live cell is on the board.
+     *
+     * @return True if every live cell is on the board, false if cells can live outside of it.
+     */
+    default boolean hasBoundaries() {
+        return true;
+    }
+
+    /**
+     * Sets the rule deciding the fate of the cells from the next generation on. Engines start with
+     * {@link Rule#CONWAY}.
+     *
+     * @param rule The rule to be used.
+     * @throws IllegalArgumentException if the engine can't run the rule.
+     */
+    void setRule(Rule rule);
+
+    /**
+     * Gets the rule deciding the fate of the cells.
+     *
+     * @return the rule of the engine.
+     */
+    Rule getRule();
+
+    /**
+     * Calculates the next generation of cells and copies it into a new bidimensional array.
+     *
+     * @return A bidimensional integer array representing the new generation of cells.
+     */
+    @Override
+    default int[][] next() {
+        nextGeneration();
+
+        return snapshot();
+    }
+}
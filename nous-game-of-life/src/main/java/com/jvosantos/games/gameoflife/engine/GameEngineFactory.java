@@ -1,7 +1,5 @@
 package com.jvosantos.games.gameoflife.engine;
 
-import net.nous.test.GameOfLife;
-
 /**
  * Factory to obtain game of life implementations.
  *
@@ -11,10 +9,20 @@ public class GameEngineFactory {
     /**
      * Returns a new instance of game of life based on the give {@link com.jvosantos.games.gameoflife.engine.GameMode}
      * @param mode the game mode deciding what implementation to return.
-     * @return A new {@link net.nous.test.GameOfLife} implementation.
+     * @return A new {@link com.jvosantos.games.gameoflife.engine.GameEngine} implementation.
      */
-    public static GameOfLife getEngine(GameMode mode) {
-        GameOfLife gameOfLife = null;
+    public static GameEngine getEngine(GameMode mode) {
+        return getEngine(mode, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns a new instance of game of life based on the give {@link com.jvosantos.games.gameoflife.engine.GameMode}
+     * @param mode the game mode deciding what implementation to return.
+     * @param parallelism the number of workers used by implementations that calculate generations on several cores.
+     * @return A new {@link com.jvosantos.games.gameoflife.engine.GameEngine} implementation.
+     */
+    public static GameEngine getEngine(GameMode mode, int parallelism) {
+        GameEngine gameOfLife = null;
 
         switch(mode) {
             case CONSTRAINED:
@@ -23,6 +31,39 @@ public class GameEngineFactory {
             case ENDLESS:
                 gameOfLife = new GameOfLifeEndless();
                 break;
+            case BITPACKED:
+                gameOfLife = new GameOfLifeBitPacked();
+                break;
+            case HASHLIFE:
+                gameOfLife = new GameOfLifeHashLife();
+                break;
+            case PARALLEL:
+                gameOfLife = new GameOfLifeParallel(parallelism);
+                break;
+            case SPARSE:
+                gameOfLife = new GameOfLifeSparse();
+                break;
+            case VECTORIZED:
+                gameOfLife = new GameOfLifeVectorized();
+                break;
+            case TORUS:
+                gameOfLife = new GameOfLifeTorus();
+                break;
+            case MAPPED:
+                gameOfLife = new GameOfLifeMapped();
+                break;
+            case OFFHEAP:
+                gameOfLife = new GameOfLifeOffHeap();
+                break;
+            case GROWING:
+                gameOfLife = new GameOfLifeGrowing();
+                break;
+            case DISTRIBUTED:
+                gameOfLife = new GameOfLifeDistributed(parallelism);
+                break;
+            case TEMPORAL:
+                gameOfLife = new GameOfLifeTemporal();
+                break;
         }
 
         return gameOfLife;
@@ -7,5 +7,16 @@ package com.jvosantos.games.gameoflife.engine;
  */
 public enum GameMode {
     ENDLESS,
-    CONSTRAINED
+    CONSTRAINED,
+    BITPACKED,
+    HASHLIFE,
+    PARALLEL,
+    SPARSE,
+    VECTORIZED,
+    TORUS,
+    MAPPED,
+    OFFHEAP,
+    GROWING,
+    DISTRIBUTED,
+    TEMPORAL
 }
@@ -0,0 +1,426 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import com.jvosantos.games.gameoflife.utils.Utils;
+
+/**
+ * A game of life implementation with the same boundaries as {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
+ * but keeping every row of the world as a bitset of longs, one bit per cell.
+ * <p>
+ * A generation is calculated 64 cells at a time: the eight neighbours of every cell in a word are summed with bitwise
+ * adders and the rule is applied to the resulting bit-sliced counters. Conway's rules are applied with a handful of
+ * bitwise operations, any other rule by matching the counters against every neighbour count. Two buffers are kept and
+ * swap roles on every generation, so no memory is allocated while stepping.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeBitPacked implements GameEngine {
+
+    /**
+     * Number of cells held by each word of a row.
+     */
+    protected static final int WORD_SIZE = Long.SIZE;
+
+    /**
+     * Rows of the current generation. Bit j of word w holds the cell on column w * 64 + j.
+     */
+    protected long[][] current;
+    /**
+     * Rows of the next generation. Swapped with the current generation after each step.
+     */
+    protected long[][] next;
+    /**
+     * A row without live cells, used as the neighbour of the first and last rows.
+     */
+    protected long[] emptyRow;
+
+    protected int rows;
+    protected int cols;
+    protected int words;
+    /**
+     * Mask with the bits of the last word of a row that are inside the world.
+     */
+    protected long lastWordMask;
+    /**
+     * Keys of the columns and rows of the world, and the hash of the current generation.
+     */
+    protected long[] columnKeys;
+    protected long[] rowKeys;
+    protected long hash;
+
+    private Rule rule;
+    /**
+     * Flag telling the rule is conway's, applied with the shorter adders of {@link #applyRules}.
+     */
+    private boolean conway;
+    /**
+     * Fate of a dead and of a live cell for each neighbour count, as words with every bit set if the cell will be
+     * alive and clear otherwise.
+     */
+    private final long[] birthWords = new long[Rule.MAX_NEIGHBOURS + 1];
+    private final long[] survivalWords = new long[Rule.MAX_NEIGHBOURS + 1];
+
+    private final Board board = new WorldBoard();
+
+    /**
+     * Creates a new bit packed game of life.
+     */
+    public GameOfLifeBitPacked() {
+        setRule(Rule.CONWAY);
+    }
+
+    /**
+     * Sets the initial pattern of the game. The pattern is a bidimensional integer array with each integer
+     * representing the cell state, 0 means the cell is dead, 1 means the cell is alive. The pattern must be a
+     * rectangular array and the array must be at least a 1x1 matrix.
+     *
+     * @param pattern A bidimensional array of integers representing the state of the cells.
+     *                1 indicates the cell is alive, 0 indicates the cell is dead.
+     */
+    @Override
+    public void seed(int[][] pattern) {
+        if(!Utils.isRectangular(pattern)) {
+            throw new IllegalArgumentException("Pattern must be a rectangular array.");
+        }
+
+        if(pattern.length <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one row.");
+        }
+
+        if(pattern[0].length <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one column.");
+        }
+
+        allocate(pattern.length, pattern[0].length);
+
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                if(pattern[i][j] == CellState.ALIVE.ordinal()) {
+                    current[i][j / WORD_SIZE] |= 1L << (j % WORD_SIZE);
+                    hash += rowKeys[i] * columnKeys[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the initial pattern of the game from its live cells. The pattern must have at least one row and one
+     * column.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override
+    public void seed(Pattern pattern) {
+        if(pattern.getHeight() <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one row.");
+        }
+
+        if(pattern.getWidth() <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one column.");
+        }
+
+        allocate(pattern.getHeight(), pattern.getWidth());
+        pattern.forEachLiveCell((x, y) -> {
+            if((current[y][x / WORD_SIZE] & (1L << (x % WORD_SIZE))) == 0) {
+                current[y][x / WORD_SIZE] |= 1L << (x % WORD_SIZE);
+                hash += rowKeys[y] * columnKeys[x];
+            }
+        });
+    }
+
+    /**
+     * Allocates the buffers of a world without live cells with the given number of rows and columns.
+     */
+    private void allocate(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        words = (cols + WORD_SIZE - 1) / WORD_SIZE;
+        lastWordMask = (cols % WORD_SIZE == 0) ? -1L : (1L << (cols % WORD_SIZE)) - 1;
+
+        current = new long[rows][words];
+        next = new long[rows][words];
+        emptyRow = new long[words];
+        allocateKeys();
+    }
+
+    /**
+     * Allocates the keys of the columns and rows of a world without live cells.
+     */
+    protected void allocateKeys() {
+        columnKeys = WorldHash.powers(WorldHash.X_BASE, cols);
+        rowKeys = WorldHash.powers(WorldHash.Y_BASE, rows);
+        hash = 0;
+    }
+
+    /**
+     * Advances the world to the next generation without converting it to a bidimensional array.
+     */
+    @Override
+    public void nextGeneration() {
+        hash += stepRows(0, rows);
+        swapBuffers();
+    }
+
+    /**
+     * Makes the calculated next generation the current one, reusing the buffer of the current generation for the
+     * following step.
+     */
+    protected void swapBuffers() {
+        long[][] swap = current;
+        current = next;
+        next = swap;
+    }
+
+    /**
+     * Calculates the next generation of the rows in the given range, reading from the current buffer and writing to the
+     * next buffer. Rows outside the range are only read, so disjoint ranges can be calculated independently.
+     *
+     * @param fromRow The first row to calculate, inclusive.
+     * @param toRow   The last row to calculate, exclusive.
+     * @return the change of the hash of the world made by the calculated rows.
+     */
+    protected long stepRows(int fromRow, int toRow) {
+        long hashChange = 0;
+
+        for(int i = fromRow; i < toRow; i++) {
+            long[] above = (i > 0) ? current[i - 1] : emptyRow;
+            long[] below = (i < rows - 1) ? current[i + 1] : emptyRow;
+
+            stepRow(above, current[i], below, next[i]);
+            hashChange += hashChange(i, current[i], next[i]);
+        }
+
+        return hashChange;
+    }
+
+    /**
+     * Calculates the change of the hash of the world made by a row, adding the keys of the cells born on the row and
+     * subtracting the keys of the cells killed. Only the bits that changed are visited.
+     *
+     * @param row    The index of the row.
+     * @param before The row on the current generation.
+     * @param after  The row on the next generation.
+     * @return the change of the hash.
+     */
+    protected long hashChange(int row, long[] before, long[] after) {
+        long change = 0;
+
+        for(int w = 0; w < words; w++) {
+            for(long changed = before[w] ^ after[w]; changed != 0; changed &= changed - 1) {
+                int bit = Long.numberOfTrailingZeros(changed);
+                long key = columnKeys[w * WORD_SIZE + bit];
+
+                change += ((after[w] >>> bit) & 1) != 0 ? key : -key;
+            }
+        }
+
+        // every cell of the row shares the key of the row
+        return change * rowKeys[row];
+    }
+
+    /**
+     * Calculates the next generation of a single row given the rows around it.
+     *
+     * @param above  The row above, or an empty row on the top border.
+     * @param middle The row being calculated.
+     * @param below  The row below, or an empty row on the bottom border.
+     * @param target Where the next generation of the row is written.
+     */
+    protected void stepRow(long[] above, long[] middle, long[] below, long[] target) {
+        stepWords(above, middle, below, target, 0, words);
+
+        target[words - 1] &= lastWordMask;
+    }
+
+    /**
+     * Calculates the next generation of the words of a row in the given range, given the rows around it. The cells of
+     * the words outside of the range are taken as dead, and the words of the target outside of the range are left
+     * untouched.
+     *
+     * @param above    The row above, or an empty row on the top border.
+     * @param middle   The row being calculated.
+     * @param below    The row below, or an empty row on the bottom border.
+     * @param target   Where the next generation of the words is written.
+     * @param fromWord The first word to calculate, inclusive.
+     * @param toWord   The last word to calculate, exclusive.
+     */
+    protected void stepWords(long[] above, long[] middle, long[] below, long[] target, int fromWord, int toWord) {
+        for(int w = fromWord; w < toWord; w++) {
+            long alive = middle[w];
+            long up = above[w];
+            long down = below[w];
+
+            // the highest bit of the previous word is the left neighbour of bit 0 and the lowest bit of the following
+            // word is the right neighbour of bit 63
+            long upLeft = (up << 1) | (w > fromWord ? above[w - 1] >>> 63 : 0);
+            long upRight = (up >>> 1) | (w < toWord - 1 ? above[w + 1] << 63 : 0);
+            long left = (alive << 1) | (w > fromWord ? middle[w - 1] >>> 63 : 0);
+            long right = (alive >>> 1) | (w < toWord - 1 ? middle[w + 1] << 63 : 0);
+            long downLeft = (down << 1) | (w > fromWord ? below[w - 1] >>> 63 : 0);
+            long downRight = (down >>> 1) | (w < toWord - 1 ? below[w + 1] << 63 : 0);
+
+            target[w] = conway
+                ? applyRules(alive, upLeft, up, upRight, left, right, downLeft, down, downRight)
+                : applyRule(alive, upLeft, up, upRight, left, right, downLeft, down, downRight);
+        }
+    }
+
+    /**
+     * Sums the eight neighbour words with bitwise full adders and applies conway's rules to every bit.
+     *
+     * @return A word with the next state of the 64 cells held by {@code alive}.
+     */
+    protected static long applyRules(long alive, long upLeft, long up, long upRight, long left, long right,
+        long downLeft, long down, long downRight) {
+        // the neighbours of the row above and the row below are summed into a ones and a twos bit
+        long upOnes = upLeft ^ up ^ upRight;
+        long upTwos = (upLeft & up) | (upRight & (upLeft ^ up));
+        long downOnes = downLeft ^ down ^ downRight;
+        long downTwos = (downLeft & down) | (downRight & (downLeft ^ down));
+        long middleOnes = left ^ right;
+        long middleTwos = left & right;
+
+        // add the ones of the three rows, carrying into the twos
+        long ones = upOnes ^ downOnes ^ middleOnes;
+        long onesCarry = (upOnes & downOnes) | (middleOnes & (upOnes ^ downOnes));
+
+        // add the twos of the three rows and the carry, carrying into the fours
+        long twosSum = upTwos ^ downTwos ^ middleTwos;
+        long twosCarry = (upTwos & downTwos) | (middleTwos & (upTwos ^ downTwos));
+        long twos = twosSum ^ onesCarry;
+        long fours = twosCarry | (twosSum & onesCarry);
+
+        // a cell lives with 3 neighbours, or with 2 neighbours if it is already alive. Both counts have the twos bit
+        // set and no fours or eights bit.
+        return twos & ~fours & (ones | alive);
+    }
+
+    /**
+     * Sums the eight neighbour words with bitwise full adders into four bit-sliced counters and applies the rule of the
+     * game to every bit, keeping the bits whose count and state are one of the fates of the rule where the cell lives.
+     *
+     * @return A word with the next state of the 64 cells held by {@code alive}.
+     */
+    protected long applyRule(long alive, long upLeft, long up, long upRight, long left, long right,
+        long downLeft, long down, long downRight) {
+        long upOnes = upLeft ^ up ^ upRight;
+        long upTwos = (upLeft & up) | (upRight & (upLeft ^ up));
+        long downOnes = downLeft ^ down ^ downRight;
+        long downTwos = (downLeft & down) | (downRight & (downLeft ^ down));
+        long middleOnes = left ^ right;
+        long middleTwos = left & right;
+
+        long ones = upOnes ^ downOnes ^ middleOnes;
+        long onesCarry = (upOnes & downOnes) | (middleOnes & (upOnes ^ downOnes));
+
+        // unlike conway's rules, 8 neighbours must be told apart from 4, so both carries of the twos are kept
+        long twosSum = upTwos ^ downTwos ^ middleTwos;
+        long twosCarry = (upTwos & downTwos) | (middleTwos & (upTwos ^ downTwos));
+        long twos = twosSum ^ onesCarry;
+        long fours = twosCarry ^ (twosSum & onesCarry);
+        long eights = twosCarry & twosSum & onesCarry;
+
+        long nextAlive = 0;
+        for(int count = 0; count <= Rule.MAX_NEIGHBOURS; count++) {
+            // bits whose counters hold this count, comparing each counter with a word of copies of the matching bit
+            long matches = ~(ones ^ -(count & 1L)) & ~(twos ^ -((count >>> 1) & 1L))
+                & ~(fours ^ -((count >>> 2) & 1L)) & ~(eights ^ -((count >>> 3) & 1L));
+
+            nextAlive |= matches & ((birthWords[count] & ~alive) | (survivalWords[count] & alive));
+        }
+
+        return nextAlive;
+    }
+
+    @Override
+    public void setRule(Rule rule) {
+        this.rule = rule;
+        conway = rule.equals(Rule.CONWAY);
+
+        for(int count = 0; count <= Rule.MAX_NEIGHBOURS; count++) {
+            birthWords[count] = -rule.nextState(0, count);
+            survivalWords[count] = -rule.nextState(1, count);
+        }
+    }
+
+    @Override
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
+    @Override
+    public long getWorldHash() {
+        return hash;
+    }
+
+    /**
+     * Converts the world into a bidimensional array.
+     *
+     * @return a bidimensional array containing the cells.
+     */
+    public int[][] worldToArray() {
+        int[][] worldArray = new int[rows][cols];
+
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                worldArray[i][j] = (int) (current[i][j / WORD_SIZE] >>> (j % WORD_SIZE)) & 1;
+            }
+        }
+
+        return worldArray;
+    }
+
+    /**
+     * View over the current generation.
+     */
+    private class WorldBoard implements Board {
+        @Override public int getWidth() {
+            return cols;
+        }
+
+        @Override public int getHeight() {
+            return rows;
+        }
+
+        @Override public boolean isAlive(int x, int y) {
+            return ((current[y][x / WORD_SIZE] >>> (x % WORD_SIZE)) & 1) != 0;
+        }
+
+        @Override public long getPopulation() {
+            long population = 0;
+
+            for(long[] row : current) {
+                for(long word : row) {
+                    population += Long.bitCount(word);
+                }
+            }
+
+            return population;
+        }
+
+        @Override public void readRow(int y, int[] row) {
+            for(int x = 0; x < cols; x++) {
+                row[x] = (int) (current[y][x / WORD_SIZE] >>> (x % WORD_SIZE)) & 1;
+            }
+        }
+
+        @Override public void forEachLiveCell(CellConsumer consumer) {
+            for(int y = 0; y < rows; y++) {
+                for(int w = 0; w < words; w++) {
+                    // visit only the set bits of each word, lowest first
+                    for(long word = current[y][w]; word != 0; word &= word - 1) {
+                        consumer.accept(w * WORD_SIZE + Long.numberOfTrailingZeros(word), y);
+                    }
+                }
+            }
+        }
+
+        @Override public int[][] toArray() {
+            return worldToArray();
+        }
+    }
+}
@@ -1,22 +1,60 @@
 package com.jvosantos.games.gameoflife.engine;
 
-import net.nous.test.GameOfLife;
 import com.jvosantos.games.gameoflife.utils.Utils;
 
+import java.util.Arrays;
+
 /**
  * A game of life implementation with boundaries to how far a cell can grow the size of the inital pattern.
+ * <p>
+ * The world is split into square tiles and the tiles where some cell changed on the last generation are tracked. A
+ * cell can only change if some cell around it changed on the previous generation, so a tile is only calculated when it
+ * or one of the tiles around it changed, and is copied as is otherwise.
+ * <p>
+ * The cells and the tile flags of the current and next generations are kept in two buffers each, which swap roles
+ * after each step, so no memory is allocated while stepping.
  *
  * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
  */
-public class GameOfLifeConstrained implements GameOfLife {
+public class GameOfLifeConstrained implements GameEngine {
 
-    private static final int DEAD = 0;
-    private static final int ALIVE = 1;
+    /**
+     * Number of rows and columns of each tile.
+     */
+    private static final int TILE_SIZE = 16;
 
     private int[][] pattern;
+    /**
+     * Cells of the next generation. Swapped with the current generation after each step.
+     */
+    private int[][] nextPattern;
     private int rows;
     private int cols;
 
+    /**
+     * Flags telling which tiles had some cell changing on the last generation.
+     */
+    private boolean[][] changedTiles;
+    private boolean[][] nextChangedTiles;
+    private int tileRows;
+    private int tileCols;
+
+    /**
+     * Keys of the columns and rows of the world, and the hash of the current generation.
+     */
+    private long[] columnKeys;
+    private long[] rowKeys;
+    private long hash;
+    /**
+     * Number of cells born and killed since the last seed.
+     */
+    private long births;
+    private long deaths;
+
+    private Rule rule = Rule.CONWAY;
+
+    private final Board board = new WorldBoard();
+
     /**
      * Creates a new constrained game of life
      */
@@ -45,34 +83,185 @@ public class GameOfLifeConstrained implements GameOfLife {
             throw new IllegalArgumentException("Pattern must have at least one column.");
         }
 
+        // the buffers are written from the next generation on, so the caller's array is copied
+        int[][] world = new int[pattern.length][];
+        for(int i = 0; i < pattern.length; i++) {
+            world[i] = pattern[i].clone();
+        }
+
+        initialize(world);
+    }
+
+    /**
+     * Sets the initial pattern of the game from its live cells. The pattern must have at least one row and one
+     * column.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override
+    public void seed(Pattern pattern) {
+        if(pattern.getHeight() <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one row.");
+        }
+
+        if(pattern.getWidth() <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one column.");
+        }
+
+        int[][] world = new int[pattern.getHeight()][pattern.getWidth()];
+        pattern.forEachLiveCell((x, y) -> world[y][x] = CellState.ALIVE.ordinal());
+
+        initialize(world);
+    }
+
+    /**
+     * Makes the given cells the current generation, allocating the buffers of the next generation.
+     */
+    private void initialize(int[][] pattern) {
         this.pattern = pattern;
         rows = pattern.length;
         cols = pattern[0].length;
+        nextPattern = new int[rows][cols];
+
+        // nothing is known about the seed, so every tile must be calculated on the first generation
+        tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+        tileCols = (cols + TILE_SIZE - 1) / TILE_SIZE;
+        changedTiles = new boolean[tileRows][tileCols];
+        nextChangedTiles = new boolean[tileRows][tileCols];
+        for(boolean[] tileRow : changedTiles) {
+            Arrays.fill(tileRow, true);
+        }
+
+        columnKeys = WorldHash.powers(WorldHash.X_BASE, cols);
+        rowKeys = WorldHash.powers(WorldHash.Y_BASE, rows);
+        hash = 0;
+        births = 0;
+        deaths = 0;
+        for(int i = 0; i < rows; i++) {
+            for(int j = 0; j < cols; j++) {
+                hash += pattern[i][j] * rowKeys[i] * columnKeys[j];
+            }
+        }
 
 //        System.out.println("initial generation:");
 //        System.out.println(this);
     }
 
     /**
-     * Calculates the new generation of cells according to conway's game of life rules.
-     *
-     * @return A bidimensional integer array representing the new generation of cells.
+     * Calculates the new generation of cells according to the rule of the game.
      */
     @Override
-    public int[][] next() {
-        int[][] nextGeneration = new int[rows][cols];
+    public void nextGeneration() {
+        int[][] nextGeneration = nextPattern;
 
-        for(int i = 0; i < pattern.length; i++) {
-            for(int j = 0; j < pattern[i].length; j++) {
-                nextGeneration[i][j] = decideCellState(i, j);
+        for(int tileRow = 0; tileRow < tileRows; tileRow++) {
+            int firstRow = tileRow * TILE_SIZE;
+            int lastRow = Math.min(firstRow + TILE_SIZE, rows);
+
+            for(int tileCol = 0; tileCol < tileCols; tileCol++) {
+                int firstCol = tileCol * TILE_SIZE;
+                int lastCol = Math.min(firstCol + TILE_SIZE, cols);
+
+                if(!isTileActive(tileRow, tileCol)) {
+                    for(int i = firstRow; i < lastRow; i++) {
+                        System.arraycopy(pattern[i], firstCol, nextGeneration[i], firstCol, lastCol - firstCol);
+                    }
+                    // the buffer still holds the flags of two generations ago
+                    nextChangedTiles[tileRow][tileCol] = false;
+                    continue;
+                }
+
+                boolean changed = false;
+                for(int i = firstRow; i < lastRow; i++) {
+                    for(int j = firstCol; j < lastCol; j++) {
+                        nextGeneration[i][j] = decideCellState(i, j);
+
+                        if(nextGeneration[i][j] != pattern[i][j]) {
+                            // a birth adds the key of the cell to the hash and a death subtracts it
+                            hash += (nextGeneration[i][j] - pattern[i][j]) * rowKeys[i] * columnKeys[j];
+                            if(nextGeneration[i][j] == CellState.ALIVE.ordinal()) {
+                                births++;
+                            } else {
+                                deaths++;
+                            }
+                            changed = true;
+                        }
+                    }
+                }
+                nextChangedTiles[tileRow][tileCol] = changed;
             }
         }
 
 //        System.out.println("new Generation: ");
+        nextPattern = pattern;
         pattern = nextGeneration;
+
+        boolean[][] swap = changedTiles;
+        changedTiles = nextChangedTiles;
+        nextChangedTiles = swap;
 //        System.out.println(this);
+    }
 
-        return pattern;
+    /**
+     * Sets the rule deciding the fate of the cells from the next generation on. Tiles that were stable under the old
+     * rule may change under the new one, so every tile is calculated on the next generation.
+     *
+     * @param rule The rule to be used.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        this.rule = rule;
+
+        if(changedTiles != null) {
+            for(boolean[] tileRow : changedTiles) {
+                Arrays.fill(tileRow, true);
+            }
+        }
+    }
+
+    @Override
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
+    @Override
+    public long getWorldHash() {
+        return hash;
+    }
+
+    @Override
+    public long getBirths() {
+        return births;
+    }
+
+    @Override
+    public long getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Checks if a tile may change on the next generation, i.e., if it or one of the tiles around it changed on the last
+     * generation.
+     *
+     * @param tileRow The row of the tile.
+     * @param tileCol The column of the tile.
+     * @return True if some cell of the tile may change, false otherwise.
+     */
+    private boolean isTileActive(int tileRow, int tileCol) {
+        for(int i = Math.max(tileRow - 1, 0); i <= Math.min(tileRow + 1, tileRows - 1); i++) {
+            for(int j = Math.max(tileCol - 1, 0); j <= Math.min(tileCol + 1, tileCols - 1); j++) {
+                if(changedTiles[i][j]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -84,7 +273,6 @@ public class GameOfLifeConstrained implements GameOfLife {
      */
     private int decideCellState(int row, int col) {
         int neighbourCount = 0;
-        int nextState;
 
         for(int i = -1; i <= 1; i++) {
             int currentRow = row + i;
@@ -104,34 +292,39 @@ public class GameOfLifeConstrained implements GameOfLife {
             }
         }
 
-        switch(neighbourCount) {
-            case 0:
-            case 1:
-                nextState = DEAD;
-                break;
-            case 2:
-                if(pattern[row][col] == DEAD) {
-                    nextState = DEAD;
-                    break;
-                }
-            case 3:
-                if(pattern[row][col] == DEAD) {
-                    nextState = ALIVE;
-                } else {
-                    nextState = ALIVE;
+        return rule.nextState(pattern[row][col], neighbourCount);
+    }
+
+    /**
+     * View over the current generation.
+     */
+    private class WorldBoard implements Board {
+        @Override public int getWidth() {
+            return cols;
+        }
+
+        @Override public int getHeight() {
+            return rows;
+        }
+
+        @Override public boolean isAlive(int x, int y) {
+            return pattern[y][x] == CellState.ALIVE.ordinal();
+        }
+
+        @Override public long getPopulation() {
+            long population = 0;
+
+            for(int[] row : pattern) {
+                for(int cell : row) {
+                    population += cell;
                 }
-                break;
-            case 4:
-            case 5:
-            case 6:
-            case 7:
-            case 8:
-                nextState = DEAD;
-                break;
-            default:
-                throw new IllegalStateException("More than 8 neighbours???");
-        }
-
-        return nextState;
+            }
+
+            return population;
+        }
+
+        @Override public void readRow(int y, int[] row) {
+            System.arraycopy(pattern[y], 0, row, 0, cols);
+        }
     }
 }
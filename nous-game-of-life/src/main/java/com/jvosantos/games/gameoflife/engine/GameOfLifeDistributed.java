@@ -0,0 +1,414 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import com.jvosantos.games.gameoflife.distributed.Command;
+import com.jvosantos.games.gameoflife.distributed.Connection;
+import com.jvosantos.games.gameoflife.distributed.StripWorker;
+import com.jvosantos.games.gameoflife.utils.Utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A game of life implementation with the same boundaries as {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
+ * for worlds larger than the memory of a single JVM.
+ * <p>
+ * The world is split into strips of consecutive rows, each one calculated by a
+ * {@link com.jvosantos.games.gameoflife.distributed.StripWorker} running on a JVM of its own and connected to this
+ * coordinator and to the workers of the strips above and below through socket channels on the loopback address.
+ * Workers exchange the rows on the edges of their strips directly with each other before each generation, so the
+ * coordinator only sends commands and receives the population and the hash of each strip, whatever the number of
+ * generations calculated by {@link #advance(long)}. The board reads bands of rows from the workers as they are
+ * visited.
+ * <p>
+ * The workers are started when the game is created and stopped when the game is closed, or when the JVM of the game
+ * exits.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeDistributed implements GameEngine, Closeable {
+
+    /**
+     * How long to wait for the workers to start and connect.
+     */
+    private static final int CONNECT_TIMEOUT_MS = 60000;
+    /**
+     * Maximum number of words of each band of rows read from the workers.
+     */
+    private static final int BAND_WORDS = 1 << 16;
+
+    private final Process[] processes;
+    private final Connection[] workers;
+    private boolean closed;
+
+    private Rule rule;
+    private int rows;
+    private int cols;
+    private int words;
+    /**
+     * First row of each strip, followed by the number of rows of the world, and the number of strips. Workers after
+     * the last strip are left idle when the world has fewer rows than workers.
+     */
+    private int[] stripStarts;
+    private int strips;
+
+    private long population;
+    private long hash;
+
+    /**
+     * Rows read from the workers, from bandStart, inclusive, to bandEnd, exclusive, as long as the world is on the
+     * same version, which changes on every seed and step.
+     */
+    private long[] band;
+    private int bandStart;
+    private int bandEnd;
+    private long bandVersion = -1;
+    private long version;
+
+    private final Board board = new WorldBoard();
+
+    /**
+     * Creates a new distributed game of life, starting the given number of workers.
+     *
+     * @param workers The number of workers, each one on a JVM of its own.
+     * @throws UncheckedIOException if the workers can't be started.
+     */
+    public GameOfLifeDistributed(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Game must have at least one worker.");
+        }
+
+        processes = new Process[workers];
+        this.workers = new Connection[workers];
+
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            server.socket().setSoTimeout(CONNECT_TIMEOUT_MS);
+
+            for (int i = 0; i < workers; i++) {
+                processes[i] = launch(((InetSocketAddress) server.getLocalAddress()).getPort(), i);
+            }
+
+            // workers connect in any order and report their index and the port where the worker above connects
+            int[] ports = new int[workers];
+            for (int i = 0; i < workers; i++) {
+                Connection worker = new Connection(server.socket().accept().getChannel());
+                int index = worker.readInt();
+
+                this.workers[index] = worker;
+                ports[index] = worker.readInt();
+            }
+
+            for (int i = 0; i < workers; i++) {
+                this.workers[i].writeInt((i < workers - 1) ? ports[i + 1] : -1);
+                this.workers[i].flush();
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+
+        setRule(Rule.CONWAY);
+    }
+
+    /**
+     * Starts a worker on a new JVM with the class path of this one.
+     */
+    private static Process launch(int port, int index) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), StripWorker.class.getName(),
+            String.valueOf(port), String.valueOf(index)).inheritIO().start();
+    }
+
+    /**
+     * Sets the initial pattern of the game. The pattern is a bidimensional integer array with each integer
+     * representing the cell state, 0 means the cell is dead, 1 means the cell is alive. The pattern must be a
+     * rectangular array and the array must be at least a 1x1 matrix.
+     *
+     * @param pattern A bidimensional array of integers representing the state of the cells.
+     *                1 indicates the cell is alive, 0 indicates the cell is dead.
+     */
+    @Override
+    public void seed(int[][] pattern) {
+        if (!Utils.isRectangular(pattern)) {
+            throw new IllegalArgumentException("Pattern must be a rectangular array.");
+        }
+
+        seed(Pattern.of(pattern));
+    }
+
+    /**
+     * Sets the initial pattern of the game from its live cells, splitting the rows of the pattern into strips and
+     * sending every live cell to the worker of its strip. The pattern must have at least one row and one column.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override
+    public void seed(Pattern pattern) {
+        if (pattern.getHeight() <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one row.");
+        }
+
+        if (pattern.getWidth() <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one column.");
+        }
+
+        checkOpen();
+
+        rows = pattern.getHeight();
+        cols = pattern.getWidth();
+        words = (cols + Long.SIZE - 1) / Long.SIZE;
+        band = new long[Math.max(1, BAND_WORDS / words) * words];
+        version++;
+
+        strips = Math.min(workers.length, rows);
+        stripStarts = new int[strips + 1];
+        for (int i = 0; i <= strips; i++) {
+            stripStarts[i] = (int) ((long) rows * i / strips);
+        }
+
+        try {
+            for (int i = 0; i < strips; i++) {
+                workers[i].writeInt(Command.SEED.ordinal());
+                workers[i].writeInt(stripStarts[i]);
+                workers[i].writeInt(stripStarts[i + 1] - stripStarts[i]);
+                workers[i].writeInt(cols);
+                workers[i].writeInt((i > 0) ? 1 : 0);
+                workers[i].writeInt((i < strips - 1) ? 1 : 0);
+            }
+
+            pattern.forEachLiveCell((x, y) -> {
+                if (x < 0 || x >= cols || y < 0 || y >= rows) {
+                    throw new IndexOutOfBoundsException("Cell (" + x + ", " + y + ") is outside of the world.");
+                }
+
+                try {
+                    Connection worker = workers[stripOf(y)];
+                    worker.writeInt(Command.CELL.ordinal());
+                    worker.writeLong(Coordinate.pack(x, y));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // stepping no generations gathers the population and hash of the seeded strips
+        step(0);
+    }
+
+    /**
+     * Advances the world to the next generation without converting it to a bidimensional array.
+     */
+    @Override
+    public void nextGeneration() {
+        step(1);
+    }
+
+    /**
+     * Advances the world by the given number of generations with a single command to each worker, which calculate
+     * them exchanging their halos with each other.
+     *
+     * @param generations The number of generations to advance.
+     */
+    @Override
+    public void advance(long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative number of generations.");
+        }
+
+        step(generations);
+    }
+
+    /**
+     * Sends a step command to the worker of every strip, and gathers their populations and hashes once they are done.
+     */
+    private void step(long generations) {
+        checkOpen();
+        version++;
+
+        try {
+            for (int i = 0; i < strips; i++) {
+                workers[i].writeInt(Command.STEP.ordinal());
+                workers[i].writeLong(generations);
+                workers[i].flush();
+            }
+
+            population = 0;
+            hash = 0;
+            for (int i = 0; i < strips; i++) {
+                population += workers[i].readLong();
+                hash += workers[i].readLong();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the strip holding the given row.
+     */
+    private int stripOf(int row) {
+        int strip = Arrays.binarySearch(stripStarts, 0, strips, row);
+
+        return (strip >= 0) ? strip : -strip - 2;
+    }
+
+    /**
+     * Reads the band of rows starting on the given row from the worker of its strip, unless the row is already on the
+     * band read since the last change of the world. Bands never cross the end of a strip.
+     */
+    private void readBand(int row) {
+        if (bandVersion == version && row >= bandStart && row < bandEnd) {
+            return;
+        }
+
+        int strip = stripOf(row);
+        bandStart = row;
+        bandEnd = Math.min(stripStarts[strip + 1], row + band.length / words);
+
+        try {
+            workers[strip].writeInt(Command.ROWS.ordinal());
+            workers[strip].writeInt(bandStart - stripStarts[strip]);
+            workers[strip].writeInt(bandEnd - bandStart);
+            workers[strip].flush();
+            workers[strip].readLongs(band, (bandEnd - bandStart) * words);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        bandVersion = version;
+    }
+
+    /**
+     * Sets the rule deciding the fate of the cells from the next generation on, on every worker.
+     *
+     * @param rule The rule to be used.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        checkOpen();
+
+        try {
+            for (Connection worker : workers) {
+                worker.writeInt(Command.RULE.ordinal());
+                worker.writeString(rule.toString());
+                worker.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.rule = rule;
+    }
+
+    @Override
+    public Rule getRule() {
+        return rule;
+    }
+
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
+    @Override
+    public long getWorldHash() {
+        return hash;
+    }
+
+    /**
+     * Stops the workers, waiting a little for them to exit before killing them. Closing a closed game does nothing.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (Connection worker : workers) {
+            if (worker != null) {
+                try {
+                    worker.writeInt(Command.CLOSE.ordinal());
+                    worker.flush();
+                    worker.close();
+                } catch (IOException e) {
+                    // the worker is gone already
+                }
+            }
+        }
+
+        for (Process process : processes) {
+            if (process != null) {
+                try {
+                    if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                        process.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    process.destroyForcibly();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Game was closed.");
+        }
+    }
+
+    /**
+     * View over the current generation, reading the rows from the workers a band at a time.
+     */
+    private class WorldBoard implements Board {
+        @Override public int getWidth() {
+            return cols;
+        }
+
+        @Override public int getHeight() {
+            return rows;
+        }
+
+        @Override public boolean isAlive(int x, int y) {
+            readBand(y);
+
+            return ((band[(y - bandStart) * words + x / Long.SIZE] >>> (x % Long.SIZE)) & 1) != 0;
+        }
+
+        @Override public long getPopulation() {
+            return population;
+        }
+
+        @Override public void readRow(int y, int[] row) {
+            readBand(y);
+
+            int offset = (y - bandStart) * words;
+            for (int x = 0; x < cols; x++) {
+                row[x] = (int) (band[offset + x / Long.SIZE] >>> (x % Long.SIZE)) & 1;
+            }
+        }
+
+        @Override public void forEachLiveCell(CellConsumer consumer) {
+            for (int y = 0; y < rows; y++) {
+                readBand(y);
+
+                int offset = (y - bandStart) * words;
+                for (int w = 0; w < words; w++) {
+                    for (long word = band[offset + w]; word != 0; word &= word - 1) {
+                        consumer.accept(w * Long.SIZE + Long.numberOfTrailingZeros(word), y);
+                    }
+                }
+            }
+        }
+    }
+}
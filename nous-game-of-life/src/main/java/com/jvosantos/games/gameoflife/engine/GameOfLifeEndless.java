@@ -1,193 +1,153 @@
 package com.jvosantos.games.gameoflife.engine;
 
-import com.jvosantos.games.gameoflife.utils.Utils;
-import net.nous.test.GameOfLife;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.function.Predicate;
+import com.jvosantos.games.gameoflife.utils.LongHashSet;
 
 /**
  * A game of life implementation without any boundaries on how far the cells can grow.
+ * <p>
+ * The cells born or killed on the last generation are tracked. A cell can only change if some cell around it changed
+ * on the previous generation, so when only a small part of the world is changing, only the changed cells and their
+ * neighbours are calculated and the rest of the world is left untouched. Otherwise the generation is calculated from
+ * all the live cells, like in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse}.
+ * <p>
+ * The changed cells are kept as coordinates packed into longs (see {@link Coordinate#pack(int, int)}) in two primitive
+ * hash sets, one for the current generation and one for the next, which swap roles after each step. Every set is
+ * reused, so once their tables have grown to the size of the world no memory is allocated while stepping.
  *
  * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
  */
-public class GameOfLifeEndless implements GameOfLife {
+public class GameOfLifeEndless extends GameOfLifeSparse {
 
     /**
-     * Constant from which under population death can occur.
-     */
-    private static final int UNDER_POPULATION = 2;
-    /**
-     * Constant from whcih over popoulation death can occur.
-     */
-    private static final int OVER_POPULATION = 3;
-    /**
-     * Constant with number of cells needed for reproduction to occur.
+     * When more than one in this number of live cells changed on the last generation, calculating the changed cells
+     * and their neighbours costs more than a full pass over the live cells.
      */
-    private static final int REPRODUCTION = 3;
+    private static final int FULL_PASS_RATIO = 4;
 
     /**
-     * A list of relative coordinates to determine the neighbours of a cell.
+     * Cells born or killed on the last generation, only known when changesKnown is set, which isn't the case right
+     * after seeding.
      */
-    private static final List<Coordinate> neighbourCoordinatesMask;
-
-    static {
-        neighbourCoordinatesMask = new ArrayList<>();
-        neighbourCoordinatesMask.add(new Coordinate(-1, -1));
-        neighbourCoordinatesMask.add(new Coordinate(-1, 0));
-        neighbourCoordinatesMask.add(new Coordinate(-1, 1));
-        neighbourCoordinatesMask.add(new Coordinate(0, -1));
-        neighbourCoordinatesMask.add(new Coordinate(0, 1));
-        neighbourCoordinatesMask.add(new Coordinate(1, -1));
-        neighbourCoordinatesMask.add(new Coordinate(1, 0));
-        neighbourCoordinatesMask.add(new Coordinate(1, 1));
-    }
-
+    private LongHashSet changedCells;
+    private LongHashSet nextChangedCells;
+    private boolean changesKnown;
     /**
-     * A Map of cell states and coordinates, representing the cell world without any boundaries.
+     * Cells that may change, when calculating from the changed cells.
      */
-    private Map<Coordinate, CellState> world;
-    private PatternStrategy patternStrategy;
-
-    private Size size;
+    private final LongHashSet candidates;
 
     /**
      * Creates a new game of life without boundaries.
      */
     public GameOfLifeEndless() {
-        clearWorld();
-        patternStrategy = PatternStrategy.KEEP_INITIAL_PATTERN;
+        changedCells = new LongHashSet();
+        nextChangedCells = new LongHashSet();
+        candidates = new LongHashSet();
     }
 
     /**
-     * Defines an output strategy for the next generations.
+     * Sets the rule deciding the fate of the cells from the next generation on. Cells that were stable under the old
+     * rule may change under the new one, so the whole world is calculated on the next generation.
      *
-     * @param patternStrategy The output strategy pattern
+     * @param rule The rule to be used.
+     * @throws IllegalArgumentException if the rule gives birth to cells without live neighbours.
      */
-    public void setOutputStrategy(PatternStrategy patternStrategy) {
-        this.patternStrategy = patternStrategy;
+    @Override public void setRule(Rule rule) {
+        super.setRule(rule);
+        changesKnown = false;
     }
 
     /**
-     * Defines a seed to be used for next generations. This overrides the current generation and resets the world.
-     *
-     * @param pattern The pattern to be used for next generations.
+     * Calculates the next generation of cells, only looking at the cells that changed on the last generation and their
+     * neighbours when just a small part of the world is changing.
      */
-    @Override public void seed(int[][] pattern) {
-        // Empty the current world.
-        clearWorld();
+    @Override public void nextGeneration() {
+        nextChangedCells.clear();
 
-        // if output strategy is to keep initial pattern size, get dimensions of initial pattern
-        if (patternStrategy == PatternStrategy.KEEP_INITIAL_PATTERN) {
-            size = new Size(Utils.getMaxColumns(pattern), pattern.length);
+        if (!changesKnown || changedCells.size() * FULL_PASS_RATIO > getBoard().getPopulation()) {
+            nextGenerationFromLiveCells();
+        } else {
+            nextGenerationFromChangedCells();
         }
 
-        // Add all living cells to the world.
-        for (int i = 0; i < pattern.length; i++) {
-            for (int j = 0; j < pattern[i].length; j++) {
-                if (pattern[i][j] == CellState.ALIVE.ordinal()) {
-                    // switch j and i on coordinate to map so that horizontal values are mapped onto
-                    // x value of coordinate and vertical values are mapped onto y values of
-                    // coordinate
-                    world.put(new Coordinate(j, i), CellState.values()[pattern[i][j]]);
-                }
-            }
-        }
+        // the changes of this generation are the ones the next generation starts from
+        LongHashSet swap = changedCells;
+        changedCells = nextChangedCells;
+        nextChangedCells = swap;
+        changesKnown = true;
     }
 
-    @Override public int[][] next() {
-        // advance the world to the next generation
-        nextGeneration();
-
-        return worldToArray();
+    /**
+     * Records the cells born and killed when the generation is calculated from all the live cells.
+     */
+    @Override protected void cellChanged(long cell) {
+        nextChangedCells.add(cell);
     }
 
     /**
-     * Converts the world into a bidimensional array.
-     *
-     * @return a bidimensional array containing the cells.
+     * Calculates the next generation of cells from the cells that changed on the last generation. Only those cells and
+     * their neighbours can change, every other cell keeps its state.
      */
-    public int[][] worldToArray() {
-        // create a new array with the width and height of the initial pattern
-        int[][] worldArray = new int[size.getHeight()][size.getWidth()];
-
-        // define a predicate to test if a given cell will go into the array or not
-        Predicate<Coordinate> insideWorldArray =
-            (coordinate) -> coordinate.getX() >= 0 && coordinate.getX() < size.getWidth()
-                && coordinate.getY() >= 0 && coordinate.getY() < size.getHeight();
-
-        // for each coordinate, test if the cell should go to the array or not and set to one if it should.
-        world.keySet().stream().forEach(coordinate -> {
-            if (insideWorldArray.test(coordinate)) {
-                // for the same reason we switched i and j on seed, x and y must now be switched.
-                worldArray[coordinate.getY()][coordinate.getX()] = world.get(coordinate).ordinal();
+    private void nextGenerationFromChangedCells() {
+        candidates.clear();
+
+        for (int slot = 0; slot < changedCells.capacity(); slot++) {
+            if (changedCells.isUsed(slot)) {
+                int x = Coordinate.unpackX(changedCells.keyAt(slot));
+                int y = Coordinate.unpackY(changedCells.keyAt(slot));
+
+                for (int i = -1; i <= 1; i++) {
+                    for (int j = -1; j <= 1; j++) {
+                        candidates.add(Coordinate.pack(x + j, y + i));
+                    }
+                }
+            }
+        }
+
+        // decide the fate of every candidate before changing the world, so all of them see the current generation
+        for (int slot = 0; slot < candidates.capacity(); slot++) {
+            if (candidates.isUsed(slot)) {
+                long cell = candidates.keyAt(slot);
+                boolean alive = isAlive(cell);
+
+                if (alive != getRule().willBeAlive(alive, countLiveNeighbours(cell))) {
+                    nextChangedCells.add(cell);
+                }
             }
-        });
+        }
 
-        return worldArray;
+        // every changed cell is born if it was dead and killed if it was alive
+        for (int slot = 0; slot < nextChangedCells.capacity(); slot++) {
+            if (nextChangedCells.isUsed(slot)) {
+                flip(nextChangedCells.keyAt(slot));
+            }
+        }
     }
 
     /**
-     * Calculates the next generation of cells.
+     * Counts the live neighbours of a cell.
      */
-    public void nextGeneration() {
-        Map<Coordinate, CellState> nextGeneration = new HashMap<>();
-
-        // find the dead neighbours of every cell
-        Map<Coordinate, CellState> deadCells = new HashMap<>();
-
-        // for every live cell, add the neighbours as dead cells only if a living cell in that
-        // coordinate doesn't already exit
-        world.keySet().stream().forEach(
-            liveCellCoordinate -> neighbourCoordinatesMask.stream().forEach(maskCoordinate -> {
-                Coordinate deadCellCoordinate = liveCellCoordinate.add(maskCoordinate);
-
-                if (!world.containsKey(deadCellCoordinate)) {
-                    deadCells.put(deadCellCoordinate, CellState.DEAD);
+    private int countLiveNeighbours(long cell) {
+        int x = Coordinate.unpackX(cell);
+        int y = Coordinate.unpackY(cell);
+        int neighbourCount = 0;
+
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                if ((i != 0 || j != 0) && isAlive(Coordinate.pack(x + j, y + i))) {
+                    neighbourCount++;
                 }
-            }));
-
-        // For every live cell, find out the cell fate on the next generation.
-        // If Death (a.k.a. JVM) decides to reap the cell's life, don't add the cell to the next
-        // generation world.
-        world.keySet().stream().forEach(liveCellCoordinate -> {
-            // count the live neighbours
-            int neighbours = neighbourCoordinatesMask.stream()
-                .map(maskCoordinate -> maskCoordinate.add(liveCellCoordinate)).mapToInt(
-                    neighbourCoordinate -> world.getOrDefault(neighbourCoordinate, CellState.DEAD)
-                        .ordinal()).sum();
-
-            // Add current cell only if it will stay alive in the next generation
-            if (neighbours >= UNDER_POPULATION && neighbours <= OVER_POPULATION) {
-                nextGeneration.put(liveCellCoordinate, CellState.ALIVE);
-            }
-        });
-
-        // For every dead cell, find out if there are enough neighbours to reproduce. If enough
-        // neighbours are around, add it to the next generation world.
-        deadCells.keySet().stream().forEach(deadCellCoordinate -> {
-            // count the live neighbours
-            int neighbours = neighbourCoordinatesMask.stream()
-                .map(maskCoordinate -> maskCoordinate.add(deadCellCoordinate)).mapToInt(
-                    neighbourCoordinate -> world.getOrDefault(neighbourCoordinate, CellState.DEAD)
-                        .ordinal()).sum();
-
-            if (neighbours == REPRODUCTION) {
-                nextGeneration.put(deadCellCoordinate, CellState.ALIVE);
             }
-        });
+        }
 
-        // advance the world to the next generation
-        world = nextGeneration;
+        return neighbourCount;
     }
 
     /**
      * Clear the current world, killing all cells.
      */
-    public void clearWorld() {
-        world = new HashMap<>();
+    @Override public void clearWorld() {
+        super.clearWorld();
+        changesKnown = false;
     }
 }
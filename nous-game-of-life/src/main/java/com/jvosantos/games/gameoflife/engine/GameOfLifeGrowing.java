@@ -0,0 +1,443 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import java.util.Arrays;
+
+/**
+ * A game of life implementation without any boundaries on how far the cells can grow, stepping the world with the bit
+ * packed rows of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked}.
+ * <p>
+ * The rows are a dense grid placed somewhere on the world, which follows the bounding box of the live cells. Before
+ * each step the grid must leave a dead cell between the bounding box and its borders, so that every cell that can be
+ * born is on the grid. A grid that is too small for that, or more than four times larger than the bounding box needs
+ * on either side, is replaced by a grid twice the size the bounding box needs, with the live cells on its centre.
+ * Growing and shrinking geometrically, the grid is only resized a logarithmic number of times while a world grows,
+ * and a grid of the same size is moved along with the cells reusing the buffers of the generations. Only the rows
+ * between the first and the last live rows are stepped.
+ * <p>
+ * Besides keeping the size of the initial pattern, the board can grow with the world, see
+ * {@link PatternStrategy#GROW_WITH_WORLD}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeGrowing extends GameOfLifeBitPacked {
+
+    /**
+     * Coordinate of the world of the first column and row of the grid.
+     */
+    private int gridLeft;
+    private int gridTop;
+    /**
+     * Bounding box of the live cells on the grid, empty when there are no live cells, and their number.
+     */
+    private int minRow;
+    private int maxRow;
+    private int minColumn;
+    private int maxColumn;
+    private long population;
+    /**
+     * Rows of the next buffer which may still hold cells of an older generation, from inclusive to exclusive.
+     */
+    private int dirtyFromRow;
+    private int dirtyToRow;
+
+    private PatternStrategy patternStrategy;
+    private Size size;
+    /**
+     * Coordinate of the world of the first cell of the board, and size of the board.
+     */
+    private int windowLeft;
+    private int windowTop;
+    private int windowWidth;
+    private int windowHeight;
+
+    private final Board board = new WindowBoard();
+
+    /**
+     * Creates a new growing game of life without boundaries.
+     */
+    public GameOfLifeGrowing() {
+        patternStrategy = PatternStrategy.KEEP_INITIAL_PATTERN;
+    }
+
+    /**
+     * Defines an output strategy for the next generations.
+     *
+     * @param patternStrategy The output strategy pattern
+     */
+    public void setOutputStrategy(PatternStrategy patternStrategy) {
+        this.patternStrategy = patternStrategy;
+
+        if(size != null) {
+            updateWindow();
+        }
+    }
+
+    /**
+     * Defines a seed to be used for next generations. This overrides the current generation and resets the world.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override
+    public void seed(int[][] pattern) {
+        seed(Pattern.of(pattern));
+    }
+
+    /**
+     * Defines a seed to be used for next generations from its live cells. This overrides the current generation and
+     * resets the world. The grid is placed on the size of the pattern, and moved as cells outside of it come to life.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override
+    public void seed(Pattern pattern) {
+        size = new Size(pattern.getWidth(), pattern.getHeight());
+        hash = 0;
+
+        allocateGrid(0, 0, Math.max(0, size.getWidth() - 1), Math.max(0, size.getHeight() - 1));
+        pattern.forEachLiveCell(this::setAlive);
+        updateWindow();
+    }
+
+    /**
+     * Allocates a grid without live cells placed on the given bounding box, in coordinates of the world.
+     */
+    private void allocateGrid(int left, int top, int right, int bottom) {
+        placeGrid(left, top, right, bottom);
+        current = new long[rows][words];
+        next = new long[rows][words];
+        emptyRow = new long[words];
+        dirtyFromRow = 0;
+        dirtyToRow = 0;
+        columnKeys = new long[cols];
+        rowKeys = new long[rows];
+        fillKeys(columnKeys, WorldHash.X_BASE, gridLeft);
+        fillKeys(rowKeys, WorldHash.Y_BASE, gridTop);
+
+        population = 0;
+        minRow = rows;
+        maxRow = -1;
+        minColumn = cols;
+        maxColumn = -1;
+    }
+
+    /**
+     * Sizes the grid twice as large as needed by the given bounding box, in coordinates of the world, with the bounding
+     * box on its centre.
+     */
+    private void placeGrid(int left, int top, int right, int bottom) {
+        rows = rowsFor(bottom - top + 1);
+        words = wordsFor(right - left + 1);
+        cols = words * WORD_SIZE;
+        lastWordMask = -1L;
+        gridLeft = left - (cols - (right - left + 1)) / 2;
+        gridTop = top - (rows - (bottom - top + 1)) / 2;
+    }
+
+    /**
+     * Brings the cell on the given coordinate of the world to life, moving the grid first if the cell is outside of
+     * it.
+     */
+    private void setAlive(int x, int y) {
+        if(y < gridTop || y - gridTop >= rows || x < gridLeft || x - gridLeft >= cols) {
+            if(population == 0) {
+                relocate(x, y, x, y);
+            } else {
+                relocate(Math.min(x, gridLeft + minColumn), Math.min(y, gridTop + minRow),
+                    Math.max(x, gridLeft + maxColumn), Math.max(y, gridTop + maxRow));
+            }
+        }
+
+        int row = y - gridTop;
+        int column = x - gridLeft;
+        long cell = 1L << (column % WORD_SIZE);
+
+        if((current[row][column / WORD_SIZE] & cell) == 0) {
+            current[row][column / WORD_SIZE] |= cell;
+            hash += rowKeys[row] * columnKeys[column];
+            population++;
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minColumn = Math.min(minColumn, column);
+            maxColumn = Math.max(maxColumn, column);
+        }
+    }
+
+    /**
+     * Calculates the next generation of cells, moving or resizing the grid first if it doesn't fit the live cells.
+     */
+    @Override
+    public void nextGeneration() {
+        if(population == 0) {
+            // without births from nothing, an empty world stays empty
+            return;
+        }
+
+        fitGrid();
+
+        int fromRow = minRow - 1;
+        int toRow = maxRow + 2;
+        int previousMinRow = minRow;
+        int previousMaxRow = maxRow;
+
+        // only the calculated rows are written, so the others must not keep cells of an older generation
+        clearRows(next, dirtyFromRow, fromRow);
+        clearRows(next, toRow, dirtyToRow);
+
+        hash += stepRows(fromRow, toRow);
+        swapBuffers();
+        measure(fromRow, toRow);
+
+        dirtyFromRow = previousMinRow;
+        dirtyToRow = previousMaxRow + 1;
+        updateWindow();
+    }
+
+    /**
+     * Moves the live cells to a grid twice the size they need, if they are on the borders of the grid or the grid is
+     * more than twice as large as that.
+     */
+    private void fitGrid() {
+        boolean onBorders = minRow < 1 || maxRow > rows - 2 || minColumn < 1 || maxColumn > cols - 2;
+        boolean oversized = rows > 2 * rowsFor(maxRow - minRow + 1) || words > 2 * wordsFor(maxColumn - minColumn + 1);
+
+        if(onBorders || oversized) {
+            relocate(gridLeft + minColumn, gridTop + minRow, gridLeft + maxColumn, gridTop + maxRow);
+        }
+    }
+
+    /**
+     * Moves the live cells to a grid placed on the given bounding box, in coordinates of the world, which holds every
+     * live cell. A grid of the same size reuses the buffers of the generations, copying the live rows into the next
+     * buffer and swapping them.
+     */
+    private void relocate(int left, int top, int right, int bottom) {
+        int previousRows = rows;
+        int previousWords = words;
+        int previousLeft = gridLeft;
+        int previousTop = gridTop;
+        long[][] previous = current;
+
+        placeGrid(left, top, right, bottom);
+
+        int columnShift = previousLeft - gridLeft;
+        int rowShift = previousTop - gridTop;
+
+        if(rows == previousRows && words == previousWords) {
+            clearRows(next, dirtyFromRow, dirtyToRow);
+            current = next;
+            next = previous;
+            dirtyFromRow = minRow;
+            dirtyToRow = maxRow + 1;
+        } else {
+            current = new long[rows][words];
+            next = new long[rows][words];
+            emptyRow = new long[words];
+            dirtyFromRow = 0;
+            dirtyToRow = 0;
+            columnKeys = new long[cols];
+            rowKeys = new long[rows];
+        }
+
+        for(int i = minRow; i <= maxRow; i++) {
+            shiftRow(previous[i], current[i + rowShift], columnShift);
+        }
+
+        // the world didn't change, only the keys of the columns and rows of the grid, so the hash is kept
+        fillKeys(columnKeys, WorldHash.X_BASE, gridLeft);
+        fillKeys(rowKeys, WorldHash.Y_BASE, gridTop);
+
+        if(population == 0) {
+            minRow = rows;
+            maxRow = -1;
+            minColumn = cols;
+            maxColumn = -1;
+        } else {
+            minRow += rowShift;
+            maxRow += rowShift;
+            minColumn += columnShift;
+            maxColumn += columnShift;
+        }
+    }
+
+    /**
+     * Copies a row into a target row moving every cell the given number of columns to the right, or to the left if
+     * negative. The whole target row is written.
+     */
+    private static void shiftRow(long[] source, long[] target, int shift) {
+        int wordShift = Math.floorDiv(shift, WORD_SIZE);
+        int bitShift = Math.floorMod(shift, WORD_SIZE);
+
+        for(int w = 0; w < target.length; w++) {
+            int low = w - wordShift;
+            int high = low - 1;
+            long word = (low >= 0 && low < source.length) ? source[low] << bitShift : 0;
+
+            // the highest bits of the previous source word move to the lowest bits of the target word
+            if(bitShift != 0 && high >= 0 && high < source.length) {
+                word |= source[high] >>> (WORD_SIZE - bitShift);
+            }
+
+            target[w] = word;
+        }
+    }
+
+    /**
+     * Finds the bounding box and the number of the live cells of the current generation, which are all on the given
+     * rows.
+     */
+    private void measure(int fromRow, int toRow) {
+        population = 0;
+        minRow = rows;
+        maxRow = -1;
+        minColumn = cols;
+        maxColumn = -1;
+
+        for(int i = fromRow; i < toRow; i++) {
+            for(int w = 0; w < words; w++) {
+                long word = current[i][w];
+
+                if(word != 0) {
+                    population += Long.bitCount(word);
+                    minRow = Math.min(minRow, i);
+                    maxRow = i;
+                    minColumn = Math.min(minColumn, w * WORD_SIZE + Long.numberOfTrailingZeros(word));
+                    maxColumn = Math.max(maxColumn, w * WORD_SIZE + WORD_SIZE - 1 - Long.numberOfLeadingZeros(word));
+                }
+            }
+        }
+    }
+
+    /**
+     * Places the board on the initial pattern, growing it to cover the live cells if the pattern strategy says so.
+     */
+    private void updateWindow() {
+        windowLeft = 0;
+        windowTop = 0;
+        windowWidth = size.getWidth();
+        windowHeight = size.getHeight();
+
+        if(patternStrategy == PatternStrategy.GROW_WITH_WORLD && population > 0) {
+            windowLeft = Math.min(0, gridLeft + minColumn);
+            windowTop = Math.min(0, gridTop + minRow);
+            windowWidth = Math.max(size.getWidth(), gridLeft + maxColumn + 1) - windowLeft;
+            windowHeight = Math.max(size.getHeight(), gridTop + maxRow + 1) - windowTop;
+        }
+    }
+
+    private static void clearRows(long[][] buffer, int fromRow, int toRow) {
+        for(int i = fromRow; i < toRow; i++) {
+            Arrays.fill(buffer[i], 0);
+        }
+    }
+
+    /**
+     * Fills the keys of consecutive columns or rows, the first one being the given power of the base.
+     */
+    private static void fillKeys(long[] keys, long base, int first) {
+        long key = WorldHash.power(base, first);
+
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = key;
+            key *= base;
+        }
+    }
+
+    /**
+     * Gets the number of rows and of words of a grid twice the size needed by a bounding box with the given number of
+     * rows and columns, with a dead cell on each side.
+     */
+    private static int rowsFor(int height) {
+        return 2 * (height + 2);
+    }
+
+    private static int wordsFor(int width) {
+        return (2 * (width + 2) + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    /**
+     * Sets the rule deciding the fate of the cells from the next generation on.
+     *
+     * @param rule The rule to be used.
+     * @throws IllegalArgumentException if the rule gives birth to cells without live neighbours.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        if(rule.isBornWithoutNeighbours()) {
+            throw new IllegalArgumentException("Rule " + rule + " can't be used on a world without boundaries.");
+        }
+
+        super.setRule(rule);
+    }
+
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
+    @Override
+    public void forEachLiveCell(Board.CellConsumer consumer) {
+        for(int i = minRow; i <= maxRow; i++) {
+            for(int w = 0; w < words; w++) {
+                for(long word = current[i][w]; word != 0; word &= word - 1) {
+                    consumer.accept(gridLeft + w * WORD_SIZE + Long.numberOfTrailingZeros(word), gridTop + i);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean hasBoundaries() {
+        return false;
+    }
+
+    /**
+     * Converts the cells on the board into a bidimensional array.
+     *
+     * @return a bidimensional array containing the cells.
+     */
+    @Override
+    public int[][] worldToArray() {
+        int[][] worldArray = new int[windowHeight][windowWidth];
+
+        board.forEachLiveCell((x, y) -> worldArray[y][x] = CellState.ALIVE.ordinal());
+
+        return worldArray;
+    }
+
+    /**
+     * View over the current generation, through a window with the dimensions defined by the pattern strategy.
+     */
+    private class WindowBoard implements Board {
+        @Override public int getWidth() {
+            return windowWidth;
+        }
+
+        @Override public int getHeight() {
+            return windowHeight;
+        }
+
+        @Override public boolean isAlive(int x, int y) {
+            int row = windowTop + y - gridTop;
+            int column = windowLeft + x - gridLeft;
+
+            return row >= 0 && row < rows && column >= 0 && column < cols
+                && ((current[row][column / WORD_SIZE] >>> (column % WORD_SIZE)) & 1) != 0;
+        }
+
+        @Override public long getPopulation() {
+            return population;
+        }
+
+        @Override public void forEachLiveCell(CellConsumer consumer) {
+            GameOfLifeGrowing.this.forEachLiveCell((x, y) -> {
+                if(x >= windowLeft && x - windowLeft < windowWidth && y >= windowTop && y - windowTop < windowHeight) {
+                    consumer.accept(x - windowLeft, y - windowTop);
+                }
+            });
+        }
+
+        @Override public int[][] toArray() {
+            return worldToArray();
+        }
+    }
+}
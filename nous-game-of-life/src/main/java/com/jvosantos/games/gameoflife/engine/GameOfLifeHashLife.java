@@ -0,0 +1,787 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import com.jvosantos.games.gameoflife.utils.Utils;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A game of life implementation without any boundaries on how far the cells can grow, based on Bill Gosper's
+ * HashLife algorithm.
+ * <p>
+ * The world is a quadtree where every node is canonicalized, i.e., two regions with the same cells are represented by
+ * the very same node. Each node memoizes its center advanced by a power of two generations, so repeated regions, in
+ * space or in time, are only calculated once. This makes it possible to {@link #advance(long)} an exponential number of
+ * generations at once.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeHashLife implements GameEngine {
+
+    /**
+     * Level of the smallest root. A root must be at least 8x8 so that it can be advanced by one generation after
+     * being expanded.
+     */
+    private static final int MIN_ROOT_LEVEL = 3;
+    /**
+     * Maximum number of canonical nodes kept before unreachable nodes and memoized results are discarded.
+     */
+    private static final int MAX_NODES = 1 << 21;
+    /**
+     * Keys of the offsets of the quadrants of a node, {@link WorldHash#X_BASE} and {@link WorldHash#Y_BASE} raised to
+     * 2^level.
+     */
+    private static final long[] X_KEYS = new long[Long.SIZE];
+    private static final long[] Y_KEYS = new long[Long.SIZE];
+
+    static {
+        X_KEYS[0] = WorldHash.X_BASE;
+        Y_KEYS[0] = WorldHash.Y_BASE;
+        for (int level = 1; level < Long.SIZE; level++) {
+            X_KEYS[level] = X_KEYS[level - 1] * X_KEYS[level - 1];
+            Y_KEYS[level] = Y_KEYS[level - 1] * Y_KEYS[level - 1];
+        }
+    }
+
+    private final NodeTable nodes = new NodeTable();
+    private Node[] emptyNodes = new Node[0];
+
+    /**
+     * Root of the quadtree and the coordinate of its top left cell.
+     */
+    private Node root;
+    private long originX;
+    private long originY;
+
+    private PatternStrategy patternStrategy;
+    private Rule rule;
+    private Size size;
+
+    private final Board board = new WorldBoard();
+
+    /**
+     * Creates a new game of life without boundaries.
+     */
+    public GameOfLifeHashLife() {
+        patternStrategy = PatternStrategy.KEEP_INITIAL_PATTERN;
+        rule = Rule.CONWAY;
+        clearWorld();
+    }
+
+    /**
+     * Defines an output strategy for the next generations.
+     *
+     * @param patternStrategy The output strategy pattern
+     * @throws IllegalArgumentException if the strategy isn't {@link PatternStrategy#KEEP_INITIAL_PATTERN}, the only one
+     *                                  supported by this implementation.
+     */
+    public void setOutputStrategy(PatternStrategy patternStrategy) {
+        if (patternStrategy != PatternStrategy.KEEP_INITIAL_PATTERN) {
+            throw new IllegalArgumentException("Pattern strategy " + patternStrategy + " isn't supported by this game.");
+        }
+
+        this.patternStrategy = patternStrategy;
+    }
+
+    /**
+     * Defines a seed to be used for next generations. This overrides the current generation and resets the world.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override public void seed(int[][] pattern) {
+        int width = Utils.getMaxColumns(pattern);
+
+        // if output strategy is to keep initial pattern size, get dimensions of initial pattern
+        if (patternStrategy == PatternStrategy.KEEP_INITIAL_PATTERN) {
+            size = new Size(width, pattern.length);
+        }
+
+        int level = MIN_ROOT_LEVEL;
+        while ((1L << level) < Math.max(width, pattern.length)) {
+            level++;
+        }
+
+        root = build(pattern, width, level, 0, 0);
+        originX = 0;
+        originY = 0;
+    }
+
+    /**
+     * Defines a seed to be used for next generations from its live cells. This overrides the current generation and
+     * resets the world.
+     * <p>
+     * The cells are collected with their coordinates interleaved into a single long, bit by bit. Sorted, the cells of
+     * every quadrant of every node follow each other, so the quadtree is built from the bottom without any dense array
+     * and without interning any node that isn't part of the world. Cells above or on the left of the pattern move the
+     * origin of the world, so they are kept as well.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override public void seed(Pattern pattern) {
+        if (patternStrategy == PatternStrategy.KEEP_INITIAL_PATTERN) {
+            size = new Size(pattern.getWidth(), pattern.getHeight());
+        }
+
+        InterleavedCells cells = new InterleavedCells();
+        pattern.forEachLiveCell(cells);
+
+        long left = Math.min(0, cells.minX);
+        long top = Math.min(0, cells.minY);
+        long span = Math.max(Math.max(pattern.getWidth(), pattern.getHeight()),
+            Math.max(cells.maxX - left + 1, cells.maxY - top + 1));
+
+        int level = MIN_ROOT_LEVEL;
+        while ((1L << level) < span) {
+            level++;
+        }
+
+        cells.interleave(left, top);
+        Arrays.sort(cells.cells, 0, cells.count);
+
+        root = build(cells.cells, 0, cells.count, level, 0);
+        originX = left;
+        originY = top;
+    }
+
+    /**
+     * Sets the rule deciding the fate of the cells from the next generation on. The results memoized with the previous
+     * rule are discarded.
+     *
+     * @param rule The rule to be used.
+     * @throws IllegalArgumentException if the rule gives birth to cells without live neighbours.
+     */
+    @Override public void setRule(Rule rule) {
+        if (rule.isBornWithoutNeighbours()) {
+            throw new IllegalArgumentException("Rule " + rule + " can't be used on a world without boundaries.");
+        }
+
+        if (!rule.equals(this.rule)) {
+            this.rule = rule;
+            collectGarbage();
+        }
+    }
+
+    @Override public Rule getRule() {
+        return rule;
+    }
+
+    @Override public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Visits every live cell of the world, including the ones outside of the window defined by the pattern strategy.
+     *
+     * @param consumer The consumer receiving the column and row of each live cell.
+     * @throws IllegalStateException if a live cell lies beyond the range of integer coordinates.
+     */
+    @Override public void forEachLiveCell(Board.CellConsumer consumer) {
+        visitWorld(root, originX, originY, consumer);
+    }
+
+    @Override public boolean hasBoundaries() {
+        return false;
+    }
+
+    /**
+     * Gets the hash of the world from the hash memoized on the root, moved to the origin of the root.
+     *
+     * @return the hash of the world.
+     */
+    @Override public long getWorldHash() {
+        return WorldHash.power(WorldHash.X_BASE, originX) * WorldHash.power(WorldHash.Y_BASE, originY)
+            * root.cellsHash;
+    }
+
+    /**
+     * Calculates the next generation of cells.
+     */
+    @Override public void nextGeneration() {
+        advance(1);
+    }
+
+    /**
+     * Advances the world by the given number of generations. The generations are split into powers of two and each one
+     * is advanced in a single pass over the quadtree, so the cost grows with the logarithm of the number of
+     * generations for regular patterns.
+     *
+     * @param generations The number of generations to advance.
+     */
+    @Override public void advance(long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative number of generations.");
+        }
+
+        for (int step = 0; generations != 0; step++, generations >>>= 1) {
+            if ((generations & 1) != 0) {
+                advanceByPowerOfTwo(step);
+            }
+        }
+    }
+
+    /**
+     * Checks if the cell on the given coordinate is alive.
+     *
+     * @param x The horizontal coordinate of the cell.
+     * @param y The vertical coordinate of the cell.
+     * @return True if the cell is alive, false otherwise.
+     */
+    public boolean isAlive(long x, long y) {
+        Node node = root;
+        long nodeX = originX;
+        long nodeY = originY;
+
+        if (x < nodeX || y < nodeY || x - nodeX >= (1L << node.level) || y - nodeY >= (1L << node.level)) {
+            return false;
+        }
+
+        while (node.level > 0 && node.population > 0) {
+            long half = 1L << (node.level - 1);
+            boolean east = x - nodeX >= half;
+            boolean south = y - nodeY >= half;
+
+            node = south ? (east ? node.se : node.sw) : (east ? node.ne : node.nw);
+            nodeX += east ? half : 0;
+            nodeY += south ? half : 0;
+        }
+
+        return node.population > 0;
+    }
+
+    /**
+     * Gets the number of live cells in the world.
+     *
+     * @return the number of live cells.
+     */
+    public long getPopulation() {
+        return root.population;
+    }
+
+    /**
+     * Converts the world into a bidimensional array.
+     *
+     * @return a bidimensional array containing the cells.
+     */
+    public int[][] worldToArray() {
+        // create a new array with the width and height of the initial pattern
+        int[][] worldArray = new int[size.getHeight()][size.getWidth()];
+
+        visit(root, originX, originY, (x, y) -> worldArray[y][x] = CellState.ALIVE.ordinal());
+
+        return worldArray;
+    }
+
+    /**
+     * Clear the current world, killing all cells.
+     */
+    public void clearWorld() {
+        nodes.clear();
+        emptyNodes = new Node[0];
+        root = empty(MIN_ROOT_LEVEL);
+        originX = 0;
+        originY = 0;
+    }
+
+    /**
+     * Advances the world by 2^step generations.
+     *
+     * @param step The power of two of the number of generations to advance.
+     */
+    private void advanceByPowerOfTwo(int step) {
+        if (nodes.size > MAX_NODES) {
+            collectGarbage();
+        }
+
+        // the live cells must lie in the center half of the root before the last expansion. After it they are in the
+        // center quarter, far enough from the border of the result that they can't escape it in 2^step generations.
+        while (root.level < step + 3 || !isCentered(root)) {
+            expand();
+        }
+        expand();
+
+        long quarter = 1L << (root.level - 2);
+        root = successor(root, step);
+        originX += quarter;
+        originY += quarter;
+    }
+
+    /**
+     * Checks if all the live cells of a node are in its center half.
+     */
+    private static boolean isCentered(Node node) {
+        return node.nw.population == node.nw.se.population
+            && node.ne.population == node.ne.sw.population
+            && node.sw.population == node.sw.ne.population
+            && node.se.population == node.se.nw.population;
+    }
+
+    /**
+     * Doubles the root size, keeping the current root in the center of the new one.
+     */
+    private void expand() {
+        Node border = empty(root.level - 1);
+        long quarter = 1L << (root.level - 1);
+
+        root = join(join(border, border, border, root.nw), join(border, border, root.ne, border),
+            join(border, root.sw, border, border), join(root.se, border, border, border));
+        originX -= quarter;
+        originY -= quarter;
+    }
+
+    /**
+     * Calculates the center of a node, half of its size, advanced by 2^step generations. The step can be at most the
+     * level of the node minus two.
+     *
+     * @param node The node to be advanced.
+     * @param step The power of two of the number of generations to advance.
+     * @return The advanced center of the node.
+     */
+    private Node successor(Node node, int step) {
+        if (node.population == 0) {
+            return empty(node.level - 1);
+        }
+
+        if (node.results == null) {
+            node.results = new Node[node.level - 1];
+        }
+
+        if (node.results[step] != null) {
+            return node.results[step];
+        }
+
+        Node result;
+
+        if (node.level == 2) {
+            result = successorOfLeaves(node);
+        } else {
+            // nine overlapping sub nodes, each one half the size of the node
+            Node n00 = node.nw;
+            Node n01 = join(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw);
+            Node n02 = node.ne;
+            Node n10 = join(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne);
+            Node n11 = center(node);
+            Node n12 = join(node.ne.sw, node.ne.se, node.se.nw, node.se.ne);
+            Node n20 = node.sw;
+            Node n21 = join(node.sw.ne, node.se.nw, node.sw.se, node.se.sw);
+            Node n22 = node.se;
+
+            if (step == node.level - 2) {
+                // full speed: advance half of the generations on the sub nodes and the other half on their results
+                int half = step - 1;
+                Node r00 = successor(n00, half), r01 = successor(n01, half), r02 = successor(n02, half);
+                Node r10 = successor(n10, half), r11 = successor(n11, half), r12 = successor(n12, half);
+                Node r20 = successor(n20, half), r21 = successor(n21, half), r22 = successor(n22, half);
+
+                result = join(successor(join(r00, r01, r10, r11), half), successor(join(r01, r02, r11, r12), half),
+                    successor(join(r10, r11, r20, r21), half), successor(join(r11, r12, r21, r22), half));
+            } else {
+                // slower than full speed: advance all the generations on the sub nodes and only take the centers
+                Node r00 = successor(n00, step), r01 = successor(n01, step), r02 = successor(n02, step);
+                Node r10 = successor(n10, step), r11 = successor(n11, step), r12 = successor(n12, step);
+                Node r20 = successor(n20, step), r21 = successor(n21, step), r22 = successor(n22, step);
+
+                result = join(center(join(r00, r01, r10, r11)), center(join(r01, r02, r11, r12)),
+                    center(join(r10, r11, r20, r21)), center(join(r11, r12, r21, r22)));
+            }
+        }
+
+        node.results[step] = result;
+
+        return result;
+    }
+
+    /**
+     * Calculates the center 2x2 cells of a 4x4 node advanced by one generation.
+     */
+    private Node successorOfLeaves(Node node) {
+        // pack the 16 cells into an integer, row by row, bit 15 being the top left cell
+        int cells = 0;
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                Node quadrant = y < 2 ? (x < 2 ? node.nw : node.ne) : (x < 2 ? node.sw : node.se);
+                Node leaf = (y % 2 == 0) ? ((x % 2 == 0) ? quadrant.nw : quadrant.ne)
+                    : ((x % 2 == 0) ? quadrant.sw : quadrant.se);
+
+                cells = (cells << 1) | (int) leaf.population;
+            }
+        }
+
+        return join(leafFate(cells, 1, 1), leafFate(cells, 2, 1), leafFate(cells, 1, 2), leafFate(cells, 2, 2));
+    }
+
+    /**
+     * Applies the rule to one of the inner cells of a packed 4x4 block.
+     */
+    private Node leafFate(int cells, int x, int y) {
+        int neighbours = 0;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (dx != 0 || dy != 0) {
+                    neighbours += (cells >>> (15 - (y + dy) * 4 - (x + dx))) & 1;
+                }
+            }
+        }
+
+        int state = (cells >>> (15 - y * 4 - x)) & 1;
+
+        return rule.nextState(state, neighbours) == 1 ? Node.ALIVE : Node.DEAD;
+    }
+
+    /**
+     * Gets the center of a node, half of its size.
+     */
+    private Node center(Node node) {
+        return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+    }
+
+    /**
+     * Gets the canonical node with the given quadrants.
+     */
+    private Node join(Node nw, Node ne, Node sw, Node se) {
+        return nodes.intern(nw, ne, sw, se);
+    }
+
+    /**
+     * Gets the canonical node without live cells of the given level.
+     */
+    private Node empty(int level) {
+        if (level >= emptyNodes.length) {
+            Node[] grown = new Node[level + 1];
+            System.arraycopy(emptyNodes, 0, grown, 0, emptyNodes.length);
+            emptyNodes = grown;
+        }
+
+        if (emptyNodes[level] == null) {
+            emptyNodes[level] = (level == 0) ? Node.DEAD : join(empty(level - 1), empty(level - 1),
+                empty(level - 1), empty(level - 1));
+        }
+
+        return emptyNodes[level];
+    }
+
+    /**
+     * Builds the node of the given level with its top left cell on the given position of the pattern.
+     */
+    private Node build(int[][] pattern, int width, int level, int x, int y) {
+        if (y >= pattern.length || x >= width) {
+            return empty(level);
+        }
+
+        if (level == 0) {
+            return (x < pattern[y].length && pattern[y][x] == CellState.ALIVE.ordinal()) ? Node.ALIVE : Node.DEAD;
+        }
+
+        int half = 1 << (level - 1);
+
+        return join(build(pattern, width, level - 1, x, y), build(pattern, width, level - 1, x + half, y),
+            build(pattern, width, level - 1, x, y + half), build(pattern, width, level - 1, x + half, y + half));
+    }
+
+    /**
+     * Builds the node of the given level holding the sorted interleaved cells in the given range, all of them sharing
+     * the bits above the node.
+     *
+     * @param prefix The interleaved coordinate of the top left cell of the node.
+     */
+    private Node build(long[] cells, int from, int to, int level, long prefix) {
+        if (from == to) {
+            return empty(level);
+        }
+
+        if (level == 0) {
+            return Node.ALIVE;
+        }
+
+        // the quadrants of the node are told apart by the two bits of the level, y before x, so nw < ne < sw < se
+        long quadrantSize = 1L << (2 * (level - 1));
+        int ne = lowerBound(cells, from, to, prefix + quadrantSize);
+        int sw = lowerBound(cells, ne, to, prefix + 2 * quadrantSize);
+        int se = lowerBound(cells, sw, to, prefix + 3 * quadrantSize);
+
+        return join(build(cells, from, ne, level - 1, prefix), build(cells, ne, sw, level - 1, prefix + quadrantSize),
+            build(cells, sw, se, level - 1, prefix + 2 * quadrantSize),
+            build(cells, se, to, level - 1, prefix + 3 * quadrantSize));
+    }
+
+    /**
+     * Gets the first position of the sorted range holding a value not smaller than the given one.
+     */
+    private static int lowerBound(long[] cells, int from, int to, long value) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (cells[middle] < value) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+
+        return from;
+    }
+
+    /**
+     * Interleaves the bits of the coordinates of a cell, bit i of x into bit 2i and bit i of y into bit 2i + 1.
+     */
+    private static long interleave(int x, int y) {
+        return spread(x) | (spread(y) << 1);
+    }
+
+    private static long spread(int value) {
+        long bits = value & 0xFFFFFFFFL;
+        bits = (bits | (bits << 16)) & 0x0000FFFF0000FFFFL;
+        bits = (bits | (bits << 8)) & 0x00FF00FF00FF00FFL;
+        bits = (bits | (bits << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        bits = (bits | (bits << 2)) & 0x3333333333333333L;
+        bits = (bits | (bits << 1)) & 0x5555555555555555L;
+
+        return bits;
+    }
+
+    /**
+     * Visits the live cells of a node that fall inside the window defined by the pattern strategy.
+     */
+    private void visit(Node node, long nodeX, long nodeY, Board.CellConsumer consumer) {
+        long nodeSize = 1L << node.level;
+
+        if (node.population == 0 || nodeX >= size.getWidth() || nodeY >= size.getHeight() || nodeX + nodeSize <= 0
+            || nodeY + nodeSize <= 0) {
+            return;
+        }
+
+        if (node.level == 0) {
+            consumer.accept((int) nodeX, (int) nodeY);
+            return;
+        }
+
+        long half = nodeSize / 2;
+        visit(node.nw, nodeX, nodeY, consumer);
+        visit(node.ne, nodeX + half, nodeY, consumer);
+        visit(node.sw, nodeX, nodeY + half, consumer);
+        visit(node.se, nodeX + half, nodeY + half, consumer);
+    }
+
+    /**
+     * Visits every live cell of a node.
+     */
+    private void visitWorld(Node node, long nodeX, long nodeY, Board.CellConsumer consumer) {
+        if (node.population == 0) {
+            return;
+        }
+
+        if (node.level == 0) {
+            if (nodeX != (int) nodeX || nodeY != (int) nodeY) {
+                throw new IllegalStateException("Cell (" + nodeX + ", " + nodeY + ") is too far away to be visited.");
+            }
+            consumer.accept((int) nodeX, (int) nodeY);
+            return;
+        }
+
+        long half = 1L << (node.level - 1);
+        visitWorld(node.nw, nodeX, nodeY, consumer);
+        visitWorld(node.ne, nodeX + half, nodeY, consumer);
+        visitWorld(node.sw, nodeX, nodeY + half, consumer);
+        visitWorld(node.se, nodeX + half, nodeY + half, consumer);
+    }
+
+    /**
+     * Discards every node that is not reachable from the root, together with all memoized results.
+     */
+    private void collectGarbage() {
+        Map<Node, Node> copies = new IdentityHashMap<>();
+
+        nodes.clear();
+        emptyNodes = new Node[0];
+        root = copy(root, copies);
+    }
+
+    private Node copy(Node node, Map<Node, Node> copies) {
+        if (node.level == 0) {
+            return node;
+        }
+
+        Node copied = copies.get(node);
+        if (copied == null) {
+            copied = join(copy(node.nw, copies), copy(node.ne, copies), copy(node.sw, copies), copy(node.se, copies));
+            copies.put(node, copied);
+        }
+
+        return copied;
+    }
+
+    /**
+     * View over the current generation, through a window with the dimensions defined by the pattern strategy.
+     */
+    private class WorldBoard implements Board {
+        @Override public int getWidth() {
+            return size.getWidth();
+        }
+
+        @Override public int getHeight() {
+            return size.getHeight();
+        }
+
+        @Override public boolean isAlive(int x, int y) {
+            return GameOfLifeHashLife.this.isAlive(x, y);
+        }
+
+        @Override public long getPopulation() {
+            return root.population;
+        }
+
+        @Override public void forEachLiveCell(CellConsumer consumer) {
+            visit(root, originX, originY, consumer);
+        }
+
+        @Override public int[][] toArray() {
+            return worldToArray();
+        }
+    }
+
+    /**
+     * Collects the live cells of a pattern, together with the bounds of their coordinates, and interleaves their
+     * coordinates once every cell is known.
+     */
+    private static final class InterleavedCells implements Board.CellConsumer {
+        long[] cells = new long[16];
+        int count;
+        int minX;
+        int minY;
+        int maxX;
+        int maxY;
+
+        @Override public void accept(int x, int y) {
+            if (count == cells.length) {
+                cells = Arrays.copyOf(cells, count * 2);
+            }
+            cells[count++] = Coordinate.pack(x, y);
+
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+
+        /**
+         * Replaces every cell by its interleaved coordinates relative to the given origin.
+         */
+        void interleave(long left, long top) {
+            for (int i = 0; i < count; i++) {
+                cells[i] = GameOfLifeHashLife.interleave((int) (Coordinate.unpackX(cells[i]) - left),
+                    (int) (Coordinate.unpackY(cells[i]) - top));
+            }
+        }
+    }
+
+    /**
+     * A square region of 2^level x 2^level cells split into four quadrants. Leaves are single cells.
+     */
+    private static final class Node {
+        static final Node DEAD = new Node(0);
+        static final Node ALIVE = new Node(1);
+
+        final Node nw;
+        final Node ne;
+        final Node sw;
+        final Node se;
+        final int level;
+        final long population;
+        final int hash;
+        /**
+         * {@link WorldHash} of the live cells of the node, as if its top left cell were on (0, 0). Moving the quadrants
+         * to their offsets multiplies their hashes by the keys of the offsets.
+         */
+        final long cellsHash;
+
+        /**
+         * Memoized centers of this node advanced by 2^index generations.
+         */
+        Node[] results;
+        /**
+         * Next node on the same bucket of the node table.
+         */
+        Node chain;
+
+        private Node(int population) {
+            this.nw = null;
+            this.ne = null;
+            this.sw = null;
+            this.se = null;
+            this.level = 0;
+            this.population = population;
+            this.hash = population;
+            this.cellsHash = population;
+        }
+
+        Node(Node nw, Node ne, Node sw, Node se, int hash) {
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.level = nw.level + 1;
+            this.population = nw.population + ne.population + sw.population + se.population;
+            this.hash = hash;
+
+            long east = X_KEYS[nw.level];
+            long south = Y_KEYS[nw.level];
+            this.cellsHash = nw.cellsHash + east * ne.cellsHash + south * (sw.cellsHash + east * se.cellsHash);
+        }
+    }
+
+    /**
+     * Hash table with the canonical nodes, keyed by the identity of their quadrants.
+     */
+    private static final class NodeTable {
+        private Node[] buckets;
+        private int size;
+
+        void clear() {
+            buckets = new Node[1 << 10];
+            size = 0;
+        }
+
+        Node intern(Node nw, Node ne, Node sw, Node se) {
+            int hash = hash(nw, ne, sw, se);
+            int index = hash & (buckets.length - 1);
+
+            for (Node node = buckets[index]; node != null; node = node.chain) {
+                if (node.hash == hash && node.nw == nw && node.ne == ne && node.sw == sw && node.se == se) {
+                    return node;
+                }
+            }
+
+            Node node = new Node(nw, ne, sw, se, hash);
+            node.chain = buckets[index];
+            buckets[index] = node;
+
+            if (++size > buckets.length * 3 / 4) {
+                resize();
+            }
+
+            return node;
+        }
+
+        private void resize() {
+            Node[] old = buckets;
+            buckets = new Node[old.length * 2];
+
+            for (Node head : old) {
+                for (Node node = head; node != null; ) {
+                    Node following = node.chain;
+                    int index = node.hash & (buckets.length - 1);
+                    node.chain = buckets[index];
+                    buckets[index] = node;
+                    node = following;
+                }
+            }
+        }
+
+        private static int hash(Node nw, Node ne, Node sw, Node se) {
+            int hash = nw.hash;
+            hash = hash * 1000003 + ne.hash;
+            hash = hash * 1000003 + sw.hash;
+            hash = hash * 1000003 + se.hash;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
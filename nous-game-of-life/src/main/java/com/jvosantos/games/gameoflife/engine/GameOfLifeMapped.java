@@ -0,0 +1,421 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import com.jvosantos.games.gameoflife.utils.OffHeapMemory;
+import com.jvosantos.games.gameoflife.utils.Utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A game of life implementation with the same boundaries as {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
+ * for worlds larger than the heap.
+ * <p>
+ * The current and next generations are kept in two files with the rows bit packed like in
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked}. The files are mapped into memory a band of rows at
+ * a time and a generation is calculated by streaming the rows of the current generation through three row buffers,
+ * writing each calculated row into the next generation. Keeping the bands in memory is left to the page cache of the
+ * operating system, so the heap only holds a handful of rows, and the keys hashing the rows and columns of the world,
+ * whatever the number of cells of the world.
+ * <p>
+ * The files are temporary and are deleted when the game is closed, or when the JVM exits.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeMapped extends GameOfLifeBitPacked implements Closeable {
+
+    /**
+     * Maximum number of bytes of each band of rows mapped into memory.
+     */
+    private static final int BAND_BYTES = 1 << 26;
+
+    /**
+     * Directory where the files of the generations are created, or null for the default temporary directory.
+     */
+    private final Path directory;
+    private final int bandBytes;
+
+    private MappedRows currentRows;
+    private MappedRows nextRows;
+
+    /**
+     * Buffers with the rows above, on and below the row being calculated, and the calculated row.
+     */
+    private long[] above;
+    private long[] middle;
+    private long[] below;
+    private long[] target;
+    /**
+     * Buffer with the row being read through the board.
+     */
+    private long[] boardRow;
+
+    private long population;
+
+    private final Board board = new WorldBoard();
+
+    /**
+     * Creates a new mapped game of life keeping its generations in the default temporary directory.
+     */
+    public GameOfLifeMapped() {
+        this(null);
+    }
+
+    /**
+     * Creates a new mapped game of life keeping its generations in the given directory.
+     *
+     * @param directory The directory where the files of the generations are created.
+     */
+    public GameOfLifeMapped(Path directory) {
+        this(directory, BAND_BYTES);
+    }
+
+    /**
+     * Creates a new mapped game of life mapping bands of at most the given number of bytes.
+     */
+    GameOfLifeMapped(Path directory, int bandBytes) {
+        this.directory = directory;
+        this.bandBytes = bandBytes;
+    }
+
+    /**
+     * Sets the initial pattern of the game. The pattern is a bidimensional integer array with each integer
+     * representing the cell state, 0 means the cell is dead, 1 means the cell is alive. The pattern must be a
+     * rectangular array and the array must be at least a 1x1 matrix.
+     *
+     * @param pattern A bidimensional array of integers representing the state of the cells.
+     *                1 indicates the cell is alive, 0 indicates the cell is dead.
+     */
+    @Override
+    public void seed(int[][] pattern) {
+        if(!Utils.isRectangular(pattern)) {
+            throw new IllegalArgumentException("Pattern must be a rectangular array.");
+        }
+
+        if(pattern.length <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one row.");
+        }
+
+        if(pattern[0].length <= 0) {
+            throw new IllegalArgumentException("Pattern must have at least one column.");
+        }
+
+        clearWorld(pattern[0].length, pattern.length);
+
+        for(int i = 0; i < rows; i++) {
+            Arrays.fill(target, 0);
+            for(int j = 0; j < cols; j++) {
+                if(pattern[i][j] == CellState.ALIVE.ordinal()) {
+                    target[j / WORD_SIZE] |= 1L << (j % WORD_SIZE);
+                    hash += rowKeys[i] * columnKeys[j];
+                }
+            }
+
+            currentRows.write(i, target);
+            population += countCells(target);
+        }
+    }
+
+    /**
+     * Sets the initial pattern of the game from its live cells, bringing them to life one by one on a world of the
+     * size of the pattern.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override
+    public void seed(Pattern pattern) {
+        clearWorld(pattern.getWidth(), pattern.getHeight());
+        pattern.forEachLiveCell(this::setAlive);
+    }
+
+    /**
+     * Replaces the world by a world of the given size without live cells. New files are sparse, so no cell is
+     * written until it is brought to life.
+     *
+     * @param width  The number of columns of the world.
+     * @param height The number of rows of the world.
+     */
+    public void clearWorld(int width, int height) {
+        if(width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("World must have at least one row and one column.");
+        }
+
+        close();
+
+        rows = height;
+        cols = width;
+        words = (cols + WORD_SIZE - 1) / WORD_SIZE;
+        lastWordMask = (cols % WORD_SIZE == 0) ? -1L : (1L << (cols % WORD_SIZE)) - 1;
+
+        above = new long[words];
+        middle = new long[words];
+        below = new long[words];
+        target = new long[words];
+        boardRow = new long[words];
+        population = 0;
+        allocateKeys();
+
+        currentRows = new MappedRows(createFile(), rows, words, bandBytes);
+        nextRows = new MappedRows(createFile(), rows, words, bandBytes);
+    }
+
+    /**
+     * Brings the cell on the given coordinate to life.
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     */
+    public void setAlive(int x, int y) {
+        if(x < 0 || x >= cols || y < 0 || y >= rows) {
+            throw new IndexOutOfBoundsException("Cell (" + x + ", " + y + ") is outside of the world.");
+        }
+
+        long word = currentRows.word(y, x / WORD_SIZE);
+        long cell = 1L << (x % WORD_SIZE);
+
+        if((word & cell) == 0) {
+            currentRows.setWord(y, x / WORD_SIZE, word | cell);
+            population++;
+            hash += rowKeys[y] * columnKeys[x];
+        }
+    }
+
+    /**
+     * Calculates the next generation of cells, streaming the rows of the current generation through the row buffers.
+     */
+    @Override
+    public void nextGeneration() {
+        long nextPopulation = 0;
+
+        Arrays.fill(above, 0);
+        currentRows.read(0, middle);
+
+        for(int i = 0; i < rows; i++) {
+            if(i < rows - 1) {
+                currentRows.read(i + 1, below);
+            } else {
+                Arrays.fill(below, 0);
+            }
+
+            stepRow(above, middle, below, target);
+            nextRows.write(i, target);
+            nextPopulation += countCells(target);
+            hash += hashChange(i, middle, target);
+
+            // the row buffers move one row down, reusing the buffer of the row above for the next row below
+            long[] swap = above;
+            above = middle;
+            middle = below;
+            below = swap;
+        }
+
+        MappedRows swap = currentRows;
+        currentRows = nextRows;
+        nextRows = swap;
+        population = nextPopulation;
+    }
+
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Converts the world into a bidimensional array. Only suitable for worlds that fit in the heap.
+     *
+     * @return a bidimensional array containing the cells.
+     */
+    @Override
+    public int[][] worldToArray() {
+        return board.toArray();
+    }
+
+    /**
+     * Closes and deletes the files of the generations.
+     */
+    @Override
+    public void close() {
+        try {
+            if(currentRows != null) {
+                currentRows.close();
+                nextRows.close();
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            currentRows = null;
+            nextRows = null;
+        }
+    }
+
+    private Path createFile() {
+        try {
+            Path file = (directory == null) ? Files.createTempFile("game-of-life", ".generation")
+                : Files.createTempFile(directory, "game-of-life", ".generation");
+            file.toFile().deleteOnExit();
+
+            return file;
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long countCells(long[] row) {
+        long cells = 0;
+
+        for(long word : row) {
+            cells += Long.bitCount(word);
+        }
+
+        return cells;
+    }
+
+    /**
+     * Rows of a generation kept in a file and mapped into memory one band at a time. Rows are read and written in
+     * order while stepping, so each band is mapped once per generation. A band is unmapped as soon as another band is
+     * mapped, so a file never has more than one mapping however many bands it is stepped through.
+     */
+    private static final class MappedRows implements Closeable {
+        private final Path file;
+        private final FileChannel channel;
+        private final int rows;
+        private final int words;
+        private final long rowBytes;
+        private final int bandRows;
+
+        /**
+         * Mapping of the band, and its words, which holds the rows from bandStart, inclusive, to bandEnd, exclusive.
+         */
+        private MappedByteBuffer mapping;
+        private LongBuffer band;
+        private int bandStart;
+        private int bandEnd;
+
+        private MappedRows(Path file, int rows, int words, int bandBytes) {
+            this.file = file;
+            this.rows = rows;
+            this.words = words;
+            this.rowBytes = (long) words * Long.BYTES;
+            this.bandRows = (int) Math.max(1, Math.min(rows, bandBytes / rowBytes));
+
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void read(int row, long[] destination) {
+            map(row);
+            band.position((row - bandStart) * words);
+            band.get(destination, 0, words);
+        }
+
+        private void write(int row, long[] source) {
+            map(row);
+            band.position((row - bandStart) * words);
+            band.put(source, 0, words);
+        }
+
+        private long word(int row, int word) {
+            map(row);
+
+            return band.get((row - bandStart) * words + word);
+        }
+
+        private void setWord(int row, int word, long value) {
+            map(row);
+            band.put((row - bandStart) * words + word, value);
+        }
+
+        /**
+         * Maps the band holding the given row, unless it is already mapped. Mapping a band beyond the end of the file
+         * grows the file with zeros.
+         */
+        private void map(int row) {
+            if(band != null && row >= bandStart && row < bandEnd) {
+                return;
+            }
+
+            unmap();
+            bandStart = row - row % bandRows;
+            bandEnd = Math.min(rows, bandStart + bandRows);
+
+            try {
+                mapping = channel.map(FileChannel.MapMode.READ_WRITE, bandStart * rowBytes,
+                    (bandEnd - bandStart) * rowBytes);
+                band = mapping.order(ByteOrder.nativeOrder()).asLongBuffer();
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Unmaps the mapped band, if any, instead of leaving it mapped until the garbage collector gets to it.
+         */
+        private void unmap() {
+            if(mapping != null) {
+                band = null;
+                OffHeapMemory.free(mapping);
+                mapping = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            unmap();
+            channel.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * View over the current generation, reading the rows from the mapped files.
+     */
+    private class WorldBoard implements Board {
+        @Override public int getWidth() {
+            return cols;
+        }
+
+        @Override public int getHeight() {
+            return rows;
+        }
+
+        @Override public boolean isAlive(int x, int y) {
+            return ((currentRows.word(y, x / WORD_SIZE) >>> (x % WORD_SIZE)) & 1) != 0;
+        }
+
+        @Override public long getPopulation() {
+            return population;
+        }
+
+        @Override public void readRow(int y, int[] row) {
+            currentRows.read(y, boardRow);
+
+            for(int x = 0; x < cols; x++) {
+                row[x] = (int) (boardRow[x / WORD_SIZE] >>> (x % WORD_SIZE)) & 1;
+            }
+        }
+
+        @Override public void forEachLiveCell(CellConsumer consumer) {
+            for(int y = 0; y < rows; y++) {
+                currentRows.read(y, boardRow);
+
+                for(int w = 0; w < words; w++) {
+                    for(long word = boardRow[w]; word != 0; word &= word - 1) {
+                        consumer.accept(w * WORD_SIZE + Long.numberOfTrailingZeros(word), y);
+                    }
+                }
+            }
+        }
+    }
+}
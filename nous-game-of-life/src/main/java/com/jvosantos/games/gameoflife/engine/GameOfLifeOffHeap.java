@@ -0,0 +1,62 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import com.jvosantos.games.gameoflife.utils.OffHeapLongHashSet;
+import com.jvosantos.games.gameoflife.utils.OffHeapLongIntHashMap;
+
+import java.io.Closeable;
+
+/**
+ * A game of life implementation without any boundaries on how far the cells can grow, stepping like
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse} with its hash tables kept outside of the heap.
+ * <p>
+ * Live cells and neighbour counts are kept like in the sparse world, as coordinates packed into longs, but in hash
+ * tables backed by {@link com.jvosantos.games.gameoflife.utils.OffHeapMemory}. The heap only holds a handful of objects
+ * whatever the population, so neither the heap occupancy nor the work of the garbage collector grow with the world.
+ * <p>
+ * The memory of the tables is allocated when the game is created and released when the game is closed, after which the
+ * game can't be used anymore.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeOffHeap extends GameOfLifeSparse implements Closeable {
+
+    private final OffHeapLongHashSet world;
+    private final OffHeapLongHashSet nextWorld;
+    private final OffHeapLongIntHashMap neighbours;
+
+    private boolean closed;
+
+    /**
+     * Creates a new off heap game of life without boundaries, allocating its tables.
+     */
+    public GameOfLifeOffHeap() {
+        this(new OffHeapLongHashSet(), new OffHeapLongHashSet(), new OffHeapLongIntHashMap());
+    }
+
+    private GameOfLifeOffHeap(OffHeapLongHashSet world, OffHeapLongHashSet nextWorld,
+                              OffHeapLongIntHashMap neighbours) {
+        super(world, nextWorld, neighbours);
+        this.world = world;
+        this.nextWorld = nextWorld;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Releases the memory of the tables. The game can't be used once closed, and closing it again does nothing.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            world.close();
+            nextWorld.close();
+            neighbours.close();
+        }
+    }
+
+    @Override protected void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Game was closed.");
+        }
+    }
+}
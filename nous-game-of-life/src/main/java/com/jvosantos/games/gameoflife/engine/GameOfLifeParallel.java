@@ -0,0 +1,123 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import java.io.Closeable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked} that calculates each generation on several
+ * cores.
+ * <p>
+ * The world is split into bands of rows that are stepped by a {@link java.util.concurrent.ForkJoinPool}. The current
+ * generation is only read during a step, so the halo of a band, the row above its first row and the row below its last
+ * row, is read directly from the neighbouring bands and every band writes only its own rows of the next generation.
+ * <p>
+ * The workers are started with the game and stopped when the game is closed, after which no more generations can be
+ * calculated.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeParallel extends GameOfLifeBitPacked implements Closeable {
+
+    /**
+     * Minimum number of rows of a band. Smaller bands cost more to schedule than to calculate.
+     */
+    private static final int MIN_BAND_ROWS = 8;
+    /**
+     * Number of bands given to each worker, so that faster workers can steal the bands of slower ones.
+     */
+    private static final int BANDS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+
+    /**
+     * Creates a new parallel game of life using all available processors.
+     */
+    public GameOfLifeParallel() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new parallel game of life using the given number of workers.
+     *
+     * @param parallelism The number of workers calculating each generation.
+     */
+    public GameOfLifeParallel(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be at least one.");
+        }
+
+        this.parallelism = parallelism;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Gets the number of workers calculating each generation.
+     *
+     * @return the number of workers.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Advances the world to the next generation, splitting the rows between the workers.
+     */
+    @Override
+    public void nextGeneration() {
+        if (pool.isShutdown()) {
+            throw new IllegalStateException("Game was closed.");
+        }
+
+        int bands = parallelism * BANDS_PER_WORKER;
+        int bandRows = Math.max(MIN_BAND_ROWS, (rows + bands - 1) / bands);
+
+        Band band = new Band(0, rows, bandRows);
+        pool.invoke(band);
+        hash += band.hashChange;
+        swapBuffers();
+    }
+
+    /**
+     * Stops the workers. The world can still be read once closed, but not advanced, and closing it again does nothing.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * A range of rows that is split in halves until it is small enough to be stepped by a single worker.
+     */
+    private class Band extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+        /**
+         * Change of the hash of the world made by the rows of the band, known once the band is stepped.
+         */
+        private long hashChange;
+
+        Band(int fromRow, int toRow, int bandRows) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override protected void compute() {
+            if (toRow - fromRow <= bandRows) {
+                hashChange = stepRows(fromRow, toRow);
+                return;
+            }
+
+            int middleRow = (fromRow + toRow) >>> 1;
+            Band top = new Band(fromRow, middleRow, bandRows);
+            Band bottom = new Band(middleRow, toRow, bandRows);
+            invokeAll(top, bottom);
+            hashChange = top.hashChange + bottom.hashChange;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import com.jvosantos.games.gameoflife.utils.LongHashSet;
+import com.jvosantos.games.gameoflife.utils.LongIntHashMap;
+import com.jvosantos.games.gameoflife.utils.LongIntMap;
+import com.jvosantos.games.gameoflife.utils.LongSet;
+import com.jvosantos.games.gameoflife.utils.Utils;
+
+/**
+ * A game of life implementation without any boundaries on how far the cells can grow, calculating every generation
+ * from all the live cells.
+ * <p>
+ * Live cells are kept as coordinates packed into longs (see {@link Coordinate#pack(int, int)}) in a primitive hash
+ * set, and neighbour counts are kept in a primitive hash map. Both the next generation set and the counts are reused
+ * on every generation, so once their tables have grown to the size of the world no memory is allocated while stepping.
+ * <p>
+ * Subclasses can hand their own set and map implementations to the constructor to keep the tables elsewhere. They can
+ * also calculate some generations their own way, using {@link #isAlive(long)} and {@link #flip(long)} to read and
+ * change the world, and hear of every cell changed by {@link #nextGenerationFromLiveCells()} through
+ * {@link #cellChanged(long)}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeSparse implements GameEngine {
+
+    /**
+     * Live cells of the current generation.
+     */
+    private LongSet world;
+    /**
+     * Live cells of the next generation. Swapped with the current generation after each step.
+     */
+    private LongSet nextWorld;
+    /**
+     * Number of live neighbours of every cell next to a live cell.
+     */
+    private final LongIntMap neighbours;
+
+    private PatternStrategy patternStrategy;
+    private Rule rule;
+    /**
+     * Hash of the live cells, updated with the key of every cell born or killed.
+     */
+    private long hash;
+    /**
+     * Number of cells born and killed since the last seed.
+     */
+    private long births;
+    private long deaths;
+    private Size size;
+
+    private final Board board = new WorldBoard();
+
+    /**
+     * Creates a new sparse game of life without boundaries.
+     */
+    public GameOfLifeSparse() {
+        this(new LongHashSet(), new LongHashSet(), new LongIntHashMap());
+    }
+
+    /**
+     * Creates a new sparse game of life without boundaries over the given empty tables.
+     *
+     * @param world      The set holding the live cells of the current generation.
+     * @param nextWorld  The set holding the live cells of the next generation.
+     * @param neighbours The map holding the neighbour counts.
+     */
+    protected GameOfLifeSparse(LongSet world, LongSet nextWorld, LongIntMap neighbours) {
+        this.world = world;
+        this.nextWorld = nextWorld;
+        this.neighbours = neighbours;
+        patternStrategy = PatternStrategy.KEEP_INITIAL_PATTERN;
+        rule = Rule.CONWAY;
+    }
+
+    /**
+     * Defines an output strategy for the next generations.
+     *
+     * @param patternStrategy The output strategy pattern
+     * @throws IllegalArgumentException if the strategy isn't {@link PatternStrategy#KEEP_INITIAL_PATTERN}, the only one
+     *                                  supported by this implementation.
+     */
+    public void setOutputStrategy(PatternStrategy patternStrategy) {
+        if (patternStrategy != PatternStrategy.KEEP_INITIAL_PATTERN) {
+            throw new IllegalArgumentException("Pattern strategy " + patternStrategy + " isn't supported by this game.");
+        }
+
+        this.patternStrategy = patternStrategy;
+    }
+
+    /**
+     * Defines a seed to be used for next generations. This overrides the current generation and resets the world.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override public void seed(int[][] pattern) {
+        checkOpen();
+
+        // Empty the current world.
+        clearWorld();
+
+        // if output strategy is to keep initial pattern size, get dimensions of initial pattern
+        if (patternStrategy == PatternStrategy.KEEP_INITIAL_PATTERN) {
+            size = new Size(Utils.getMaxColumns(pattern), pattern.length);
+        }
+
+        // Add all living cells to the world, with the column as x and the row as y.
+        for (int i = 0; i < pattern.length; i++) {
+            for (int j = 0; j < pattern[i].length; j++) {
+                if (pattern[i][j] == CellState.ALIVE.ordinal()) {
+                    world.add(Coordinate.pack(j, i));
+                    hash += WorldHash.of(j, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Defines a seed to be used for next generations from its live cells. This overrides the current generation and
+     * resets the world.
+     *
+     * @param pattern The pattern to be used for next generations.
+     */
+    @Override public void seed(Pattern pattern) {
+        checkOpen();
+        clearWorld();
+
+        if (patternStrategy == PatternStrategy.KEEP_INITIAL_PATTERN) {
+            size = new Size(pattern.getWidth(), pattern.getHeight());
+        }
+
+        pattern.forEachLiveCell((x, y) -> {
+            if (world.add(Coordinate.pack(x, y))) {
+                hash += WorldHash.of(x, y);
+            }
+        });
+    }
+
+    /**
+     * Sets the rule deciding the fate of the cells from the next generation on.
+     *
+     * @param rule The rule to be used.
+     * @throws IllegalArgumentException if the rule gives birth to cells without live neighbours.
+     */
+    @Override public void setRule(Rule rule) {
+        if (rule.isBornWithoutNeighbours()) {
+            throw new IllegalArgumentException("Rule " + rule + " can't be used on a world without boundaries.");
+        }
+
+        this.rule = rule;
+    }
+
+    @Override public Rule getRule() {
+        return rule;
+    }
+
+    @Override public Board getBoard() {
+        return board;
+    }
+
+    @Override public void forEachLiveCell(Board.CellConsumer consumer) {
+        checkOpen();
+
+        for (int slot = 0; slot < world.capacity(); slot++) {
+            if (world.isUsed(slot)) {
+                consumer.accept(Coordinate.unpackX(world.keyAt(slot)), Coordinate.unpackY(world.keyAt(slot)));
+            }
+        }
+    }
+
+    @Override public boolean hasBoundaries() {
+        return false;
+    }
+
+    @Override public long getWorldHash() {
+        return hash;
+    }
+
+    @Override public long getBirths() {
+        return births;
+    }
+
+    @Override public long getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Converts the world into a bidimensional array.
+     *
+     * @return a bidimensional array containing the cells.
+     */
+    public int[][] worldToArray() {
+        checkOpen();
+
+        // create a new array with the width and height of the initial pattern
+        int[][] worldArray = new int[size.getHeight()][size.getWidth()];
+
+        for (int slot = 0; slot < world.capacity(); slot++) {
+            if (world.isUsed(slot)) {
+                int x = Coordinate.unpackX(world.keyAt(slot));
+                int y = Coordinate.unpackY(world.keyAt(slot));
+
+                if (x >= 0 && x < size.getWidth() && y >= 0 && y < size.getHeight()) {
+                    worldArray[y][x] = CellState.ALIVE.ordinal();
+                }
+            }
+        }
+
+        return worldArray;
+    }
+
+    /**
+     * Calculates the next generation of cells.
+     */
+    @Override public void nextGeneration() {
+        nextGenerationFromLiveCells();
+    }
+
+    /**
+     * Calculates the next generation of cells from all the live cells.
+     */
+    protected final void nextGenerationFromLiveCells() {
+        checkOpen();
+        neighbours.clear();
+
+        // every live cell adds one to the count of each of its neighbours. Cells left without any count have no live
+        // neighbours and can't be alive on the next generation. Live cells are counted as well, so that the fate of the
+        // ones without live neighbours is decided too and their deaths are taken off the hash.
+        for (int slot = 0; slot < world.capacity(); slot++) {
+            if (world.isUsed(slot)) {
+                int x = Coordinate.unpackX(world.keyAt(slot));
+                int y = Coordinate.unpackY(world.keyAt(slot));
+
+                neighbours.addTo(Coordinate.pack(x - 1, y - 1), 1);
+                neighbours.addTo(Coordinate.pack(x, y - 1), 1);
+                neighbours.addTo(Coordinate.pack(x + 1, y - 1), 1);
+                neighbours.addTo(Coordinate.pack(x - 1, y), 1);
+                neighbours.addTo(Coordinate.pack(x + 1, y), 1);
+                neighbours.addTo(Coordinate.pack(x - 1, y + 1), 1);
+                neighbours.addTo(Coordinate.pack(x, y + 1), 1);
+                neighbours.addTo(Coordinate.pack(x + 1, y + 1), 1);
+                neighbours.addTo(world.keyAt(slot), 0);
+            }
+        }
+
+        // the rule decides the fate of every counted cell
+        nextWorld.clear();
+        for (int slot = 0; slot < neighbours.capacity(); slot++) {
+            if (neighbours.isUsed(slot)) {
+                int count = neighbours.valueAt(slot);
+                long cell = neighbours.keyAt(slot);
+                boolean alive = world.contains(cell);
+                boolean willBeAlive = rule.willBeAlive(alive, count);
+
+                if (willBeAlive) {
+                    nextWorld.add(cell);
+                }
+
+                if (willBeAlive && !alive) {
+                    hash += key(cell);
+                    births++;
+                    cellChanged(cell);
+                } else if (alive && !willBeAlive) {
+                    hash -= key(cell);
+                    deaths++;
+                    cellChanged(cell);
+                }
+            }
+        }
+
+        // advance the world to the next generation
+        LongSet swap = world;
+        world = nextWorld;
+        nextWorld = swap;
+    }
+
+    /**
+     * Called for every cell born or killed by {@link #nextGenerationFromLiveCells()}, once its fate is decided and
+     * before the world advances. Does nothing by default.
+     *
+     * @param cell The packed coordinates of the cell.
+     */
+    protected void cellChanged(long cell) {
+    }
+
+    /**
+     * Checks if a cell of the current generation is alive.
+     *
+     * @param cell The packed coordinates of the cell.
+     * @return True if the cell is alive, false otherwise.
+     */
+    protected final boolean isAlive(long cell) {
+        return world.contains(cell);
+    }
+
+    /**
+     * Gives birth to a dead cell or kills a live one, keeping the hash of the world and the births and deaths up to
+     * date.
+     *
+     * @param cell The packed coordinates of the cell.
+     */
+    protected final void flip(long cell) {
+        if (world.remove(cell)) {
+            hash -= key(cell);
+            deaths++;
+        } else {
+            world.add(cell);
+            hash += key(cell);
+            births++;
+        }
+    }
+
+    /**
+     * Checks that the tables can still be used, which they always can unless a subclass releases them.
+     *
+     * @throws IllegalStateException if the tables were released.
+     */
+    protected void checkOpen() {
+    }
+
+    /**
+     * Clear the current world, killing all cells.
+     */
+    public void clearWorld() {
+        world.clear();
+        hash = 0;
+        births = 0;
+        deaths = 0;
+    }
+
+    /**
+     * Gets the {@link WorldHash} key of a packed cell.
+     */
+    private static long key(long cell) {
+        return WorldHash.of(Coordinate.unpackX(cell), Coordinate.unpackY(cell));
+    }
+
+    /**
+     * View over the current generation, through a window with the dimensions defined by the pattern strategy.
+     */
+    private class WorldBoard implements Board {
+        @Override public int getWidth() {
+            return size.getWidth();
+        }
+
+        @Override public int getHeight() {
+            return size.getHeight();
+        }
+
+        @Override public boolean isAlive(int x, int y) {
+            checkOpen();
+
+            return world.contains(Coordinate.pack(x, y));
+        }
+
+        @Override public long getPopulation() {
+            return world.size();
+        }
+
+        @Override public void forEachLiveCell(CellConsumer consumer) {
+            checkOpen();
+
+            for (int slot = 0; slot < world.capacity(); slot++) {
+                if (world.isUsed(slot)) {
+                    int x = Coordinate.unpackX(world.keyAt(slot));
+                    int y = Coordinate.unpackY(world.keyAt(slot));
+
+                    if (x >= 0 && x < getWidth() && y >= 0 && y < getHeight()) {
+                        consumer.accept(x, y);
+                    }
+                }
+            }
+        }
+
+        @Override public int[][] toArray() {
+            return worldToArray();
+        }
+    }
+}
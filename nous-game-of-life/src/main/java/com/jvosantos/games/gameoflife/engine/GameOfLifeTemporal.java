@@ -0,0 +1,161 @@
+package com.jvosantos.games.gameoflife.engine;
+
+/**
+ * A game of life implementation with the same boundaries as {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
+ * and the bit packed rows of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked}, advancing many
+ * generations with temporal blocking.
+ * <p>
+ * Stepping a generation at a time streams the whole world through memory on every generation. Instead,
+ * {@link #advance(long)} splits the world into tiles small enough for the caches of the processor and advances each
+ * tile by several generations before moving on to the next one. A tile is copied into a scratch buffer together with a
+ * halo of as many rows as generations above and below it, and a word on each side. Cells on the edges of the scratch
+ * buffer are calculated without their neighbours outside of it, so every generation spoils one more cell inwards, but
+ * after k generations the spoiled cells are still on the halo and the tile itself is exact. The world is then read and
+ * written once every k generations instead of once per generation, at the cost of calculating the halos k times.
+ * <p>
+ * Single generations are calculated like in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeTemporal extends GameOfLifeBitPacked {
+
+    /**
+     * Default number of generations calculated on each tile at once.
+     */
+    public static final int DEFAULT_DEPTH = 8;
+
+    /**
+     * Number of rows and words of each tile, so that the two scratch buffers of a tile and its halo take less than
+     * 100 KB.
+     */
+    private static final int TILE_ROWS = 128;
+    private static final int TILE_WORDS = 32;
+
+    private final int depth;
+
+    /**
+     * Scratch buffers of a tile and its halo, swapping roles on every generation. Word s of a scratch row holds the
+     * word of the world on the column of words of the tile minus one plus s.
+     */
+    private long[][] scratch;
+    private long[][] nextScratch;
+    private final long[] emptyScratchRow = new long[TILE_WORDS + 2];
+
+    /**
+     * Creates a new temporal blocking game of life calculating {@link #DEFAULT_DEPTH} generations on each tile at
+     * once.
+     */
+    public GameOfLifeTemporal() {
+        this(DEFAULT_DEPTH);
+    }
+
+    /**
+     * Creates a new temporal blocking game of life calculating the given number of generations on each tile at once.
+     *
+     * @param depth The number of generations calculated on each tile at once, from 1 to 64, the number of cells of
+     *              the word on each side of the halo.
+     */
+    public GameOfLifeTemporal(int depth) {
+        if(depth < 1 || depth > WORD_SIZE) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + WORD_SIZE + " generations.");
+        }
+
+        this.depth = depth;
+        scratch = new long[TILE_ROWS + 2 * depth][TILE_WORDS + 2];
+        nextScratch = new long[TILE_ROWS + 2 * depth][TILE_WORDS + 2];
+    }
+
+    /**
+     * Advances the world by the given number of generations, calculating up to depth generations on each tile at
+     * once.
+     *
+     * @param generations The number of generations to advance.
+     */
+    @Override
+    public void advance(long generations) {
+        if(generations < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative number of generations.");
+        }
+
+        for(; generations >= depth; generations -= depth) {
+            advanceTiles(depth);
+        }
+
+        if(generations > 1) {
+            advanceTiles((int) generations);
+        } else if(generations == 1) {
+            nextGeneration();
+        }
+    }
+
+    /**
+     * Advances the world by the given number of generations, no more than the depth, one tile at a time, writing the
+     * tiles into the next buffer. The hash is updated a band of tiles at a time, while its rows are still in the
+     * caches.
+     */
+    private void advanceTiles(int generations) {
+        for(int bandTop = 0; bandTop < rows; bandTop += TILE_ROWS) {
+            int bandBottom = Math.min(rows, bandTop + TILE_ROWS);
+
+            for(int tileLeft = 0; tileLeft < words; tileLeft += TILE_WORDS) {
+                advanceTile(bandTop, bandBottom, tileLeft, Math.min(words, tileLeft + TILE_WORDS), generations);
+            }
+
+            for(int i = bandTop; i < bandBottom; i++) {
+                hash += hashChange(i, current[i], next[i]);
+            }
+        }
+
+        swapBuffers();
+    }
+
+    /**
+     * Copies a tile and its halo into the scratch buffers, advances it by the given number of generations and copies
+     * the tile into the next buffer.
+     *
+     * @param bandTop     The first row of the tile, inclusive.
+     * @param bandBottom  The last row of the tile, exclusive.
+     * @param tileLeft    The first word of the tile, inclusive.
+     * @param tileRight   The last word of the tile, exclusive.
+     * @param generations The number of generations to advance.
+     */
+    private void advanceTile(int bandTop, int bandBottom, int tileLeft, int tileRight, int generations) {
+        // rows of the world on the scratch buffers, and words of the world on the first and last scratch words
+        int top = Math.max(0, bandTop - generations);
+        int bottom = Math.min(rows, bandBottom + generations);
+        int left = tileLeft - 1;
+        int height = bottom - top;
+        // scratch words outside of the world are never calculated, so they are taken as dead cells
+        int fromWord = Math.max(0, -left);
+        int toWord = Math.min(TILE_WORDS + 2, words - left);
+        int lastWord = words - 1 - left;
+
+        for(int r = 0; r < height; r++) {
+            System.arraycopy(current[top + r], left + fromWord, scratch[r], fromWord, toWord - fromWord);
+        }
+
+        for(int generation = 1; generation <= generations; generation++) {
+            // rows on the borders of the world are always calculated, the others spoil one more row per generation
+            int fromRow = (top == 0) ? 0 : generation;
+            int toRow = (bottom == rows) ? height : height - generation;
+
+            for(int r = fromRow; r < toRow; r++) {
+                long[] above = (r > 0) ? scratch[r - 1] : emptyScratchRow;
+                long[] below = (r < height - 1) ? scratch[r + 1] : emptyScratchRow;
+
+                stepWords(above, scratch[r], below, nextScratch[r], fromWord, toWord);
+                if(lastWord < toWord) {
+                    nextScratch[r][lastWord] &= lastWordMask;
+                }
+            }
+
+            long[][] swap = scratch;
+            scratch = nextScratch;
+            nextScratch = swap;
+        }
+
+        for(int i = bandTop; i < bandBottom; i++) {
+            System.arraycopy(scratch[i - top], tileLeft - left, next[i], tileLeft, tileRight - tileLeft);
+        }
+    }
+}
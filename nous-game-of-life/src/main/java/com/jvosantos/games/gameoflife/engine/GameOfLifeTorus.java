@@ -0,0 +1,36 @@
+package com.jvosantos.games.gameoflife.engine;
+
+/**
+ * A game of life implementation on a torus: a finite world with the size of the initial pattern where the edges wrap
+ * around, so cells leaving through one edge come back through the opposite one.
+ * <p>
+ * The world is kept like in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeVectorized}, surrounded by a
+ * border of ghost cells. Once per generation, before stepping, the ghost rows and columns are refreshed with copies of
+ * the opposite edges of the world, so calculating a cell never needs bounds checks nor wrapping its neighbours.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeTorus extends GameOfLifeVectorized {
+
+    /**
+     * Creates a new toroidal game of life.
+     */
+    public GameOfLifeTorus() {
+    }
+
+    /**
+     * Copies the last row into the top ghost row and the first row into the bottom ghost row, and then the last column
+     * into the left ghost column and the first column into the right ghost column. The columns are copied on the ghost
+     * rows as well, which fills the corners with the opposite corners of the world.
+     */
+    @Override
+    protected void refreshBorder() {
+        System.arraycopy(current, index(rows - 1, -1), current, index(-1, -1), stride);
+        System.arraycopy(current, index(0, -1), current, index(rows, -1), stride);
+
+        for(int i = -1; i <= rows; i++) {
+            current[index(i, -1)] = current[index(i, cols - 1)];
+            current[index(i, cols)] = current[index(i, 0)];
+        }
+    }
+}
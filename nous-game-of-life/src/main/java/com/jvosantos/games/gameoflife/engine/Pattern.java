@@ -0,0 +1,68 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import com.jvosantos.games.gameoflife.utils.Utils;
+
+/**
+ * An initial pattern given by the size of its bounding box and its live cells, so that engines can be seeded straight
+ * into their own representation without a bidimensional array of every cell.
+ * <p>
+ * Cells are visited with the column as x and the row as y, both starting at 0 and smaller than the width and the
+ * height of the pattern. The only exception are patterns of worlds without boundaries, like the snapshots of
+ * {@link com.jvosantos.games.gameoflife.snapshots.Snapshot}, which may have cells outside of their size. Only engines
+ * where {@link GameEngine#hasBoundaries()} is false can be seeded with them.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public interface Pattern {
+
+    /**
+     * Gets the number of columns of the pattern.
+     *
+     * @return the width of the pattern.
+     */
+    int getWidth();
+
+    /**
+     * Gets the number of rows of the pattern.
+     *
+     * @return the height of the pattern.
+     */
+    int getHeight();
+
+    /**
+     * Visits every live cell of the pattern. Cells may be visited in any order.
+     *
+     * @param consumer The consumer receiving the column and row of each live cell.
+     */
+    void forEachLiveCell(Board.CellConsumer consumer);
+
+    /**
+     * Gets a pattern over a bidimensional array, where rows shorter than the longest one are filled with dead cells.
+     *
+     * @param cells A bidimensional array of integers with 1 for live cells and 0 for dead cells.
+     * @return the pattern of the array.
+     */
+    static Pattern of(int[][] cells) {
+        int width = Utils.getMaxColumns(cells);
+
+        return new Pattern() {
+            @Override public int getWidth() {
+                return width;
+            }
+
+            @Override public int getHeight() {
+                return cells.length;
+            }
+
+            @Override public void forEachLiveCell(Board.CellConsumer consumer) {
+                for (int y = 0; y < cells.length; y++) {
+                    for (int x = 0; x < cells[y].length; x++) {
+                        if (cells[y][x] == CellState.ALIVE.ordinal()) {
+                            consumer.accept(x, y);
+                        }
+                    }
+                }
+            }
+        };
+    }
+}
@@ -1,8 +1,7 @@
 package com.jvosantos.games.gameoflife.engine;
 
 /**
- * Enumeration of different pattern strategies.
- * Currently only one is defined, but this can change in the future.
+ * Enumeration of different pattern strategies, deciding the size of the board of a world without boundaries.
  *
  * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
  */
@@ -10,5 +9,11 @@ public enum PatternStrategy {
     /**
      * Keeps the size of the board the same as the initial provided board.
      */
-    KEEP_INITIAL_PATTERN
+    KEEP_INITIAL_PATTERN,
+    /**
+     * Grows the board from the initial provided board to cover every live cell, so a border blinker makes the first
+     * next generation a 4x3 board instead of a 3x3 one. Only supported by
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeGrowing}.
+     */
+    GROW_WITH_WORLD
 }
@@ -0,0 +1,193 @@
+package com.jvosantos.games.gameoflife.engine;
+
+/**
+ * An outer totalistic rule of a life-like cellular automaton: the fate of a cell depends only on its own state and on
+ * how many of its eight neighbours are alive.
+ * <p>
+ * Rules are written in B/S notation, listing the neighbour counts that give birth to a dead cell and the ones that
+ * keep a live cell alive, e.g. "B3/S23" for conway's game of life or "B36/S23" for HighLife. A rule is compiled into a
+ * table with the next state of a cell for every state and neighbour count, so engines decide the fate of a cell with a
+ * single lookup and without branching.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public final class Rule {
+
+    /**
+     * Conway's game of life, B3/S23.
+     */
+    public static final Rule CONWAY = parse("B3/S23");
+
+    /**
+     * Maximum number of live neighbours of a cell.
+     */
+    public static final int MAX_NEIGHBOURS = 8;
+
+    /**
+     * Bit n is set when a dead cell with n live neighbours comes to life.
+     */
+    private final int birthMask;
+    /**
+     * Bit n is set when a live cell with n live neighbours stays alive.
+     */
+    private final int survivalMask;
+    /**
+     * Next state of a cell, indexed by its number of live neighbours times two plus its current state.
+     */
+    private final byte[] fates;
+
+    private Rule(int birthMask, int survivalMask) {
+        this.birthMask = birthMask;
+        this.survivalMask = survivalMask;
+
+        fates = new byte[(MAX_NEIGHBOURS + 1) * 2];
+        for (int neighbours = 0; neighbours <= MAX_NEIGHBOURS; neighbours++) {
+            fates[neighbours * 2] = (byte) ((birthMask >>> neighbours) & 1);
+            fates[neighbours * 2 + 1] = (byte) ((survivalMask >>> neighbours) & 1);
+        }
+    }
+
+    /**
+     * Parses a rule written in B/S notation. The birth and survival counts may come in any order and letters may be
+     * lower case, so "B3/S23", "S23/B3" and "b3/s23" are the same rule.
+     *
+     * @param notation The rule in B/S notation.
+     * @return the parsed rule.
+     * @throws IllegalArgumentException if the notation is not a valid rule.
+     */
+    public static Rule parse(String notation) {
+        String[] parts = notation.trim().toUpperCase().split("/", -1);
+
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rule \"" + notation + "\" must have the format B<counts>/S<counts>.");
+        }
+
+        int birthMask = -1;
+        int survivalMask = -1;
+
+        for (String part : parts) {
+            if (part.startsWith("B") && birthMask < 0) {
+                birthMask = parseCounts(notation, part.substring(1));
+            } else if (part.startsWith("S") && survivalMask < 0) {
+                survivalMask = parseCounts(notation, part.substring(1));
+            } else {
+                throw new IllegalArgumentException(
+                    "Rule \"" + notation + "\" must have the format B<counts>/S<counts>.");
+            }
+        }
+
+        return new Rule(birthMask, survivalMask);
+    }
+
+    private static int parseCounts(String notation, String counts) {
+        int mask = 0;
+
+        for (char count : counts.toCharArray()) {
+            if (count < '0' || count > '0' + MAX_NEIGHBOURS) {
+                throw new IllegalArgumentException(
+                    "Rule \"" + notation + "\" has an invalid neighbour count '" + count + "'.");
+            }
+            mask |= 1 << (count - '0');
+        }
+
+        return mask;
+    }
+
+    /**
+     * Gets the next state of a cell.
+     *
+     * @param state      The current state of the cell, 1 if alive and 0 if dead.
+     * @param neighbours The number of live neighbours of the cell.
+     * @return 1 if the cell will be alive on the next generation, 0 otherwise.
+     */
+    public int nextState(int state, int neighbours) {
+        return fates[neighbours * 2 + state];
+    }
+
+    /**
+     * Decides if a cell will be alive on the next generation.
+     *
+     * @param alive      If the cell is currently alive.
+     * @param neighbours The number of live neighbours of the cell.
+     * @return True if the cell will be alive on the next generation, false otherwise.
+     */
+    public boolean willBeAlive(boolean alive, int neighbours) {
+        return fates[neighbours * 2 + (alive ? 1 : 0)] != 0;
+    }
+
+    /**
+     * Gets the birth counts as a mask where bit n is set when a dead cell with n live neighbours comes to life.
+     *
+     * @return the birth mask.
+     */
+    public int getBirthMask() {
+        return birthMask;
+    }
+
+    /**
+     * Gets the survival counts as a mask where bit n is set when a live cell with n live neighbours stays alive.
+     *
+     * @return the survival mask.
+     */
+    public int getSurvivalMask() {
+        return survivalMask;
+    }
+
+    /**
+     * Checks if dead cells without live neighbours come to life. Such rules fill an unbounded world with infinitely
+     * many cells on the first generation, so only engines with boundaries can run them.
+     *
+     * @return True if the rule has birth on 0 neighbours, false otherwise.
+     */
+    public boolean isBornWithoutNeighbours() {
+        return (birthMask & 1) != 0;
+    }
+
+    /**
+     * Checks if live cells without live neighbours stay alive.
+     *
+     * @return True if the rule has survival on 0 neighbours, false otherwise.
+     */
+    public boolean survivesWithoutNeighbours() {
+        return (survivalMask & 1) != 0;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        Rule rule = (Rule) o;
+
+        return birthMask == rule.birthMask && survivalMask == rule.survivalMask;
+    }
+
+    @Override public int hashCode() {
+        return 31 * birthMask + survivalMask;
+    }
+
+    /**
+     * Gets the rule in B/S notation.
+     *
+     * @return the rule in B/S notation, e.g. "B3/S23".
+     */
+    @Override public String toString() {
+        StringBuilder notation = new StringBuilder("B");
+        appendCounts(notation, birthMask);
+        notation.append("/S");
+        appendCounts(notation, survivalMask);
+
+        return notation.toString();
+    }
+
+    private static void appendCounts(StringBuilder notation, int mask) {
+        for (int count = 0; count <= MAX_NEIGHBOURS; count++) {
+            if ((mask & (1 << count)) != 0) {
+                notation.append(count);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.jvosantos.games.gameoflife.engine;
+
+/**
+ * Hash of the live cells of a world, kept up to date by the engines as cells are born and die.
+ * <p>
+ * Each cell has a key, {@code X_BASE^x * Y_BASE^y} modulo 2^64, and the hash of a world is the sum of the keys of its
+ * live cells. Like a Zobrist hash, a birth adds the key of the cell and a death subtracts it, so an engine only touches
+ * the hash for the cells it changes. Unlike a table of random keys, keys are defined for every coordinate and a
+ * region moved by (dx, dy) has its hash multiplied by the key of (dx, dy), which lets
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeHashLife} memoize the hash of every node of its quadtree.
+ * <p>
+ * Equal worlds have equal hashes on every engine. An empty world hashes to 0.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public final class WorldHash {
+
+    /**
+     * Odd bases of the keys, so that they can be raised to negative powers.
+     */
+    public static final long X_BASE = 0x9E3779B97F4A7C15L;
+    public static final long Y_BASE = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * Powers of the bases and of their inverses by each byte of an exponent, so the key of any cell is a product of a
+     * few lookups.
+     */
+    private static final long[][] X_POWERS = byteTables(X_BASE);
+    private static final long[][] X_INVERSE_POWERS = byteTables(inverse(X_BASE));
+    private static final long[][] Y_POWERS = byteTables(Y_BASE);
+    private static final long[][] Y_INVERSE_POWERS = byteTables(inverse(Y_BASE));
+
+    private WorldHash() {
+    }
+
+    /**
+     * Gets the key of the cell on the given coordinate.
+     *
+     * @param x The column of the cell.
+     * @param y The row of the cell.
+     * @return the key of the cell.
+     */
+    public static long of(int x, int y) {
+        return power(x, X_POWERS, X_INVERSE_POWERS) * power(y, Y_POWERS, Y_INVERSE_POWERS);
+    }
+
+    /**
+     * Computes the hash of a world by visiting all its live cells.
+     *
+     * @param engine The engine with the world.
+     * @return the hash of the world.
+     */
+    public static long of(GameEngine engine) {
+        long[] hash = {0};
+        engine.forEachLiveCell((x, y) -> hash[0] += of(x, y));
+
+        return hash[0];
+    }
+
+    /**
+     * Raises an odd base to the given power modulo 2^64, negative powers being powers of the inverse of the base.
+     *
+     * @param base     The odd base.
+     * @param exponent The exponent.
+     * @return the base raised to the exponent.
+     */
+    public static long power(long base, long exponent) {
+        if (exponent < 0) {
+            base = inverse(base);
+            exponent = -exponent;
+        }
+
+        long result = 1;
+        // the exponent is unsigned from here, so that the negation of Long.MIN_VALUE is raised as well
+        for (; exponent != 0; exponent >>>= 1) {
+            if ((exponent & 1) != 0) {
+                result *= base;
+            }
+            base *= base;
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the powers 0 to count - 1 of a base, the keys of the first columns or rows of a world.
+     *
+     * @param base  The base.
+     * @param count The number of powers.
+     * @return the powers of the base.
+     */
+    public static long[] powers(long base, int count) {
+        long[] powers = new long[count];
+        long power = 1;
+
+        for (int i = 0; i < count; i++) {
+            powers[i] = power;
+            power *= base;
+        }
+
+        return powers;
+    }
+
+    private static long power(int exponent, long[][] powers, long[][] inversePowers) {
+        long[][] tables = (exponent < 0) ? inversePowers : powers;
+        long bits = Math.abs((long) exponent);
+
+        return tables[0][(int) bits & 0xFF] * tables[1][(int) (bits >>> 8) & 0xFF]
+            * tables[2][(int) (bits >>> 16) & 0xFF] * tables[3][(int) (bits >>> 24) & 0xFF];
+    }
+
+    /**
+     * Gets the powers of a base by every value of each of the four bytes of an integer exponent.
+     */
+    private static long[][] byteTables(long base) {
+        long[][] tables = new long[Integer.BYTES][];
+
+        for (int i = 0; i < tables.length; i++) {
+            tables[i] = powers(power(base, 1L << (Byte.SIZE * i)), 1 << Byte.SIZE);
+        }
+
+        return tables;
+    }
+
+    /**
+     * Gets the inverse of an odd number modulo 2^64 with Newton's iteration, each step doubling the correct bits.
+     */
+    private static long inverse(long odd) {
+        long inverse = odd;
+
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+
+        return inverse;
+    }
+}
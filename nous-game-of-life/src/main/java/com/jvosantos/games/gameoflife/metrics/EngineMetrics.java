@@ -0,0 +1,343 @@
+package com.jvosantos.games.gameoflife.metrics;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Metrics of a running engine: the generation, the population, the cells born and killed on the last step, the
+ * bounding box of the live cells, a histogram of the latencies of the steps and the bytes allocated by them.
+ * <p>
+ * The metrics are recorded by the thread stepping the engine, usually through a
+ * {@link com.jvosantos.games.gameoflife.metrics.MeteredEngine}, and read by any other thread, e.g. by JMX once
+ * {@link #register(String) registered} on the platform MBean server, or by a
+ * {@link com.jvosantos.games.gameoflife.metrics.MetricsLog}.
+ * <p>
+ * Births and deaths are read from the counters of the engine (see {@link GameEngine#getBirths()}), which are updated
+ * as the engine steps, and are unknown on engines that don't count them. The bounding box is found by visiting the live
+ * cells, which takes time proportional to the population, and to the area of the board on engines with boundaries, so
+ * it is only measured on the seed and then once every given number of steps, keeping the last measured box in between.
+ * It is unknown on engines with boundaries whose board is larger than {@link #MAX_TRACKED_CELLS}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class EngineMetrics implements EngineMetricsMBean {
+
+    /**
+     * Largest board of an engine with boundaries whose bounding box is measured.
+     */
+    public static final int MAX_TRACKED_CELLS = 1 << 20;
+    /**
+     * Number of steps between the measures of the bounding box of metrics created without giving it.
+     */
+    public static final int DEFAULT_STEPS_BETWEEN_BOUNDING_BOXES = 100;
+    /**
+     * Domain of the names the metrics are registered with.
+     */
+    public static final String DOMAIN = "com.jvosantos.games.gameoflife";
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * Number of steps between the measures of the bounding box, 0 to only measure it on the seed.
+     */
+    private final int stepsBetweenBoundingBoxes;
+
+    /**
+     * Counters of the engine on the last observation and the progress of the bounding box, only used by the stepping
+     * thread.
+     */
+    private long lastTotalBirths = -1;
+    private long lastTotalDeaths = -1;
+    private long stepBirths;
+    private long stepDeaths;
+    private int stepsSinceBoundingBox;
+    private boolean boxDue;
+    private boolean visited;
+    private boolean visitedAny;
+    private int visitedMinX;
+    private int visitedMinY;
+    private int visitedMaxX;
+    private int visitedMaxY;
+    private final Board.CellConsumer visitor = this::visit;
+
+    private long generation;
+    private long population;
+    private long births = -1;
+    private long deaths = -1;
+    private int boxX;
+    private int boxY;
+    private long boxWidth = -1;
+    private long boxHeight = -1;
+    private long allocatedBytes = -1;
+    private long totalAllocatedBytes;
+    private boolean allocationKnown = true;
+
+    /**
+     * Creates new metrics measuring the bounding box every {@link #DEFAULT_STEPS_BETWEEN_BOUNDING_BOXES} steps.
+     */
+    public EngineMetrics() {
+        this(DEFAULT_STEPS_BETWEEN_BOUNDING_BOXES);
+    }
+
+    /**
+     * Creates new metrics measuring the bounding box on the seed and every given number of steps.
+     *
+     * @param stepsBetweenBoundingBoxes The number of steps between the measures of the bounding box, 1 to measure it
+     *                                  on every step and 0 to only measure it on the seed.
+     * @throws IllegalArgumentException if the number of steps is negative.
+     */
+    public EngineMetrics(int stepsBetweenBoundingBoxes) {
+        if (stepsBetweenBoundingBoxes < 0) {
+            throw new IllegalArgumentException("Steps between bounding boxes can't be negative.");
+        }
+
+        this.stepsBetweenBoundingBoxes = stepsBetweenBoundingBoxes;
+    }
+
+    /**
+     * Records the seed of the engine, forgetting the steps recorded before.
+     *
+     * @param engine The seeded engine.
+     */
+    public void recordSeed(GameEngine engine) {
+        long population = observe(engine, true);
+
+        synchronized (this) {
+            latencies.reset();
+            generation = 0;
+            totalAllocatedBytes = 0;
+            allocatedBytes = -1;
+            allocationKnown = true;
+            births = -1;
+            deaths = -1;
+            publish(population);
+        }
+    }
+
+    /**
+     * Records a step of the engine.
+     *
+     * @param engine         The engine, already stepped.
+     * @param generations    The number of generations calculated on the step, usually 1.
+     * @param nanos          The time taken by the step, in nanoseconds.
+     * @param allocatedBytes The bytes allocated by the step, or -1 if unknown.
+     */
+    public void recordStep(GameEngine engine, long generations, long nanos, long allocatedBytes) {
+        long population = observe(engine, false);
+
+        synchronized (this) {
+            latencies.record(nanos);
+            generation += generations;
+            this.allocatedBytes = allocatedBytes;
+            if (allocatedBytes < 0) {
+                allocationKnown = false;
+            } else {
+                totalAllocatedBytes += allocatedBytes;
+            }
+            births = stepBirths;
+            deaths = stepDeaths;
+            publish(population);
+        }
+    }
+
+    /**
+     * Reads the births and deaths counted by the engine since the last observation, and visits the live cells of the
+     * world to find the bounding box when it is due and the board of an engine with boundaries is small enough.
+     *
+     * @param seeded True if the engine was just seeded, false if it was stepped.
+     * @return the population of the world.
+     */
+    private long observe(GameEngine engine, boolean seeded) {
+        long totalBirths = engine.getBirths();
+        long totalDeaths = engine.getDeaths();
+
+        stepBirths = (totalBirths < 0 || lastTotalBirths < 0) ? -1 : totalBirths - lastTotalBirths;
+        stepDeaths = (totalDeaths < 0 || lastTotalDeaths < 0) ? -1 : totalDeaths - lastTotalDeaths;
+        lastTotalBirths = totalBirths;
+        lastTotalDeaths = totalDeaths;
+
+        Board board = engine.getBoard();
+        long population = board.getPopulation();
+
+        if (seeded) {
+            stepsSinceBoundingBox = 0;
+        } else if (stepsBetweenBoundingBoxes == 0 || ++stepsSinceBoundingBox < stepsBetweenBoundingBoxes) {
+            boxDue = false;
+            return population;
+        } else {
+            stepsSinceBoundingBox = 0;
+        }
+
+        boxDue = true;
+        visited = !engine.hasBoundaries() || (long) board.getWidth() * board.getHeight() <= MAX_TRACKED_CELLS;
+        if (visited) {
+            visitedAny = false;
+            visitedMinX = Integer.MAX_VALUE;
+            visitedMinY = Integer.MAX_VALUE;
+            visitedMaxX = Integer.MIN_VALUE;
+            visitedMaxY = Integer.MIN_VALUE;
+            engine.forEachLiveCell(visitor);
+        }
+
+        return population;
+    }
+
+    private void visit(int x, int y) {
+        visitedAny = true;
+        visitedMinX = Math.min(visitedMinX, x);
+        visitedMinY = Math.min(visitedMinY, y);
+        visitedMaxX = Math.max(visitedMaxX, x);
+        visitedMaxY = Math.max(visitedMaxY, y);
+    }
+
+    /**
+     * Publishes the results of the last observation. Called while holding the lock of the metrics. The bounding box is
+     * left as it was when it wasn't due.
+     */
+    private void publish(long population) {
+        this.population = population;
+
+        if (!boxDue) {
+            return;
+        }
+
+        if (!visited) {
+            boxX = 0;
+            boxY = 0;
+            boxWidth = -1;
+            boxHeight = -1;
+        } else if (visitedAny) {
+            boxX = visitedMinX;
+            boxY = visitedMinY;
+            boxWidth = (long) visitedMaxX - visitedMinX + 1;
+            boxHeight = (long) visitedMaxY - visitedMinY + 1;
+        } else {
+            boxX = 0;
+            boxY = 0;
+            boxWidth = 0;
+            boxHeight = 0;
+        }
+    }
+
+    /**
+     * Registers the metrics on the platform MBean server, with a name on {@link #DOMAIN}, replacing the metrics
+     * registered with the same name before.
+     *
+     * @param name The name of the engine, e.g. its mode.
+     * @return the name the metrics were registered with.
+     * @throws JMException if the metrics can't be registered.
+     */
+    public ObjectName register(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = objectName(name);
+
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+        server.registerMBean(this, objectName);
+
+        return objectName;
+    }
+
+    /**
+     * Unregisters metrics from the platform MBean server. Unregistering metrics that aren't registered does nothing.
+     *
+     * @param name The name the metrics were registered with.
+     * @throws JMException if the metrics can't be unregistered.
+     */
+    public static void unregister(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = objectName(name);
+
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    /**
+     * Gets the name of the metrics of an engine on the MBean server.
+     *
+     * @param name The name of the engine.
+     * @return the name of the metrics.
+     * @throws MalformedObjectNameException if the name of the engine isn't a valid value of an object name.
+     */
+    public static ObjectName objectName(String name) throws MalformedObjectNameException {
+        return new ObjectName(DOMAIN + ":type=EngineMetrics,name=" + name);
+    }
+
+    @Override public synchronized long getGeneration() {
+        return generation;
+    }
+
+    @Override public synchronized long getPopulation() {
+        return population;
+    }
+
+    @Override public synchronized long getBirths() {
+        return births;
+    }
+
+    @Override public synchronized long getDeaths() {
+        return deaths;
+    }
+
+    @Override public synchronized int getBoundingBoxX() {
+        return boxX;
+    }
+
+    @Override public synchronized int getBoundingBoxY() {
+        return boxY;
+    }
+
+    @Override public synchronized long getBoundingBoxWidth() {
+        return boxWidth;
+    }
+
+    @Override public synchronized long getBoundingBoxHeight() {
+        return boxHeight;
+    }
+
+    @Override public synchronized long getSteps() {
+        return latencies.getCount();
+    }
+
+    @Override public synchronized double getMeanStepNanos() {
+        return latencies.getMean();
+    }
+
+    @Override public synchronized long getMedianStepNanos() {
+        return latencies.getPercentile(0.5);
+    }
+
+    @Override public synchronized long getP99StepNanos() {
+        return latencies.getPercentile(0.99);
+    }
+
+    @Override public synchronized long getMaxStepNanos() {
+        return latencies.getMax();
+    }
+
+    @Override public synchronized long[] getStepLatencyHistogram() {
+        return latencies.getCounts();
+    }
+
+    @Override public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override public synchronized double getMeanAllocatedBytes() {
+        long steps = latencies.getCount();
+
+        if (!allocationKnown) {
+            return -1;
+        }
+
+        return (steps == 0) ? 0 : (double) totalAllocatedBytes / steps;
+    }
+}
@@ -0,0 +1,93 @@
+package com.jvosantos.games.gameoflife.metrics;
+
+/**
+ * Management interface of {@link com.jvosantos.games.gameoflife.metrics.EngineMetrics}, exposing the metrics of a
+ * running engine as read-only attributes of a JMX MBean.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public interface EngineMetricsMBean {
+
+    /**
+     * @return the generation of the world, counted from the last seed.
+     */
+    long getGeneration();
+
+    /**
+     * @return the number of live cells of the board.
+     */
+    long getPopulation();
+
+    /**
+     * @return the number of cells born on the last step, or -1 if unknown.
+     */
+    long getBirths();
+
+    /**
+     * @return the number of cells killed on the last step, or -1 if unknown.
+     */
+    long getDeaths();
+
+    /**
+     * @return the column of the leftmost live cell, or 0 if the world is empty or the bounding box is unknown.
+     */
+    int getBoundingBoxX();
+
+    /**
+     * @return the row of the topmost live cell, or 0 if the world is empty or the bounding box is unknown.
+     */
+    int getBoundingBoxY();
+
+    /**
+     * @return the number of columns from the leftmost to the rightmost live cell, 0 if the world is empty or -1 if
+     * unknown.
+     */
+    long getBoundingBoxWidth();
+
+    /**
+     * @return the number of rows from the topmost to the bottommost live cell, 0 if the world is empty or -1 if
+     * unknown.
+     */
+    long getBoundingBoxHeight();
+
+    /**
+     * @return the number of steps measured since the last seed.
+     */
+    long getSteps();
+
+    /**
+     * @return the mean latency of the steps, in nanoseconds.
+     */
+    double getMeanStepNanos();
+
+    /**
+     * @return the estimated median latency of the steps, in nanoseconds.
+     */
+    long getMedianStepNanos();
+
+    /**
+     * @return the estimated 99th percentile of the latency of the steps, in nanoseconds.
+     */
+    long getP99StepNanos();
+
+    /**
+     * @return the largest latency of the steps, in nanoseconds.
+     */
+    long getMaxStepNanos();
+
+    /**
+     * @return the number of steps on each bucket of the latency histogram, see
+     * {@link com.jvosantos.games.gameoflife.metrics.LatencyHistogram}.
+     */
+    long[] getStepLatencyHistogram();
+
+    /**
+     * @return the number of bytes allocated by the stepping thread on the last step, or -1 if unknown.
+     */
+    long getAllocatedBytes();
+
+    /**
+     * @return the mean number of bytes allocated by the stepping thread per step, or -1 if unknown.
+     */
+    double getMeanAllocatedBytes();
+}
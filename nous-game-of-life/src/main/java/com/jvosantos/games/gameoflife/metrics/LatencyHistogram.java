@@ -0,0 +1,121 @@
+package com.jvosantos.games.gameoflife.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of latencies in nanoseconds with a bucket for each power of two, so recording a latency never allocates
+ * and the histogram takes the same memory however many latencies it holds.
+ * <p>
+ * Bucket i counts the latencies from 2^i, inclusive, to 2^(i+1), exclusive, with bucket 0 counting latencies of 0 and 1
+ * nanoseconds as well. Percentiles are therefore estimated to the upper bound of their bucket, within a factor of two,
+ * which is enough to tell a slow generation from a fast one. Latencies are recorded and read from different threads.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class LatencyHistogram {
+
+    private final long[] counts = new long[Long.SIZE];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds, negative latencies being recorded as 0.
+     */
+    public synchronized void record(long nanos) {
+        nanos = Math.max(0, nanos);
+
+        counts[bucketOf(nanos)]++;
+        count++;
+        total += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * Forgets every latency recorded.
+     */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Gets the number of latencies recorded.
+     *
+     * @return the number of latencies.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the latencies recorded.
+     *
+     * @return the mean latency in nanoseconds, or 0 if none was recorded.
+     */
+    public synchronized double getMean() {
+        return (count == 0) ? 0 : (double) total / count;
+    }
+
+    /**
+     * Gets the largest latency recorded.
+     *
+     * @return the largest latency in nanoseconds, or 0 if none was recorded.
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * Estimates the latency below which the given fraction of the latencies recorded are, as the upper bound of the
+     * bucket holding it, never above the largest latency recorded.
+     *
+     * @param fraction The fraction of the latencies, from 0 to 1, e.g. 0.99 for the 99th percentile.
+     * @return the estimated latency in nanoseconds, or 0 if none was recorded.
+     */
+    public synchronized long getPercentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Fraction must be between 0 and 1.");
+        }
+
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank && seen > 0) {
+                return Math.min(max, upperBoundOf(bucket));
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Copies the counts of the buckets.
+     *
+     * @return a new array with the number of latencies of bucket i on position i.
+     */
+    public synchronized long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * Gets the bucket of a latency.
+     */
+    static int bucketOf(long nanos) {
+        return (nanos <= 1) ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Gets the largest latency of a bucket. The last bucket a latency can fall into is bucket 62, whose bound overflows
+     * into {@link Long#MAX_VALUE}.
+     */
+    static long upperBoundOf(int bucket) {
+        return (2L << bucket) - 1;
+    }
+}
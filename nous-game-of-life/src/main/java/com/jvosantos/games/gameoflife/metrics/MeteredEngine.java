@@ -0,0 +1,199 @@
+package com.jvosantos.games.gameoflife.metrics;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.engine.Rule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * An engine recording the {@link com.jvosantos.games.gameoflife.metrics.EngineMetrics} of the engine it wraps,
+ * which works for any implementation.
+ * <p>
+ * Each call to {@link #nextGeneration()} or {@link #advance(long)} is a step, timed with {@link System#nanoTime()}
+ * and with the bytes allocated by the calling thread measured where the JVM supports it. Engines calculating a
+ * generation on several threads allocate on threads that aren't measured. An advance is a single step whatever the
+ * number of generations, so engines able to skip generations keep doing so, and its births and deaths are the ones of
+ * all its generations.
+ * <p>
+ * Closing the metered engine closes the engine it wraps, if that engine can be closed.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class MeteredEngine implements GameEngine, Closeable {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final GameEngine engine;
+    private final EngineMetrics metrics;
+    private final boolean measuresAllocation;
+
+    /**
+     * Creates a new metered engine recording into new metrics.
+     *
+     * @param engine The engine to be metered.
+     */
+    public MeteredEngine(GameEngine engine) {
+        this(engine, new EngineMetrics());
+    }
+
+    /**
+     * Creates a new metered engine recording into the given metrics.
+     *
+     * @param engine  The engine to be metered.
+     * @param metrics The metrics where the steps of the engine are recorded.
+     */
+    public MeteredEngine(GameEngine engine, EngineMetrics metrics) {
+        this.engine = engine;
+        this.metrics = metrics;
+        measuresAllocation = enableAllocationMeasurement();
+    }
+
+    /**
+     * Enables the measurement of the bytes allocated by each thread, if the JVM supports it.
+     *
+     * @return True if the allocated bytes can be measured, false otherwise.
+     */
+    private static boolean enableAllocationMeasurement() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        return true;
+    }
+
+    private long allocatedBytes() {
+        return measuresAllocation
+            ? ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * Gets the metrics of the engine.
+     *
+     * @return the metrics where the steps of the engine are recorded.
+     */
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the engine being metered.
+     *
+     * @return the wrapped engine.
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public void seed(int[][] pattern) {
+        engine.seed(pattern);
+        metrics.recordSeed(engine);
+    }
+
+    @Override
+    public void seed(Pattern pattern) {
+        engine.seed(pattern);
+        metrics.recordSeed(engine);
+    }
+
+    @Override
+    public void nextGeneration() {
+        step(1);
+    }
+
+    @Override
+    public void advance(long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative number of generations.");
+        }
+
+        if (generations > 0) {
+            step(generations);
+        }
+    }
+
+    private void step(long generations) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        if (generations == 1) {
+            engine.nextGeneration();
+        } else {
+            engine.advance(generations);
+        }
+
+        long nanos = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+
+        metrics.recordStep(engine, generations, nanos, measuresAllocation ? allocatedAfter - allocatedBefore : -1);
+    }
+
+    @Override
+    public int[][] snapshot() {
+        return engine.snapshot();
+    }
+
+    @Override
+    public Board getBoard() {
+        return engine.getBoard();
+    }
+
+    @Override
+    public void forEachLiveCell(Board.CellConsumer consumer) {
+        engine.forEachLiveCell(consumer);
+    }
+
+    @Override
+    public long getWorldHash() {
+        return engine.getWorldHash();
+    }
+
+    @Override
+    public long getBirths() {
+        return engine.getBirths();
+    }
+
+    @Override
+    public long getDeaths() {
+        return engine.getDeaths();
+    }
+
+    @Override
+    public boolean hasBoundaries() {
+        return engine.hasBoundaries();
+    }
+
+    @Override
+    public void setRule(Rule rule) {
+        engine.setRule(rule);
+    }
+
+    @Override
+    public Rule getRule() {
+        return engine.getRule();
+    }
+
+    /**
+     * Closes the engine being metered, if it can be closed.
+     *
+     * @throws IOException if the engine can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (engine instanceof Closeable) {
+            ((Closeable) engine).close();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.jvosantos.games.gameoflife.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the {@link com.jvosantos.games.gameoflife.metrics.EngineMetrics} of a running engine to a CSV file
+ * periodically, on a daemon thread of its own, so long runs can be followed and plotted without attaching anything to
+ * the JVM.
+ * <p>
+ * Each row holds the time since the log was opened and the metrics at that moment. Unknown metrics are left empty. A
+ * last row is written when the log is closed.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class MetricsLog implements AutoCloseable {
+
+    /**
+     * Header of the CSV file, naming the columns of the rows.
+     */
+    public static final String HEADER = "elapsed_ms,generation,population,births,deaths,box_x,box_y,box_width,"
+        + "box_height,steps,mean_step_ns,median_step_ns,p99_step_ns,max_step_ns,allocated_bytes,mean_allocated_bytes";
+
+    private final EngineMetrics metrics;
+    private final BufferedWriter writer;
+    private final ScheduledExecutorService scheduler;
+    private final long start = System.nanoTime();
+    private final StringBuilder row = new StringBuilder();
+    private boolean failed;
+
+    /**
+     * Creates a new metrics log, writing the header to the file and starting to write a row every given number of
+     * milliseconds.
+     *
+     * @param metrics       The metrics to be logged.
+     * @param file          The file to write, replaced if it exists.
+     * @param msBetweenRows The number of milliseconds between rows.
+     * @throws IOException if the file can't be written.
+     */
+    public MetricsLog(EngineMetrics metrics, Path file, long msBetweenRows) throws IOException {
+        if (msBetweenRows <= 0) {
+            throw new IllegalArgumentException("Rows must be at least a millisecond apart.");
+        }
+
+        this.metrics = metrics;
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.newLine();
+        writer.flush();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-of-life-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::writeRow, msBetweenRows, msBetweenRows, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a row with the current metrics. Rows stop being written after the first failure, which is reported on
+     * the error output.
+     */
+    private synchronized void writeRow() {
+        if (failed) {
+            return;
+        }
+
+        row.setLength(0);
+        row.append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        // the lock of the metrics keeps the row on a single step
+        synchronized (metrics) {
+            append(metrics.getGeneration());
+            append(metrics.getPopulation());
+            appendKnown(metrics.getBirths());
+            appendKnown(metrics.getDeaths());
+            if (metrics.getBoundingBoxWidth() < 0) {
+                row.append(",,");
+            } else {
+                append(metrics.getBoundingBoxX());
+                append(metrics.getBoundingBoxY());
+            }
+            appendKnown(metrics.getBoundingBoxWidth());
+            appendKnown(metrics.getBoundingBoxHeight());
+            append(metrics.getSteps());
+            append(Math.round(metrics.getMeanStepNanos()));
+            append(metrics.getMedianStepNanos());
+            append(metrics.getP99StepNanos());
+            append(metrics.getMaxStepNanos());
+            appendKnown(metrics.getAllocatedBytes());
+            appendKnown(Math.round(metrics.getMeanAllocatedBytes()));
+        }
+
+        try {
+            writer.append(row);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            failed = true;
+            System.err.printf("Couldn't write metrics log: %s%n", e.getMessage());
+        }
+    }
+
+    private void append(long value) {
+        row.append(',').append(value);
+    }
+
+    private void appendKnown(long value) {
+        row.append(',');
+        if (value >= 0) {
+            row.append(value);
+        }
+    }
+
+    /**
+     * Stops writing rows periodically, writes a last row with the current metrics and closes the file.
+     *
+     * @throws IOException if the file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        writeRow();
+        synchronized (this) {
+            writer.close();
+        }
+    }
+}
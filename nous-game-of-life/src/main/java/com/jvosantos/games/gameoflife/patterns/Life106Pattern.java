@@ -0,0 +1,123 @@
+package com.jvosantos.games.gameoflife.patterns;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.utils.ChannelReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * A pattern in the Life 1.06 format, e.g.
+ * <pre>
+ * #Life 1.06
+ * 0 -1
+ * 1 0
+ * -1 1
+ * 0 1
+ * 1 1
+ * </pre>
+ * Lines starting with '#' are comments and every other line has the column and the row of a live cell, which can be
+ * negative. The pattern is moved so that the top left corner of the bounding box of its cells is at (0, 0).
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class Life106Pattern extends PatternFile {
+
+    /**
+     * Coordinate of the top left corner of the bounding box of the cells in the file, known after the file is parsed.
+     */
+    private int originX;
+    private int originY;
+
+    /**
+     * Creates a new Life 1.06 pattern read from the given file.
+     *
+     * @param file The file with the pattern.
+     */
+    Life106Pattern(Path file) {
+        super(file);
+    }
+
+    @Override protected void parse(ChannelReader reader, Board.CellConsumer consumer)
+        throws IOException, ParseException {
+        long minX = Long.MAX_VALUE;
+        long minY = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE;
+        long maxY = Long.MIN_VALUE;
+        long[] coordinates = new long[2];
+
+        for (int character = reader.read(); character != ChannelReader.END; character = reader.read()) {
+            if (character == '#') {
+                while (character != '\n' && character != ChannelReader.END) {
+                    character = reader.read();
+                }
+                continue;
+            }
+
+            if (Character.isWhitespace(character)) {
+                continue;
+            }
+
+            // a cell line: two integers separated by spaces
+            for (int i = 0; i < coordinates.length; i++) {
+                while (character == ' ' || character == '\t') {
+                    character = reader.read();
+                }
+
+                boolean negative = character == '-';
+                if (negative || character == '+') {
+                    character = reader.read();
+                }
+
+                if (character < '0' || character > '9') {
+                    throw unexpected(reader, character);
+                }
+
+                long value = 0;
+                while (character >= '0' && character <= '9') {
+                    value = value * 10 + character - '0';
+                    if (value > Integer.MAX_VALUE + 1L) {
+                        throw new ParseException("coordinate out of range",
+                            (int) Math.min(Integer.MAX_VALUE, reader.position() - 1));
+                    }
+                    character = reader.read();
+                }
+                coordinates[i] = negative ? -value : value;
+            }
+
+            while (character == ' ' || character == '\t' || character == '\r') {
+                character = reader.read();
+            }
+            if (character != '\n' && character != ChannelReader.END) {
+                throw unexpected(reader, character);
+            }
+
+            minX = Math.min(minX, coordinates[0]);
+            minY = Math.min(minY, coordinates[1]);
+            maxX = Math.max(maxX, coordinates[0]);
+            maxY = Math.max(maxY, coordinates[1]);
+
+            consumer.accept((int) (coordinates[0] - originX), (int) (coordinates[1] - originY));
+
+            if (character == ChannelReader.END) {
+                break;
+            }
+        }
+
+        if (minX == Long.MAX_VALUE) {
+            width = 0;
+            height = 0;
+            return;
+        }
+
+        if (maxX - minX >= Integer.MAX_VALUE || maxY - minY >= Integer.MAX_VALUE) {
+            throw new ParseException("pattern too large", 0);
+        }
+
+        originX = (int) minX;
+        originY = (int) minY;
+        width = (int) (maxX - minX + 1);
+        height = (int) (maxY - minY + 1);
+    }
+}
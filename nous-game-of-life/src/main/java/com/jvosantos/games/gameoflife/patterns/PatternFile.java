@@ -0,0 +1,119 @@
+package com.jvosantos.games.gameoflife.patterns;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.settings.PatternType;
+import com.jvosantos.games.gameoflife.utils.ChannelReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * A pattern read from a file, streamed through a {@link com.jvosantos.games.gameoflife.utils.ChannelReader} every time
+ * its cells are visited, so no cell is ever kept in memory.
+ * <p>
+ * The file is read once when it is opened, to validate it and to find the size of the pattern, and once more every
+ * time the live cells are visited, handing each cell to the consumer as soon as it is parsed.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public abstract class PatternFile implements Pattern {
+
+    private final Path file;
+
+    /**
+     * Size of the pattern, known after the file is parsed.
+     */
+    protected int width;
+    protected int height;
+
+    /**
+     * Creates a new pattern read from the given file.
+     *
+     * @param file The file with the pattern.
+     */
+    protected PatternFile(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens a pattern file of the given type, reading it once to validate it and to find its size.
+     *
+     * @param type The format of the file.
+     * @param file The file with the pattern.
+     * @return the pattern of the file.
+     * @throws IOException    if the file can't be read.
+     * @throws ParseException if the file isn't a valid pattern of the given type.
+     */
+    public static PatternFile open(PatternType type, Path file) throws IOException, ParseException {
+        PatternFile pattern;
+
+        switch (type) {
+            case RLE:
+                pattern = new RlePattern(file);
+                break;
+            case LIFE_106:
+                pattern = new Life106Pattern(file);
+                break;
+            case PLAINTEXT:
+                pattern = PlaintextPattern.plaintext(file);
+                break;
+            case BINARY:
+            default:
+                pattern = PlaintextPattern.binary(file);
+                break;
+        }
+
+        try (ChannelReader reader = ChannelReader.open(file)) {
+            pattern.parse(reader, (x, y) -> {
+            });
+        }
+
+        return pattern;
+    }
+
+    /**
+     * Parses the whole file, handing every live cell to the consumer and setting the size of the pattern.
+     *
+     * @param reader   The reader of the file.
+     * @param consumer The consumer receiving the live cells.
+     * @throws IOException    if the file can't be read.
+     * @throws ParseException if the file isn't a valid pattern.
+     */
+    protected abstract void parse(ChannelReader reader, Board.CellConsumer consumer) throws IOException, ParseException;
+
+    @Override public int getWidth() {
+        return width;
+    }
+
+    @Override public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Visits every live cell of the pattern, parsing the file again.
+     *
+     * @param consumer The consumer receiving the column and row of each live cell.
+     * @throws UncheckedIOException if the file can't be read.
+     * @throws IllegalStateException if the file stopped being a valid pattern since it was opened.
+     */
+    @Override public void forEachLiveCell(Board.CellConsumer consumer) {
+        try (ChannelReader reader = ChannelReader.open(file)) {
+            parse(reader, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Pattern file \"" + file + "\" changed since it was opened.", e);
+        }
+    }
+
+    /**
+     * Creates the exception thrown when the file has an unexpected character.
+     */
+    protected static ParseException unexpected(ChannelReader reader, int character) {
+        return new ParseException("found unexpected character '" + (char) character + "'",
+            (int) Math.min(Integer.MAX_VALUE, reader.position() - 1));
+    }
+}
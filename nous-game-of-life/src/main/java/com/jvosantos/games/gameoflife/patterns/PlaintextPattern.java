@@ -0,0 +1,102 @@
+package com.jvosantos.games.gameoflife.patterns;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.utils.ChannelReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * A pattern drawn as text, one line per row and one character per cell. Rows shorter than the longest one are filled
+ * with dead cells.
+ * <p>
+ * Two flavours are read:
+ * <ul>
+ * <li>plaintext, with '.' for dead cells, 'O' or '*' for live cells, lines starting with '!' as comments and empty
+ * lines as rows of dead cells, e.g. "!Name: Glider", ".O.", "..O", "OOO";</li>
+ * <li>binary, with '0' for dead cells, '1' for live cells and empty lines ignored, as read by
+ * {@link com.jvosantos.games.gameoflife.engine.LifePatterns#parsePattern(java.util.List)}.</li>
+ * </ul>
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class PlaintextPattern extends PatternFile {
+
+    private static final int NO_COMMENTS = -2;
+
+    private final char deadCharacter;
+    private final String aliveCharacters;
+    private final int commentCharacter;
+    private final boolean emptyLinesAreRows;
+
+    private PlaintextPattern(Path file, char deadCharacter, String aliveCharacters, int commentCharacter,
+        boolean emptyLinesAreRows) {
+        super(file);
+        this.deadCharacter = deadCharacter;
+        this.aliveCharacters = aliveCharacters;
+        this.commentCharacter = commentCharacter;
+        this.emptyLinesAreRows = emptyLinesAreRows;
+    }
+
+    /**
+     * Creates a new plaintext pattern read from the given file.
+     *
+     * @param file The file with the pattern.
+     * @return the plaintext pattern.
+     */
+    static PlaintextPattern plaintext(Path file) {
+        return new PlaintextPattern(file, '.', "O*", '!', true);
+    }
+
+    /**
+     * Creates a new binary pattern read from the given file.
+     *
+     * @param file The file with the pattern.
+     * @return the binary pattern.
+     */
+    static PlaintextPattern binary(Path file) {
+        return new PlaintextPattern(file, '0', "1", NO_COMMENTS, false);
+    }
+
+    @Override protected void parse(ChannelReader reader, Board.CellConsumer consumer)
+        throws IOException, ParseException {
+        int x = 0;
+        int y = 0;
+        int maxWidth = 0;
+        boolean lineStart = true;
+
+        for (int character = reader.read(); character != ChannelReader.END; character = reader.read()) {
+            if (lineStart && character == commentCharacter) {
+                while (character != '\n' && character != ChannelReader.END) {
+                    character = reader.read();
+                }
+                continue;
+            }
+
+            if (character == '\n') {
+                if (x > 0 || emptyLinesAreRows) {
+                    y++;
+                }
+                x = 0;
+                lineStart = true;
+                continue;
+            }
+
+            lineStart = false;
+
+            if (character == deadCharacter) {
+                x++;
+            } else if (aliveCharacters.indexOf(character) >= 0) {
+                consumer.accept(x++, y);
+            } else if (character != '\r') {
+                throw unexpected(reader, character);
+            }
+
+            maxWidth = Math.max(maxWidth, x);
+        }
+
+        width = maxWidth;
+        height = (x > 0) ? y + 1 : y;
+    }
+}
@@ -0,0 +1,125 @@
+package com.jvosantos.games.gameoflife.patterns;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.utils.ChannelReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * A pattern in the run length encoded format, e.g.
+ * <pre>
+ * #N Glider
+ * x = 3, y = 3, rule = B3/S23
+ * bob$2bo$3o!
+ * </pre>
+ * Lines starting with '#' before the header are comments. The header gives the size of the pattern and is followed by
+ * runs of cells, each one an optional count followed by 'b' for dead cells, 'o' for live cells or '$' for the end of
+ * a row, up to a final '!'. Any other letter is taken as a live cell.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class RlePattern extends PatternFile {
+
+    /**
+     * Creates a new run length encoded pattern read from the given file.
+     *
+     * @param file The file with the pattern.
+     */
+    RlePattern(Path file) {
+        super(file);
+    }
+
+    @Override protected void parse(ChannelReader reader, Board.CellConsumer consumer)
+        throws IOException, ParseException {
+        int character = reader.read();
+
+        // comments and empty lines before the header
+        while (character == '#' || character == '\n' || character == '\r') {
+            while (character != '\n' && character != ChannelReader.END) {
+                character = reader.read();
+            }
+            character = reader.read();
+        }
+
+        parseHeader(reader, character);
+
+        long run = 0;
+        int x = 0;
+        int y = 0;
+
+        for (character = reader.read(); character != '!'; character = reader.read()) {
+            if (character >= '0' && character <= '9') {
+                run = Math.min(run * 10 + character - '0', Integer.MAX_VALUE);
+                continue;
+            }
+
+            int count = (run == 0) ? 1 : (int) run;
+            run = 0;
+
+            if (character == 'b' || character == '.') {
+                x += count;
+            } else if (character == '$') {
+                x = 0;
+                y += count;
+            } else if (Character.isLetter(character)) {
+                if (y >= height || (long) x + count > width) {
+                    throw new ParseException("cells outside of the size given by the header",
+                        (int) Math.min(Integer.MAX_VALUE, reader.position() - 1));
+                }
+                for (int i = 0; i < count; i++) {
+                    consumer.accept(x++, y);
+                }
+            } else if (character == ChannelReader.END) {
+                throw new ParseException("missing '!' at the end of the pattern",
+                    (int) Math.min(Integer.MAX_VALUE, reader.position()));
+            } else if (!Character.isWhitespace(character)) {
+                throw unexpected(reader, character);
+            }
+        }
+    }
+
+    /**
+     * Parses the header line starting with the given character, e.g. "x = 3, y = 3, rule = B3/S23", setting the size
+     * of the pattern. Other settings of the header are ignored.
+     */
+    private void parseHeader(ChannelReader reader, int character) throws IOException, ParseException {
+        StringBuilder header = new StringBuilder();
+
+        while (character != '\n' && character != ChannelReader.END) {
+            header.append((char) character);
+            character = reader.read();
+        }
+
+        width = -1;
+        height = -1;
+
+        for (String setting : header.toString().split(",")) {
+            String[] keyValue = setting.split("=");
+
+            if (keyValue.length != 2) {
+                throw new ParseException("invalid header \"" + header.toString().trim() + "\"", 0);
+            }
+
+            try {
+                switch (keyValue[0].trim()) {
+                    case "x":
+                        width = Integer.parseInt(keyValue[1].trim());
+                        break;
+                    case "y":
+                        height = Integer.parseInt(keyValue[1].trim());
+                        break;
+                    default:
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                throw new ParseException("invalid header \"" + header.toString().trim() + "\"", 0);
+            }
+        }
+
+        if (width < 0 || height < 0) {
+            throw new ParseException("header must give the size of the pattern as \"x = <width>, y = <height>\"", 0);
+        }
+    }
+}
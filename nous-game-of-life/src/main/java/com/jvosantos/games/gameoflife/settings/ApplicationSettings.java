@@ -2,6 +2,8 @@ package com.jvosantos.games.gameoflife.settings;
 
 import com.jvosantos.games.gameoflife.engine.GameMode;
 import com.jvosantos.games.gameoflife.engine.LifePatterns;
+import com.jvosantos.games.gameoflife.engine.Rule;
+import com.jvosantos.games.gameoflife.engine.Size;
 import com.jvosantos.games.gameoflife.ui.ConsoleInterface;
 
 import java.io.IOException;
@@ -28,6 +30,23 @@ import java.util.Properties;
  * <li>pattern-file: false</li>
  * <li>ms-between-generations: 500</li>
  * <li>pattern: NOUS_OSCILLATOR</li>
+ * <li>parallelism: number of available processors</li>
+ * <li>rule: B3/S23</li>
+ * <li>cycle-history: 0</li>
+ * <li>headless: false</li>
+ * <li>frame-buffer: 0</li>
+ * <li>diff: false</li>
+ * <li>metrics: false</li>
+ * <li>metrics-log: undefined</li>
+ * <li>ms-between-metrics: 1000</li>
+ * <li>steps-between-bounding-boxes: 100</li>
+ * <li>batch-soups: 0</li>
+ * <li>batch-directory: undefined</li>
+ * <li>batch-results: results.csv</li>
+ * <li>batch-workers: number of available processors</li>
+ * <li>soup-size: 64x64</li>
+ * <li>soup-density: 0.5</li>
+ * <li>soup-seed: 0</li>
  * <ul>
  *
  * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
@@ -69,6 +88,83 @@ public class ApplicationSettings {
      * Number of milliseconds between generations.
      */
     public static final String MS_BETWEEN_GENERATIONS = "ms-between-generations";
+    /**
+     * Number of workers used by the PARALLEL mode to calculate each generation, and of worker JVMs of the DISTRIBUTED
+     * mode.
+     */
+    public static final String PARALLELISM = "parallelism";
+    /**
+     * Rule deciding the fate of the cells, in B/S notation. See {@link com.jvosantos.games.gameoflife.engine.Rule}
+     */
+    public static final String RULE = "rule";
+    /**
+     * Number of generations whose hashes are kept to detect empty, static and periodic worlds, 0 to never detect
+     * them. See {@link com.jvosantos.games.gameoflife.engine.CycleDetector}
+     */
+    public static final String CYCLE_HISTORY = "cycle-history";
+    /**
+     * Flag indicating to only print the last generation, advancing the engine without reading the generations in
+     * between. Ignored on endless runs, which have no last generation.
+     */
+    public static final String HEADLESS = "headless";
+    /**
+     * Number of generations waiting to be printed by a renderer thread of its own, 0 to print them on the thread of the
+     * engine. See {@link com.jvosantos.games.gameoflife.ui.RenderPipeline}
+     */
+    public static final String FRAME_BUFFER = "frame-buffer";
+    /**
+     * Flag indicating to only redraw the cells that changed since the last printed generation, moving the cursor with
+     * ANSI escape sequences. See {@link com.jvosantos.games.gameoflife.ui.BufferedRenderer}
+     */
+    public static final String DIFF = "diff";
+    /**
+     * Flag indicating to record the metrics of the engine and expose them as a JMX MBean. See
+     * {@link com.jvosantos.games.gameoflife.metrics.EngineMetrics}
+     */
+    public static final String METRICS = "metrics";
+    /**
+     * CSV file where the metrics of the engine are written periodically, recording them even without the metrics flag.
+     * See {@link com.jvosantos.games.gameoflife.metrics.MetricsLog}
+     */
+    public static final String METRICS_LOG = "metrics-log";
+    /**
+     * Number of milliseconds between the rows of the metrics log.
+     */
+    public static final String MS_BETWEEN_METRICS = "ms-between-metrics";
+    /**
+     * Number of steps between the measures of the bounding box of the live cells by the metrics, 0 to only measure it
+     * on the seed.
+     */
+    public static final String STEPS_BETWEEN_BOUNDING_BOXES = "steps-between-bounding-boxes";
+    /**
+     * Number of random soups run by the batch mode, 0 to run a single game unless a batch directory is given. See
+     * {@link com.jvosantos.games.gameoflife.batch.BatchRunner}
+     */
+    public static final String BATCH_SOUPS = "batch-soups";
+    /**
+     * Directory whose pattern files, of the input pattern type, are run by the batch mode.
+     */
+    public static final String BATCH_DIRECTORY = "batch-directory";
+    /**
+     * CSV file where the batch mode writes the summary of each run.
+     */
+    public static final String BATCH_RESULTS = "batch-results";
+    /**
+     * Number of runs of the batch mode running at once.
+     */
+    public static final String BATCH_WORKERS = "batch-workers";
+    /**
+     * Size of the random soups of the batch mode, as WIDTHxHEIGHT. See {@link com.jvosantos.games.gameoflife.engine.Size}
+     */
+    public static final String SOUP_SIZE = "soup-size";
+    /**
+     * Probability of each cell of the random soups of the batch mode being alive.
+     */
+    public static final String SOUP_DENSITY = "soup-density";
+    /**
+     * Seed of the first random soup of the batch mode, each soup after it being seeded with the next number.
+     */
+    public static final String SOUP_SEED = "soup-seed";
 
     private static final String COMMAND_PREFIX = "--";
     private static final String DEFAULT_SETTINGS_FILE = "application.properties";
@@ -88,6 +184,21 @@ public class ApplicationSettings {
         properties.put(DEAD_CHARACTER, ' ');
         properties.put(INPUT_PATTERN, PatternType.BINARY);
         properties.put(MS_BETWEEN_GENERATIONS, 500L);
+        properties.put(PARALLELISM, Runtime.getRuntime().availableProcessors());
+        properties.put(RULE, Rule.CONWAY);
+        properties.put(CYCLE_HISTORY, 0);
+        properties.put(HEADLESS, false);
+        properties.put(FRAME_BUFFER, 0);
+        properties.put(DIFF, false);
+        properties.put(METRICS, false);
+        properties.put(MS_BETWEEN_METRICS, 1000L);
+        properties.put(STEPS_BETWEEN_BOUNDING_BOXES, 100);
+        properties.put(BATCH_SOUPS, 0);
+        properties.put(BATCH_RESULTS, "results.csv");
+        properties.put(BATCH_WORKERS, Runtime.getRuntime().availableProcessors());
+        properties.put(SOUP_SIZE, new Size(64, 64));
+        properties.put(SOUP_DENSITY, 0.5);
+        properties.put(SOUP_SEED, 0L);
 
         // override default settings from application file
         Path defaultSettingsFilePath = FileSystems.getDefault().getPath(DEFAULT_SETTINGS_FILE);
@@ -112,35 +223,86 @@ public class ApplicationSettings {
         }
     }
 
-    private void loadSettinsgFromProperties(Properties properties) {
-        for(String property : properties.stringPropertyNames()) {
+    private void loadSettinsgFromProperties(Properties settings) {
+        for(String property : settings.stringPropertyNames()) {
             switch (property) {
                 case MAX_GENERATIONS:
-                    properties.put(MAX_GENERATIONS, Integer.parseInt(properties.getProperty(property).trim()));
+                    properties.put(MAX_GENERATIONS, Integer.parseInt(settings.getProperty(property).trim()));
                     break;
                 case ENDLESS:
-                    properties.put(ENDLESS, Boolean.parseBoolean(properties.getProperty(property).trim()));
+                    properties.put(ENDLESS, Boolean.parseBoolean(settings.getProperty(property).trim()));
                     break;
                 case PATTERN:
-                    properties.put(PATTERN, LifePatterns.valueOf(properties.getProperty(property).trim()));
+                    properties.put(PATTERN, LifePatterns.valueOf(settings.getProperty(property).trim()));
                     break;
                 case MODE:
-                    properties.put(MODE, GameMode.valueOf(properties.getProperty(property).trim()));
+                    properties.put(MODE, GameMode.valueOf(settings.getProperty(property).trim()));
                     break;
                 case ALIVE_CHARACTER:
-                    properties.put(ALIVE_CHARACTER, properties.getProperty(property).charAt(0));
+                    properties.put(ALIVE_CHARACTER, settings.getProperty(property).charAt(0));
                     break;
                 case DEAD_CHARACTER:
-                    properties.put(DEAD_CHARACTER, properties.getProperty(property).charAt(0));
+                    properties.put(DEAD_CHARACTER, settings.getProperty(property).charAt(0));
                     break;
                 case INPUT_PATTERN:
-                    properties.put(INPUT_PATTERN, PatternType.valueOf(properties.getProperty(property).trim()));
+                    properties.put(INPUT_PATTERN, PatternType.valueOf(settings.getProperty(property).trim()));
                     break;
                 case PATTERN_FILE:
-                    properties.put(PATTERN_FILE, properties.getProperty(property).trim());
+                    properties.put(PATTERN_FILE, settings.getProperty(property).trim());
                     break;
                 case MS_BETWEEN_GENERATIONS:
-                    properties.put(MS_BETWEEN_GENERATIONS, Long.valueOf(properties.getProperty(property).trim()));
+                    properties.put(MS_BETWEEN_GENERATIONS, Long.valueOf(settings.getProperty(property).trim()));
+                    break;
+                case PARALLELISM:
+                    properties.put(PARALLELISM, Integer.parseInt(settings.getProperty(property).trim()));
+                    break;
+                case RULE:
+                    properties.put(RULE, Rule.parse(settings.getProperty(property)));
+                    break;
+                case CYCLE_HISTORY:
+                    properties.put(CYCLE_HISTORY, Integer.parseInt(settings.getProperty(property).trim()));
+                    break;
+                case HEADLESS:
+                    properties.put(HEADLESS, Boolean.parseBoolean(settings.getProperty(property).trim()));
+                    break;
+                case FRAME_BUFFER:
+                    properties.put(FRAME_BUFFER, Integer.parseInt(settings.getProperty(property).trim()));
+                    break;
+                case DIFF:
+                    properties.put(DIFF, Boolean.parseBoolean(settings.getProperty(property).trim()));
+                    break;
+                case METRICS:
+                    properties.put(METRICS, Boolean.parseBoolean(settings.getProperty(property).trim()));
+                    break;
+                case METRICS_LOG:
+                    properties.put(METRICS_LOG, settings.getProperty(property).trim());
+                    break;
+                case MS_BETWEEN_METRICS:
+                    properties.put(MS_BETWEEN_METRICS, Long.valueOf(settings.getProperty(property).trim()));
+                    break;
+                case STEPS_BETWEEN_BOUNDING_BOXES:
+                    properties.put(STEPS_BETWEEN_BOUNDING_BOXES, Integer.parseInt(settings.getProperty(property).trim()));
+                    break;
+                case BATCH_SOUPS:
+                    properties.put(BATCH_SOUPS, Integer.parseInt(settings.getProperty(property).trim()));
+                    break;
+                case BATCH_DIRECTORY:
+                    properties.put(BATCH_DIRECTORY, settings.getProperty(property).trim());
+                    break;
+                case BATCH_RESULTS:
+                    properties.put(BATCH_RESULTS, settings.getProperty(property).trim());
+                    break;
+                case BATCH_WORKERS:
+                    properties.put(BATCH_WORKERS, Integer.parseInt(settings.getProperty(property).trim()));
+                    break;
+                case SOUP_SIZE:
+                    properties.put(SOUP_SIZE, parseSize(settings.getProperty(property).trim()));
+                    break;
+                case SOUP_DENSITY:
+                    properties.put(SOUP_DENSITY, Double.valueOf(settings.getProperty(property).trim()));
+                    break;
+                case SOUP_SEED:
+                    properties.put(SOUP_SEED, Long.valueOf(settings.getProperty(property).trim()));
                     break;
                 default:
                     System.err.printf("Ignoring unknown property %s", property);
@@ -195,6 +357,74 @@ public class ApplicationSettings {
                     case COMMAND_PREFIX + MS_BETWEEN_GENERATIONS:
                         properties.put(MS_BETWEEN_GENERATIONS, Long.valueOf(settings[++i]));
                         break;
+                    case PARALLELISM:
+                    case COMMAND_PREFIX + PARALLELISM:
+                        properties.put(PARALLELISM, Integer.parseInt(settings[++i]));
+                        break;
+                    case RULE:
+                    case COMMAND_PREFIX + RULE:
+                        properties.put(RULE, Rule.parse(settings[++i]));
+                        break;
+                    case CYCLE_HISTORY:
+                    case COMMAND_PREFIX + CYCLE_HISTORY:
+                        properties.put(CYCLE_HISTORY, Integer.parseInt(settings[++i]));
+                        break;
+                    case HEADLESS:
+                    case COMMAND_PREFIX + HEADLESS:
+                        properties.put(HEADLESS, true);
+                        break;
+                    case FRAME_BUFFER:
+                    case COMMAND_PREFIX + FRAME_BUFFER:
+                        properties.put(FRAME_BUFFER, Integer.parseInt(settings[++i]));
+                        break;
+                    case DIFF:
+                    case COMMAND_PREFIX + DIFF:
+                        properties.put(DIFF, true);
+                        break;
+                    case METRICS:
+                    case COMMAND_PREFIX + METRICS:
+                        properties.put(METRICS, true);
+                        break;
+                    case METRICS_LOG:
+                    case COMMAND_PREFIX + METRICS_LOG:
+                        properties.put(METRICS_LOG, settings[++i]);
+                        break;
+                    case MS_BETWEEN_METRICS:
+                    case COMMAND_PREFIX + MS_BETWEEN_METRICS:
+                        properties.put(MS_BETWEEN_METRICS, Long.valueOf(settings[++i]));
+                        break;
+                    case STEPS_BETWEEN_BOUNDING_BOXES:
+                    case COMMAND_PREFIX + STEPS_BETWEEN_BOUNDING_BOXES:
+                        properties.put(STEPS_BETWEEN_BOUNDING_BOXES, Integer.parseInt(settings[++i]));
+                        break;
+                    case BATCH_SOUPS:
+                    case COMMAND_PREFIX + BATCH_SOUPS:
+                        properties.put(BATCH_SOUPS, Integer.parseInt(settings[++i]));
+                        break;
+                    case BATCH_DIRECTORY:
+                    case COMMAND_PREFIX + BATCH_DIRECTORY:
+                        properties.put(BATCH_DIRECTORY, settings[++i]);
+                        break;
+                    case BATCH_RESULTS:
+                    case COMMAND_PREFIX + BATCH_RESULTS:
+                        properties.put(BATCH_RESULTS, settings[++i]);
+                        break;
+                    case BATCH_WORKERS:
+                    case COMMAND_PREFIX + BATCH_WORKERS:
+                        properties.put(BATCH_WORKERS, Integer.parseInt(settings[++i]));
+                        break;
+                    case SOUP_SIZE:
+                    case COMMAND_PREFIX + SOUP_SIZE:
+                        properties.put(SOUP_SIZE, parseSize(settings[++i]));
+                        break;
+                    case SOUP_DENSITY:
+                    case COMMAND_PREFIX + SOUP_DENSITY:
+                        properties.put(SOUP_DENSITY, Double.valueOf(settings[++i]));
+                        break;
+                    case SOUP_SEED:
+                    case COMMAND_PREFIX + SOUP_SEED:
+                        properties.put(SOUP_SEED, Long.valueOf(settings[++i]));
+                        break;
                     case "--help":
                         ConsoleInterface.printHelp();
                         System.exit(0);
@@ -210,6 +440,23 @@ public class ApplicationSettings {
         }
     }
 
+    /**
+     * Parses a size given as WIDTHxHEIGHT, e.g. 64x64.
+     *
+     * @param size The size to be parsed.
+     * @return the parsed size.
+     * @throws NumberFormatException if the size isn't two numbers separated by an x.
+     */
+    private static Size parseSize(String size) {
+        int separator = size.toLowerCase().indexOf('x');
+        if (separator < 0) {
+            throw new NumberFormatException("Size \"" + size + "\" must be given as WIDTHxHEIGHT.");
+        }
+
+        return new Size(Integer.parseInt(size.substring(0, separator).trim()),
+            Integer.parseInt(size.substring(separator + 1).trim()));
+    }
+
     /**
      * Checks if a given property is defined.
      *
@@ -1,11 +1,20 @@
 package com.jvosantos.games.gameoflife.settings;
 
 /**
- * Type of patterns available for parsing input patterns.
- * Currently only one defined, BINARY, expecting dead cells as 0 as live cells as 1.
+ * Type of patterns available for parsing input patterns:
+ * <ul>
+ * <li>BINARY, expecting dead cells as 0 as live cells as 1;</li>
+ * <li>PLAINTEXT, expecting dead cells as '.' and live cells as 'O', with comment lines starting with '!';</li>
+ * <li>RLE, the run length encoded format with a "x = width, y = height" header;</li>
+ * <li>LIFE_106, one line per live cell with its column and row.</li>
+ * </ul>
+ * Files of every type are streamed by the parsers of {@link com.jvosantos.games.gameoflife.patterns.PatternFile}.
  *
  * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
  */
 public enum PatternType {
-    BINARY
+    BINARY,
+    PLAINTEXT,
+    RLE,
+    LIFE_106
 }
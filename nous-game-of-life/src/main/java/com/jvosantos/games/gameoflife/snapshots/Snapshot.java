@@ -0,0 +1,567 @@
+package com.jvosantos.games.gameoflife.snapshots;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.engine.Rule;
+import com.jvosantos.games.gameoflife.utils.ChannelReader;
+import com.jvosantos.games.gameoflife.utils.ChannelWriter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A checkpoint of a running game of life in a compact binary format, so long runs can be paused and resumed.
+ * <p>
+ * A snapshot starts with a header holding the magic bytes "GOLS", the version of the format, the encoding of the
+ * cells, the rule in B/S notation, the generation counter, the size of the board and the number of live cells. Numbers
+ * are written little endian. The live cells follow in one of two encodings:
+ * <ul>
+ * <li>{@link Encoding#SPARSE}, the live cells sorted by row and then by column, each written as the distance to the
+ * previous cell in a variable number of bytes, 7 bits at a time. Cells next to each other take a single byte;</li>
+ * <li>{@link Encoding#DENSE}, every row of the board bit packed into longs, the cell on column x on bit x % 64 of word
+ * x / 64.</li>
+ * </ul>
+ * The sparse encoding is used when it takes fewer bytes, which is when less than one in eight cells is alive, and for
+ * worlds without boundaries, whose live cells can be anywhere and not only on the board.
+ * <p>
+ * Sorting the live cells of a sparse snapshot holds them in memory, 8 bytes each, so worlds with more than about four
+ * million live cells are sorted and written one band of rows at a time, visiting the world once per band.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public final class Snapshot {
+
+    /**
+     * Encodings of the live cells of a snapshot.
+     */
+    public enum Encoding {
+        SPARSE,
+        DENSE
+    }
+
+    /**
+     * The bytes "GOLS" read as a little endian integer.
+     */
+    private static final int MAGIC = 0x534C4F47;
+    private static final int VERSION = 1;
+    private static final int WORD_SIZE = Long.SIZE;
+    /**
+     * Largest number of live cells held in memory at once while saving a sparse snapshot, taking 8 bytes each.
+     */
+    static final int BAND_CELLS = 1 << 22;
+    /**
+     * Number of ranges of rows whose live cells are counted when planning the bands of a sparse snapshot.
+     */
+    private static final int BAND_BUCKETS = 1024;
+
+    private final long generation;
+    private final Rule rule;
+    private final int width;
+    private final int height;
+    private final long population;
+    private final Encoding encoding;
+
+    private Snapshot(long generation, Rule rule, int width, int height, long population, Encoding encoding) {
+        this.generation = generation;
+        this.rule = rule;
+        this.width = width;
+        this.height = height;
+        this.population = population;
+        this.encoding = encoding;
+    }
+
+    /**
+     * Saves the current generation of an engine to a channel. The channel is left open.
+     *
+     * @param engine     The engine to be saved.
+     * @param generation The number of generations the engine advanced since it was seeded.
+     * @param channel    The channel where the snapshot is written.
+     * @return the header of the saved snapshot.
+     * @throws IOException if the channel can't be written.
+     */
+    public static Snapshot save(GameEngine engine, long generation, WritableByteChannel channel) throws IOException {
+        return save(engine, generation, channel, BAND_CELLS);
+    }
+
+    /**
+     * Saves the current generation of an engine to a channel, holding at most the given number of live cells in memory
+     * at once, unless a single row has more.
+     */
+    static Snapshot save(GameEngine engine, long generation, WritableByteChannel channel, int bandCells)
+        throws IOException {
+        Board board = engine.getBoard();
+        long population = board.getPopulation();
+        long denseBytes = (long) board.getHeight() * words(board.getWidth()) * Long.BYTES;
+        Encoding encoding = (!engine.hasBoundaries() || population < denseBytes) ? Encoding.SPARSE : Encoding.DENSE;
+
+        Snapshot snapshot =
+            new Snapshot(generation, engine.getRule(), board.getWidth(), board.getHeight(), population, encoding);
+        ChannelWriter writer = new ChannelWriter(channel);
+
+        snapshot.writeHeader(writer);
+        if (encoding == Encoding.SPARSE) {
+            writeSparseCells(engine, population, writer, bandCells);
+        } else {
+            writeDenseCells(board, writer);
+        }
+        writer.flush();
+
+        return snapshot;
+    }
+
+    /**
+     * Restores an engine from a snapshot read from a channel, setting its rule and seeding it with the live cells of
+     * the snapshot. The channel is read through a buffer, so bytes after the end of the snapshot may be consumed as
+     * well, and it is left open.
+     *
+     * @param engine  The engine to be restored.
+     * @param channel The channel where the snapshot is read from.
+     * @return the header of the restored snapshot, with the generation counter to resume from.
+     * @throws IOException              if the channel can't be read or doesn't hold a valid snapshot.
+     * @throws IllegalArgumentException if the engine can't run the rule of the snapshot, or if the snapshot has live
+     *                                  cells outside of the board and the engine has boundaries.
+     */
+    public static Snapshot restore(GameEngine engine, ReadableByteChannel channel) throws IOException {
+        ChannelReader reader = new ChannelReader(channel);
+        Snapshot snapshot = readHeader(reader);
+
+        engine.setRule(snapshot.rule);
+        try {
+            engine.seed(snapshot.new Cells(reader, engine.hasBoundaries()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Gets the number of generations the engine advanced since it was seeded when it was saved.
+     *
+     * @return the generation counter.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the rule of the engine.
+     *
+     * @return the rule.
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Gets the number of columns of the board.
+     *
+     * @return the width of the board.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows of the board.
+     *
+     * @return the height of the board.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the number of live cells of the world.
+     *
+     * @return the population.
+     */
+    public long getPopulation() {
+        return population;
+    }
+
+    /**
+     * Gets the encoding of the live cells.
+     *
+     * @return the encoding.
+     */
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    private void writeHeader(ChannelWriter writer) throws IOException {
+        byte[] notation = rule.toString().getBytes(StandardCharsets.US_ASCII);
+
+        writeInt(writer, MAGIC);
+        writer.write(VERSION);
+        writer.write(encoding.ordinal());
+        writer.write(notation.length);
+        for (byte character : notation) {
+            writer.write(character);
+        }
+        writeLong(writer, generation);
+        writeInt(writer, width);
+        writeInt(writer, height);
+        writeLong(writer, population);
+    }
+
+    private static Snapshot readHeader(ChannelReader reader) throws IOException {
+        if (readInt(reader) != MAGIC) {
+            throw new StreamCorruptedException("Not a game of life snapshot.");
+        }
+
+        int version = readByte(reader);
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported snapshot version " + version + ".");
+        }
+
+        int encoding = readByte(reader);
+        if (encoding >= Encoding.values().length) {
+            throw new StreamCorruptedException("Unknown snapshot encoding " + encoding + ".");
+        }
+
+        byte[] notation = new byte[readByte(reader)];
+        for (int i = 0; i < notation.length; i++) {
+            notation[i] = (byte) readByte(reader);
+        }
+
+        Rule rule;
+        try {
+            rule = Rule.parse(new String(notation, StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+
+        long generation = readLong(reader);
+        int width = readInt(reader);
+        int height = readInt(reader);
+        long population = readLong(reader);
+
+        if (width < 0 || height < 0 || population < 0) {
+            throw new StreamCorruptedException("Snapshot has a negative size or population.");
+        }
+
+        return new Snapshot(generation, rule, width, height, population, Encoding.values()[encoding]);
+    }
+
+    /**
+     * Writes the live cells of the whole world, sorted by row and column, as the distances between their keys.
+     */
+    private static void writeSparseCells(GameEngine engine, long population, ChannelWriter writer, int bandCells)
+        throws IOException {
+        SparseCells cells = new SparseCells(engine, writer, (int) Math.min(population, bandCells));
+
+        if (population <= bandCells) {
+            cells.writeBand(Integer.MIN_VALUE, Integer.MAX_VALUE + 1L, population);
+            return;
+        }
+
+        // the first and last rows with live cells, and the number of live cells
+        long[] rows = {Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+        engine.forEachLiveCell((x, y) -> {
+            rows[0] = Math.min(rows[0], y);
+            rows[1] = Math.max(rows[1], y);
+            rows[2]++;
+        });
+
+        if (rows[2] != population) {
+            throw new IllegalStateException("World has " + rows[2] + " live cells instead of its population.");
+        }
+
+        cells.writeBands(rows[0], rows[1] + 1, population, bandCells);
+    }
+
+    /**
+     * Writes every row of the board bit packed.
+     */
+    private static void writeDenseCells(Board board, ChannelWriter writer) throws IOException {
+        int[] row = new int[board.getWidth()];
+        long[] packed = new long[words(board.getWidth())];
+
+        for (int y = 0; y < board.getHeight(); y++) {
+            board.readRow(y, row);
+
+            Arrays.fill(packed, 0);
+            for (int x = 0; x < row.length; x++) {
+                packed[x / WORD_SIZE] |= (long) row[x] << (x % WORD_SIZE);
+            }
+
+            for (long word : packed) {
+                writeLong(writer, word);
+            }
+        }
+    }
+
+    /**
+     * Gets the key of a cell, ordered by row and then by column. The column is moved into the range of an unsigned
+     * integer, so that the keys of a row are ordered like its columns.
+     */
+    private static long key(int x, int y) {
+        return ((long) y << 32) | ((x ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static int words(int width) {
+        return (width + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    private static void writeInt(ChannelWriter writer, int value) throws IOException {
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            writer.write(value >>> shift);
+        }
+    }
+
+    private static void writeLong(ChannelWriter writer, long value) throws IOException {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            writer.write((int) (value >>> shift));
+        }
+    }
+
+    /**
+     * Writes an unsigned long 7 bits at a time, the highest bit of each byte telling if more bytes follow.
+     */
+    private static void writeVarLong(ChannelWriter writer, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            writer.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writer.write((int) value);
+    }
+
+    private static int readByte(ChannelReader reader) throws IOException {
+        int value = reader.read();
+
+        if (value == ChannelReader.END) {
+            throw new EOFException("Snapshot ended unexpectedly.");
+        }
+
+        return value;
+    }
+
+    private static int readInt(ChannelReader reader) throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            value |= readByte(reader) << shift;
+        }
+
+        return value;
+    }
+
+    private static long readLong(ChannelReader reader) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            value |= (long) readByte(reader) << shift;
+        }
+
+        return value;
+    }
+
+    private static long readVarLong(ChannelReader reader) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int next = readByte(reader);
+            value |= (long) (next & 0x7F) << shift;
+
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new StreamCorruptedException("Snapshot has a malformed cell.");
+    }
+
+    /**
+     * Writer of the live cells of a world without holding all of them at once. The rows of the world are split into
+     * bands of at most a given number of live cells, and the cells of each band are gathered, sorted and written before
+     * the next band is gathered, so only the cells of a band are held in memory. The bands are planned from the number
+     * of live cells on each range of rows, and every band visits the whole world to gather its cells, so a world is
+     * visited once per band and twice more for each level of planning.
+     */
+    private static final class SparseCells {
+        private final GameEngine engine;
+        private final ChannelWriter writer;
+        private long[] keys;
+        private int count;
+        private long previous;
+
+        private SparseCells(GameEngine engine, ChannelWriter writer, int bandCells) {
+            this.engine = engine;
+            this.writer = writer;
+            keys = new long[bandCells];
+        }
+
+        /**
+         * Writes the live cells of the given rows, splitting them into bands of at most the given number of cells. The
+         * rows are split into {@link #BAND_BUCKETS} ranges, counting the cells of each range, and consecutive ranges are
+         * gathered into the same band while they fit. A range that doesn't fit on its own is split again, down to
+         * single rows, which are written whatever their number of cells.
+         *
+         * @param fromRow   The first row, inclusive.
+         * @param toRow     The last row, exclusive.
+         * @param cells     The number of live cells of the rows.
+         * @param bandCells The largest number of cells of a band.
+         */
+        private void writeBands(long fromRow, long toRow, long cells, int bandCells) throws IOException {
+            if (cells <= bandCells || toRow - fromRow == 1) {
+                writeBand(fromRow, toRow, cells);
+                return;
+            }
+
+            long bucketRows = (toRow - fromRow + BAND_BUCKETS - 1) / BAND_BUCKETS;
+            long[] counts = new long[(int) ((toRow - fromRow + bucketRows - 1) / bucketRows)];
+            engine.forEachLiveCell((x, y) -> {
+                if (y >= fromRow && y < toRow) {
+                    counts[(int) ((y - fromRow) / bucketRows)]++;
+                }
+            });
+
+            long bandStart = fromRow;
+            long bandCount = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                long bucketStart = fromRow + bucket * bucketRows;
+
+                if (bandCount > 0 && bandCount + counts[bucket] > bandCells) {
+                    writeBand(bandStart, bucketStart, bandCount);
+                    bandStart = bucketStart;
+                    bandCount = 0;
+                }
+
+                if (counts[bucket] > bandCells) {
+                    writeBands(bucketStart, Math.min(bucketStart + bucketRows, toRow), counts[bucket], bandCells);
+                    bandStart = bucketStart + bucketRows;
+                } else {
+                    bandCount += counts[bucket];
+                }
+            }
+
+            if (bandCount > 0) {
+                writeBand(bandStart, toRow, bandCount);
+            }
+        }
+
+        /**
+         * Gathers, sorts and writes the live cells of the given rows.
+         *
+         * @param fromRow The first row, inclusive.
+         * @param toRow   The last row, exclusive.
+         * @param cells   The number of live cells of the rows.
+         */
+        private void writeBand(long fromRow, long toRow, long cells) throws IOException {
+            if (cells > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("World has too many live cells on a row to be sorted.");
+            }
+            if (cells > keys.length) {
+                keys = new long[(int) cells];
+            }
+
+            count = 0;
+            engine.forEachLiveCell((x, y) -> {
+                if (y >= fromRow && y < toRow) {
+                    if (count == cells) {
+                        throw new IllegalStateException("World has more live cells than its population.");
+                    }
+                    keys[count++] = key(x, y);
+                }
+            });
+
+            if (count != cells) {
+                throw new IllegalStateException("World has less live cells than its population.");
+            }
+
+            Arrays.sort(keys, 0, count);
+
+            for (int i = 0; i < count; i++) {
+                writeVarLong(writer, keys[i] - previous);
+                previous = keys[i];
+            }
+        }
+    }
+
+    /**
+     * The live cells of a snapshot, decoded straight from the channel as the engine is seeded. The cells can only be
+     * visited once.
+     */
+    private final class Cells implements Pattern {
+        private final ChannelReader reader;
+        private final boolean boundaries;
+        private boolean visited;
+
+        private Cells(ChannelReader reader, boolean boundaries) {
+            this.reader = reader;
+            this.boundaries = boundaries;
+        }
+
+        @Override public int getWidth() {
+            return width;
+        }
+
+        @Override public int getHeight() {
+            return height;
+        }
+
+        @Override public void forEachLiveCell(Board.CellConsumer consumer) {
+            if (visited) {
+                throw new IllegalStateException("Cells of a snapshot can only be visited once.");
+            }
+            visited = true;
+
+            try {
+                if (encoding == Encoding.SPARSE) {
+                    readSparseCells(consumer);
+                } else {
+                    readDenseCells(consumer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void readSparseCells(Board.CellConsumer consumer) throws IOException {
+            long key = 0;
+
+            for (long cell = 0; cell < population; cell++) {
+                key += readVarLong(reader);
+
+                int x = (int) key ^ Integer.MIN_VALUE;
+                int y = (int) (key >> 32);
+
+                if (boundaries && (x < 0 || x >= width || y < 0 || y >= height)) {
+                    throw new IllegalArgumentException(
+                        "Cell (" + x + ", " + y + ") is outside of the board of an engine with boundaries.");
+                }
+                consumer.accept(x, y);
+            }
+        }
+
+        private void readDenseCells(Board.CellConsumer consumer) throws IOException {
+            long cells = 0;
+
+            for (int y = 0; y < height; y++) {
+                for (int w = 0; w < words(width); w++) {
+                    for (long word = readLong(reader); word != 0; word &= word - 1) {
+                        int x = w * WORD_SIZE + Long.numberOfTrailingZeros(word);
+
+                        if (x >= width) {
+                            throw new StreamCorruptedException("Snapshot has a cell outside of its board.");
+                        }
+                        consumer.accept(x, y);
+                        cells++;
+                    }
+                }
+            }
+
+            if (cells != population) {
+                throw new StreamCorruptedException("Snapshot has " + cells + " live cells instead of " + population + ".");
+            }
+        }
+    }
+}
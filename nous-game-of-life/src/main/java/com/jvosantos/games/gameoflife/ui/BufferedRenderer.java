@@ -0,0 +1,144 @@
+package com.jvosantos.games.gameoflife.ui;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.CellState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Renders boards as text, building each frame in a reusable buffer and writing it in one go.
+ * <p>
+ * In diff mode, the first frame clears the terminal and draws the whole board, and every frame after it only redraws
+ * the cells that changed since the frame before, moving the cursor to them with ANSI escape sequences. The cursor is
+ * left below the board, so anything printed between frames shows up after it. A board of a different size is drawn
+ * again from scratch.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class BufferedRenderer implements Renderer {
+
+    private static final String HEADER = "============  Game of life  ============";
+    private static final String ESCAPE = "\u001B[";
+    private static final String CLEAR_SCREEN = ESCAPE + "2J" + ESCAPE + "H";
+    private static final String NEW_LINE = System.lineSeparator();
+
+    private final Writer out;
+    private final char aliveCharacter;
+    private final char deadCharacter;
+    private final boolean diff;
+
+    /**
+     * Text of the frame being rendered, copied into the characters written out.
+     */
+    private final StringBuilder frame = new StringBuilder();
+    private char[] characters = new char[0];
+    private int[] row = new int[0];
+
+    /**
+     * Cells on the terminal, in diff mode, or null before the first frame.
+     */
+    private int[][] shown;
+
+    /**
+     * Creates a new renderer.
+     *
+     * @param out            The writer receiving the frames.
+     * @param aliveCharacter The character of live cells.
+     * @param deadCharacter  The character of dead cells.
+     * @param diff           True to only redraw the changed cells after the first frame, false to draw every frame
+     *                       in full.
+     */
+    public BufferedRenderer(Writer out, char aliveCharacter, char deadCharacter, boolean diff) {
+        this.out = out;
+        this.aliveCharacter = aliveCharacter;
+        this.deadCharacter = deadCharacter;
+        this.diff = diff;
+    }
+
+    /**
+     * Renders a board, writing and flushing the whole frame at once.
+     *
+     * @param board The board with the generation to be shown.
+     * @throws UncheckedIOException if the frame can't be written.
+     */
+    @Override public void render(Board board) {
+        frame.setLength(0);
+        if (row.length < board.getWidth()) {
+            row = new int[board.getWidth()];
+        }
+
+        if (!diff) {
+            appendBoard(board);
+        } else if (shown == null || shown.length != board.getHeight()
+            || (shown.length > 0 && shown[0].length != board.getWidth())) {
+            shown = new int[board.getHeight()][board.getWidth()];
+            frame.append(CLEAR_SCREEN);
+            appendBoard(board);
+        } else {
+            appendChanges(board);
+        }
+
+        if (characters.length < frame.length()) {
+            characters = new char[frame.capacity()];
+        }
+        frame.getChars(0, frame.length(), characters, 0);
+
+        try {
+            out.write(characters, 0, frame.length());
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends the header and every row of the board, keeping the shown cells in diff mode.
+     */
+    private void appendBoard(Board board) {
+        frame.append(HEADER).append(NEW_LINE);
+
+        for (int y = 0; y < board.getHeight(); y++) {
+            board.readRow(y, row);
+
+            for (int x = 0; x < board.getWidth(); x++) {
+                frame.append(character(row[x]));
+            }
+            frame.append(NEW_LINE);
+
+            if (shown != null) {
+                System.arraycopy(row, 0, shown[y], 0, board.getWidth());
+            }
+        }
+    }
+
+    /**
+     * Appends the cells that changed since the last frame, moving the cursor before each run of changed cells, and
+     * moves the cursor below the board.
+     */
+    private void appendChanges(Board board) {
+        for (int y = 0; y < board.getHeight(); y++) {
+            board.readRow(y, row);
+            int cursor = -1;
+
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (row[x] != shown[y][x]) {
+                    // the header is on the first line of the terminal, and lines and columns are counted from 1
+                    if (x != cursor) {
+                        frame.append(ESCAPE).append(y + 2).append(';').append(x + 1).append('H');
+                    }
+                    frame.append(character(row[x]));
+                    shown[y][x] = row[x];
+                    cursor = x + 1;
+                }
+            }
+        }
+
+        frame.append(ESCAPE).append(board.getHeight() + 2).append(";1H");
+    }
+
+    private char character(int cell) {
+        return (cell == CellState.ALIVE.ordinal()) ? aliveCharacter : deadCharacter;
+    }
+}
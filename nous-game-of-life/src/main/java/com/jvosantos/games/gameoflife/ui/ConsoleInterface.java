@@ -1,8 +1,11 @@
 package com.jvosantos.games.gameoflife.ui;
 
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.CycleDetector;
 import com.jvosantos.games.gameoflife.engine.GameMode;
 import com.jvosantos.games.gameoflife.engine.LifePatterns;
 
+import java.io.OutputStreamWriter;
 import java.util.Arrays;
 
 /**
@@ -14,6 +17,7 @@ public class ConsoleInterface {
 
     private char deadCharacter;
     private char aliveCharacter;
+    private final BufferedRenderer renderer;
 
     /**
      * Create a new console interface with '#' for live cells and ' ' for dead cells.
@@ -28,8 +32,20 @@ public class ConsoleInterface {
      * @param deadCharacter
      */
     public ConsoleInterface(char aliveCharacter, char deadCharacter) {
+        this(aliveCharacter, deadCharacter, false);
+    }
+
+    /**
+     * Create a new console interface with the given characters for live and dead cells, printing boards in full or
+     * only redrawing the cells that changed since the last board.
+     * @param aliveCharacter
+     * @param deadCharacter
+     * @param diff true to only redraw the changed cells, with ANSI escape sequences, after the first board.
+     */
+    public ConsoleInterface(char aliveCharacter, char deadCharacter, boolean diff) {
         this.aliveCharacter = aliveCharacter;
         this.deadCharacter = deadCharacter;
+        this.renderer = new BufferedRenderer(new OutputStreamWriter(System.out), aliveCharacter, deadCharacter, diff);
     }
 
     /**
@@ -37,13 +53,45 @@ public class ConsoleInterface {
      * @param board an integer bidimensional array where 0 represents the dead cells and 1 the live cells.
      */
     public void printBoard(int[][] board) {
-        System.out.println("============  Game of life  ============");
+        StringBuilder frame = new StringBuilder("============  Game of life  ============").append(System.lineSeparator());
         Arrays.stream(board).forEach(ints -> {
-            Arrays.stream(ints)
-                .forEach(i -> System.out.print(i == 0 ? deadCharacter : aliveCharacter));
-            System.out.println();
+            Arrays.stream(ints).forEach(i -> frame.append(i == 0 ? deadCharacter : aliveCharacter));
+            frame.append(System.lineSeparator());
         });
 
+        System.out.print(frame);
+        System.out.flush();
+    }
+
+    /**
+     * Prints the given board to the console, reading it row by row without copying it into a frame written at once.
+     * @param board a view over the cells of a world.
+     * @see com.jvosantos.games.gameoflife.ui.BufferedRenderer
+     */
+    public void printBoard(Board board) {
+        renderer.render(board);
+    }
+
+    /**
+     * Prints how a world evolves once it stops evolving.
+     * @param generation the generation from which the world repeats itself, see {@link CycleDetector#getCycleStart()}.
+     * @param detector the detector that found it.
+     */
+    public void printStability(long generation, CycleDetector detector) {
+        switch (detector.getStability()) {
+            case EMPTY:
+                System.out.printf("Generation %d: the world is empty.%n", generation);
+                break;
+            case STATIC:
+                System.out.printf("Generation %d: the world is static.%n", generation);
+                break;
+            case PERIODIC:
+                System.out.printf("Generation %d: the world is periodic with period %d.%n", generation,
+                    detector.getPeriod());
+                break;
+            default:
+                break;
+        }
     }
 
     /**
@@ -63,22 +111,87 @@ public class ConsoleInterface {
             Arrays.toString(LifePatterns.values()));
 
         System.out.printf(
-            "  --mode <MODE>                      \tDefines the implementation to be used. Possible implementations: %s, %s.%n",
-            GameMode.CONSTRAINED.toString(), GameMode.ENDLESS.toString());
+            "  --mode <MODE>                      \tDefines the implementation to be used. Possible implementations: %s.%n",
+            Arrays.toString(GameMode.values()));
         System.out.printf(
             "                                     \t\t %s - Cells live in a constrained world, meaning they cannot grow outside of the defined world.%n",
             GameMode.CONSTRAINED.toString());
         System.out.printf(
             "                                     \t\t %s - Cells live in a endless world, meaning they can grow in all directions without any limit.%n",
             GameMode.ENDLESS.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, with each row kept as a bitset and 64 cells calculated at a time.%n",
+            GameMode.BITPACKED.toString(), GameMode.CONSTRAINED.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, calculated with the HashLife algorithm.%n",
+            GameMode.HASHLIFE.toString(), GameMode.ENDLESS.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, with each generation calculated by several workers.%n",
+            GameMode.PARALLEL.toString(), GameMode.BITPACKED.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, with live cells kept in primitive hash tables.%n",
+            GameMode.SPARSE.toString(), GameMode.ENDLESS.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, with a branch free kernel compiled into SIMD instructions where available.%n",
+            GameMode.VECTORIZED.toString(), GameMode.CONSTRAINED.toString());
+        System.out.printf(
+            "                                     \t\t %s - Cells live in a finite world whose edges wrap around, leaving through one edge and coming back through the opposite one.%n",
+            GameMode.TORUS.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, kept in memory mapped files for worlds larger than the memory of the JVM.%n",
+            GameMode.MAPPED.toString(), GameMode.CONSTRAINED.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, with its hash tables kept outside of the heap of the JVM.%n",
+            GameMode.OFFHEAP.toString(), GameMode.SPARSE.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, with bit packed rows on a grid growing and shrinking with the live cells.%n",
+            GameMode.GROWING.toString(), GameMode.ENDLESS.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, split into strips calculated by worker JVMs exchanging their edge rows.%n",
+            GameMode.DISTRIBUTED.toString(), GameMode.CONSTRAINED.toString());
+        System.out.printf(
+            "                                     \t\t %s - Same world as %s, advancing cache sized tiles several generations at once when running headless.%n",
+            GameMode.TEMPORAL.toString(), GameMode.BITPACKED.toString());
+        System.out.println(
+            "  --parallelism <NUMBER>             \tNumber of workers used to calculate each generation in PARALLEL mode, or number of worker JVMs in DISTRIBUTED mode. Defaults to the number of available processors.");
+        System.out.println(
+            "  --rule <RULE>                      \tRule in B/S notation, e.g. B3/S23 for conway's game of life, B36/S23 for HighLife or B3678/S34678 for Day & Night. Rules with birth on 0 neighbours need a world with boundaries.");
+        System.out.println(
+            "  --cycle-history <NUMBER>           \tNumber of generations remembered to detect empty, static and periodic worlds, stopping early or skipping to the last generation once detected. Defaults to 0, never detecting them.");
+        System.out.println(
+            "  --headless                         \tOnly print the last generation, calculating the ones before it without reading them. Ignored when running endlessly.");
+        System.out.println(
+            "  --frame-buffer <NUMBER>            \tNumber of generations waiting to be printed by a renderer thread, letting the engine run at full speed and dropping the oldest generations when the console falls behind. Defaults to 0, printing on the thread of the engine.");
+        System.out.println(
+            "  --diff                             \tOnly redraw the cells that changed since the last printed generation, moving the cursor with ANSI escape sequences. Needs a terminal taller than the board.");
+        System.out.println(
+            "  --metrics                          \tRecord the generation, population, births and deaths, bounding box, step latencies and allocated bytes of the engine, exposed as a JMX MBean.");
+        System.out.println(
+            "  --metrics-log <FILE>               \tCSV file where the metrics of the engine are written periodically, recording them even without --metrics.");
+        System.out.println(
+            "  --ms-between-metrics <NUMBER>      \tNumber of milliseconds between the rows of the metrics log. Defaults to 1000.");
+        System.out.println(
+            "  --batch-soups <NUMBER>             \tRun this many random soups without printing them, writing the summary of each run to the batch results file. Defaults to 0, running a single game.");
+        System.out.println(
+            "  --batch-directory <DIRECTORY>      \tRun every pattern file of the directory, of the type given by --input-pattern, without printing them, like --batch-soups.");
+        System.out.println(
+            "  --batch-results <FILE>             \tCSV file with the initial and final population, stable generation and period of each batch run. Defaults to results.csv.");
+        System.out.println(
+            "  --batch-workers <NUMBER>           \tNumber of batch runs running at once, on virtual threads where available. Defaults to the number of available processors.");
+        System.out.println(
+            "  --soup-size <WIDTHxHEIGHT>         \tSize of the random soups of the batch runs. Defaults to 64x64.");
+        System.out.println(
+            "  --soup-density <NUMBER>            \tProbability of each cell of the random soups being alive, from 0 to 1. Defaults to 0.5.");
+        System.out.println(
+            "  --soup-seed <NUMBER>               \tSeed of the first random soup, each soup after it being seeded with the next number. Defaults to 0.");
         System.out.println(
             "  --alive-character <CHARACTER>      \tCharacter to be used when printing live cells.");
         System.out.println(
             "  --dead-character <CHARACTER>       \tCharacter to be used when printing dead cells.");
         System.out.println(
-            "  --input-pattern <PATTERN_TYPE>     \tType of pattern used in pattern file to define initial seed. Currently, the only pattern available is BINARY, meaning 0 represents dead cells and 1 live cells.");
+            "  --input-pattern <PATTERN_TYPE>     \tType of pattern used in pattern file to define initial seed. One of BINARY (0 for dead cells and 1 for live cells), PLAINTEXT (. for dead cells and O for live cells), RLE (run length encoded) or LIFE_106 (one line per live cell with its column and row).");
         System.out.println(
-            "  --pattern-file <FILE>              \tFile with initial feed. File is expected to contain a a rectangular matrix with 0 for dead cells and 1 for live cells. No space between cells and each line contains a row of the matrix.");
+            "  --pattern-file <FILE>              \tFile with initial feed. File is expected to contain a pattern of the type given by --input-pattern. The file is streamed into the engine, so patterns larger than the memory of the JVM can seed the MAPPED mode.");
     }
 
 }
@@ -0,0 +1,70 @@
+package com.jvosantos.games.gameoflife.ui;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.CellState;
+
+/**
+ * A copy of a generation, handed from the engine to a renderer running on another thread.
+ * <p>
+ * Frames are reused, so the rows are only allocated again when a board of a different size is copied.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class Frame implements Board {
+
+    private int[][] cells = new int[0][0];
+    private int width;
+    private int height;
+    private long population;
+    private long generation;
+
+    /**
+     * Copies a board into the frame, replacing the generation it held.
+     *
+     * @param board      The board to be copied.
+     * @param generation The generation of the board.
+     */
+    public void copy(Board board, long generation) {
+        if (board.getHeight() != height || board.getWidth() != width) {
+            width = board.getWidth();
+            height = board.getHeight();
+            cells = new int[height][width];
+        }
+
+        for (int y = 0; y < height; y++) {
+            board.readRow(y, cells[y]);
+        }
+
+        population = board.getPopulation();
+        this.generation = generation;
+    }
+
+    /**
+     * Gets the generation held by the frame.
+     *
+     * @return the generation of the copied board.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override public int getWidth() {
+        return width;
+    }
+
+    @Override public int getHeight() {
+        return height;
+    }
+
+    @Override public boolean isAlive(int x, int y) {
+        return cells[y][x] == CellState.ALIVE.ordinal();
+    }
+
+    @Override public long getPopulation() {
+        return population;
+    }
+
+    @Override public void readRow(int y, int[] row) {
+        System.arraycopy(cells[y], 0, row, 0, width);
+    }
+}
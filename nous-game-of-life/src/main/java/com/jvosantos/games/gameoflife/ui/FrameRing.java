@@ -0,0 +1,127 @@
+package com.jvosantos.games.gameoflife.ui;
+
+/**
+ * A bounded ring of frames passed from a single producer, the engine, to a single consumer, the renderer.
+ * <p>
+ * The producer never waits: when the ring is full, the oldest frame is dropped to make room for the new one, so a
+ * renderer falling behind skips generations instead of slowing the engine down. Besides the frames in the ring, one
+ * frame can be held by the producer while it is written and one by the consumer while it is rendered, and every frame is
+ * allocated when the ring is created and recycled from then on.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class FrameRing {
+
+    /**
+     * Frames published and not yet taken, oldest first from head.
+     */
+    private final Frame[] published;
+    private int head;
+    private int count;
+
+    /**
+     * Frames neither published nor held, used as a stack.
+     */
+    private final Frame[] free;
+    private int freeCount;
+
+    private long dropped;
+    private boolean closed;
+
+    /**
+     * Creates a new ring holding up to the given number of frames.
+     *
+     * @param capacity The number of published frames kept before dropping the oldest one.
+     */
+    public FrameRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring must hold at least one frame.");
+        }
+
+        published = new Frame[capacity];
+        // the ring, plus the frames held by the producer and by the consumer
+        free = new Frame[capacity + 2];
+        for (int i = 0; i < free.length; i++) {
+            free[i] = new Frame();
+        }
+        freeCount = free.length;
+    }
+
+    /**
+     * Gets a frame for the producer to write, without waiting. There is always a free frame, since the ring never
+     * holds more than its capacity.
+     *
+     * @return a frame to be written and published.
+     */
+    public synchronized Frame claim() {
+        return free[--freeCount];
+    }
+
+    /**
+     * Publishes a written frame, dropping the oldest published frame when the ring is full.
+     *
+     * @param frame The frame claimed and written by the producer.
+     */
+    public synchronized void publish(Frame frame) {
+        if (count == published.length) {
+            free[freeCount++] = published[head];
+            published[head] = null;
+            head = (head + 1) % published.length;
+            count--;
+            dropped++;
+        }
+
+        published[(head + count) % published.length] = frame;
+        count++;
+        notifyAll();
+    }
+
+    /**
+     * Takes the oldest published frame, waiting for one to be published.
+     *
+     * @return the oldest published frame, or null once the ring is closed and every frame was taken.
+     * @throws InterruptedException if the consumer is interrupted while waiting.
+     */
+    public synchronized Frame take() throws InterruptedException {
+        while (count == 0 && !closed) {
+            wait();
+        }
+
+        if (count == 0) {
+            return null;
+        }
+
+        Frame frame = published[head];
+        published[head] = null;
+        head = (head + 1) % published.length;
+        count--;
+
+        return frame;
+    }
+
+    /**
+     * Gives back a frame taken and rendered by the consumer, so the producer can write it again.
+     *
+     * @param frame The frame taken by the consumer.
+     */
+    public synchronized void release(Frame frame) {
+        free[freeCount++] = frame;
+    }
+
+    /**
+     * Closes the ring. The frames already published can still be taken, after which the consumer gets null.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    /**
+     * Gets the number of frames dropped because the consumer fell behind.
+     *
+     * @return the number of dropped frames.
+     */
+    public synchronized long getDroppedFrames() {
+        return dropped;
+    }
+}
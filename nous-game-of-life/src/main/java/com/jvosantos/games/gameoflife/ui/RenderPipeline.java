@@ -0,0 +1,89 @@
+package com.jvosantos.games.gameoflife.ui;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+
+/**
+ * Renders generations on a thread of its own, so the engine never waits for the console.
+ * <p>
+ * The engine copies each generation into a {@link com.jvosantos.games.gameoflife.ui.FrameRing} and moves on, while the
+ * renderer thread takes the frames one by one, waiting the given time after each one. When the renderer falls behind,
+ * the oldest frames in the ring are dropped, so it keeps showing recent generations while the engine runs at full
+ * speed.
+ * <p>
+ * The renderer thread is a daemon thread, so a pipeline that is never closed, e.g. when the engine fails, doesn't keep
+ * the JVM running.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class RenderPipeline implements AutoCloseable {
+
+    private final FrameRing ring;
+    private final Renderer renderer;
+    private final long msBetweenFrames;
+    private final Thread thread;
+
+    /**
+     * Creates a new render pipeline and starts its daemon renderer thread.
+     *
+     * @param renderer        The renderer showing the frames.
+     * @param capacity        The number of frames waiting to be rendered before the oldest one is dropped.
+     * @param msBetweenFrames The number of milliseconds to wait after rendering each frame.
+     */
+    public RenderPipeline(Renderer renderer, int capacity, long msBetweenFrames) {
+        this.ring = new FrameRing(capacity);
+        this.renderer = renderer;
+        this.msBetweenFrames = msBetweenFrames;
+        this.thread = new Thread(this::render, "game-of-life-renderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Copies a generation into the pipeline, to be rendered later on. Never waits for the renderer.
+     *
+     * @param board      The board with the generation.
+     * @param generation The generation of the board.
+     */
+    public void offer(Board board, long generation) {
+        Frame frame = ring.claim();
+        frame.copy(board, generation);
+        ring.publish(frame);
+    }
+
+    /**
+     * Gets the number of generations offered and never rendered because the renderer fell behind.
+     *
+     * @return the number of dropped frames.
+     */
+    public long getDroppedFrames() {
+        return ring.getDroppedFrames();
+    }
+
+    /**
+     * Stops taking new generations and waits for the renderer to render the ones left in the pipeline. When
+     * interrupted while waiting, returns at once with the interrupt status of the calling thread set, leaving the
+     * generations left to the daemon renderer thread.
+     */
+    @Override
+    public void close() {
+        ring.close();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void render() {
+        try {
+            for (Frame frame = ring.take(); frame != null; frame = ring.take()) {
+                renderer.render(frame);
+                ring.release(frame);
+
+                Thread.sleep(msBetweenFrames);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
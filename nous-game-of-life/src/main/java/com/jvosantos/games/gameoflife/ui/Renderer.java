@@ -0,0 +1,19 @@
+package com.jvosantos.games.gameoflife.ui;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+
+/**
+ * Shows the generations of a world, one board at a time.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+@FunctionalInterface
+public interface Renderer {
+
+    /**
+     * Shows a generation. The board may change once this method returns, so it must not be kept.
+     *
+     * @param board The board with the generation to be shown.
+     */
+    void render(Board board);
+}
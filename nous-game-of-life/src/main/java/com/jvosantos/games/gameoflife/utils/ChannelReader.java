@@ -0,0 +1,90 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the bytes of a channel one at a time through a reusable direct buffer, so files of any size are read with a
+ * constant amount of memory.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class ChannelReader implements Closeable {
+
+    /**
+     * Value returned when the end of the channel is reached.
+     */
+    public static final int END = -1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long position;
+
+    /**
+     * Creates a new reader of the given channel.
+     *
+     * @param channel The channel to be read.
+     */
+    public ChannelReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.flip();
+    }
+
+    /**
+     * Opens a reader of the given file.
+     *
+     * @param file The file to be read.
+     * @return a reader positioned on the first byte of the file.
+     * @throws IOException if the file can't be opened.
+     */
+    public static ChannelReader open(Path file) throws IOException {
+        return new ChannelReader(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    /**
+     * Reads the next byte of the channel.
+     *
+     * @return the next byte, from 0 to 255, or {@link #END} if the end of the channel was reached.
+     * @throws IOException if the channel can't be read.
+     */
+    public int read() throws IOException {
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+
+            buffer.flip();
+            if (read < 0) {
+                return END;
+            }
+        }
+
+        position++;
+
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Gets the number of bytes read so far.
+     *
+     * @return the position of the next byte.
+     */
+    public long position() {
+        return position;
+    }
+
+    @Override public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,81 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes bytes to a channel one at a time through a reusable direct buffer, so data of any size is written with a
+ * constant amount of memory and a single system call for every buffer full of bytes.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class ChannelWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long position;
+
+    /**
+     * Creates a new writer to the given channel.
+     *
+     * @param channel The channel to be written.
+     */
+    public ChannelWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a byte, sending the buffer to the channel when it is full.
+     *
+     * @param value The byte to be written, only its lowest 8 bits are used.
+     * @throws IOException if the channel can't be written.
+     */
+    public void write(int value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+
+        buffer.put((byte) value);
+        position++;
+    }
+
+    /**
+     * Sends every buffered byte to the channel.
+     *
+     * @throws IOException if the channel can't be written.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Gets the number of bytes written so far.
+     *
+     * @return the position of the next byte.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Sends every buffered byte to the channel and closes it.
+     *
+     * @throws IOException if the channel can't be written or closed.
+     */
+    @Override public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
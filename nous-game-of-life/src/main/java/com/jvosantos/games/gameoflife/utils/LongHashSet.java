@@ -0,0 +1,100 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive longs backed by an open addressing hash table with linear probing.
+ * <p>
+ * Keys are kept in a single array, so adding, checking, removing and clearing don't allocate memory unless the table
+ * has to grow.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class LongHashSet extends LongHashTable implements LongSet {
+
+    private long[] keys;
+
+    /**
+     * Creates a new empty set.
+     */
+    public LongHashSet() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty set able to hold the given number of keys without growing.
+     *
+     * @param expectedSize The number of keys the set is expected to hold.
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    @Override public boolean add(long key) {
+        checkKey(key);
+
+        int slot = find(key);
+
+        if (slot >= 0) {
+            return false;
+        }
+
+        keys[~slot] = key;
+        added();
+
+        return true;
+    }
+
+    @Override public boolean contains(long key) {
+        return find(key) >= 0;
+    }
+
+    @Override public boolean remove(long key) {
+        int slot = find(key);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        removeAt(slot);
+
+        return true;
+    }
+
+    @Override public void clear() {
+        if (size() > 0) {
+            Arrays.fill(keys, NO_KEY);
+            cleared();
+        }
+    }
+
+    @Override public long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    @Override void move(int from, int to) {
+        keys[to] = keys[from];
+    }
+
+    @Override void empty(int slot) {
+        keys[slot] = NO_KEY;
+    }
+
+    @Override void rehash(int tableSize) {
+        long[] oldKeys = keys;
+
+        allocate(tableSize);
+
+        for (long key : oldKeys) {
+            if (key != NO_KEY) {
+                keys[freeSlotOf(key)] = key;
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        resize(tableSize);
+        keys = new long[tableSize];
+        Arrays.fill(keys, NO_KEY);
+    }
+}
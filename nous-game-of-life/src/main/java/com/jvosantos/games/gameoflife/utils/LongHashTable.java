@@ -0,0 +1,174 @@
+package com.jvosantos.games.gameoflife.utils;
+
+/**
+ * An open addressing hash table of long keys with linear probing, shared by the sets and maps whatever the memory
+ * behind their slots. Subclasses only read and write the slots of their own table.
+ * <p>
+ * Empty slots hold {@link LongSet#NO_KEY}. Removed keys are filled in by shifting back the keys probed after them, so
+ * no tombstone is needed, and the table doubles once more than half of it is used.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+abstract class LongHashTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Largest table, so that slots can be indexed by ints.
+     */
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Gets the number of keys in the table.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of slots of the table, to be used when iterating it.
+     *
+     * @return the number of slots.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Checks if a slot of the table holds a key.
+     *
+     * @param slot The slot to be checked.
+     * @return True if the slot holds a key, false otherwise.
+     */
+    public boolean isUsed(int slot) {
+        return keyAt(slot) != LongSet.NO_KEY;
+    }
+
+    /**
+     * Gets the key held by a slot of the table.
+     *
+     * @param slot The slot holding the key.
+     * @return the key, or {@link LongSet#NO_KEY} if the slot is empty.
+     */
+    public abstract long keyAt(int slot);
+
+    /**
+     * Moves the key, and its value if any, held by a slot into another slot.
+     */
+    abstract void move(int from, int to);
+
+    /**
+     * Empties a slot.
+     */
+    abstract void empty(int slot);
+
+    /**
+     * Replaces the table by a new one of the given size holding the same keys, placed with {@link #freeSlotOf(long)}.
+     */
+    abstract void rehash(int tableSize);
+
+    /**
+     * Finds the slot of a key.
+     *
+     * @param key The key to be found.
+     * @return the slot holding the key, or the complement of the empty slot where it would be added.
+     */
+    final int find(long key) {
+        int slot = slotOf(key);
+
+        for (long slotKey = keyAt(slot); slotKey != LongSet.NO_KEY; slotKey = keyAt(slot)) {
+            if (slotKey == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return ~slot;
+    }
+
+    /**
+     * Counts a key added to the empty slot found for it, growing the table if it is now more than half used.
+     */
+    final void added() {
+        if (++size > resizeThreshold) {
+            rehash(capacity() * 2);
+        }
+    }
+
+    /**
+     * Removes the key held by a slot. The keys probed after it are shifted back into the emptied slot when their own
+     * slot comes before it, so that no key is left unreachable.
+     */
+    final void removeAt(int gap) {
+        for (int slot = (gap + 1) & mask; isUsed(slot); slot = (slot + 1) & mask) {
+            // a key can move back into the gap when the gap is between its own slot and the slot holding it
+            if (((slot - slotOf(keyAt(slot))) & mask) >= ((slot - gap) & mask)) {
+                move(slot, gap);
+                gap = slot;
+            }
+        }
+
+        empty(gap);
+        size--;
+    }
+
+    /**
+     * Forgets every key once the subclass emptied every slot.
+     */
+    final void cleared() {
+        size = 0;
+    }
+
+    /**
+     * Gets the empty slot where a key is placed while rehashing, when the key is known not to be in the table.
+     */
+    final int freeSlotOf(long key) {
+        int slot = slotOf(key);
+
+        while (isUsed(slot)) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Sets the size of the table the subclass is about to allocate.
+     *
+     * @throws IllegalStateException if the table is too large for its slots to be indexed by ints.
+     */
+    final void resize(int tableSize) {
+        if (tableSize <= 0 || tableSize > MAX_TABLE_SIZE) {
+            throw new IllegalStateException("Table can't hold more than " + MAX_TABLE_SIZE / 2 + " keys.");
+        }
+
+        mask = tableSize - 1;
+        resizeThreshold = tableSize / 2;
+    }
+
+    static void checkKey(long key) {
+        if (key == LongSet.NO_KEY) {
+            throw new IllegalArgumentException("Key " + LongSet.NO_KEY + " is reserved.");
+        }
+    }
+
+    /**
+     * Gets the smallest power of two table able to hold the given number of keys.
+     */
+    static int tableSizeFor(int expectedSize) {
+        int tableSize = DEFAULT_CAPACITY;
+        while (tableSize / 2 < expectedSize) {
+            tableSize *= 2;
+        }
+        return tableSize;
+    }
+
+    private int slotOf(long key) {
+        return Utils.mix(key) & mask;
+    }
+}
@@ -0,0 +1,103 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import java.util.Arrays;
+
+/**
+ * A map of primitive long keys to primitive int values backed by an open addressing hash table with linear probing.
+ * <p>
+ * Like {@link com.jvosantos.games.gameoflife.utils.LongHashSet}, it keeps its keys and values in arrays and doesn't
+ * allocate memory unless the table has to grow.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class LongIntHashMap extends LongHashTable implements LongIntMap {
+
+    private static final long NO_KEY = LongSet.NO_KEY;
+
+    private long[] keys;
+    private int[] values;
+
+    /**
+     * Creates a new empty map.
+     */
+    public LongIntHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty map able to hold the given number of keys without growing.
+     *
+     * @param expectedSize The number of keys the map is expected to hold.
+     */
+    public LongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    @Override public int addTo(long key, int delta) {
+        checkKey(key);
+
+        int slot = find(key);
+
+        if (slot >= 0) {
+            return values[slot] += delta;
+        }
+
+        keys[~slot] = key;
+        values[~slot] = delta;
+        added();
+
+        return delta;
+    }
+
+    @Override public int get(long key) {
+        int slot = find(key);
+
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    @Override public void clear() {
+        if (size() > 0) {
+            Arrays.fill(keys, NO_KEY);
+            cleared();
+        }
+    }
+
+    @Override public long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    @Override public int valueAt(int slot) {
+        return values[slot];
+    }
+
+    @Override void move(int from, int to) {
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    @Override void empty(int slot) {
+        keys[slot] = NO_KEY;
+    }
+
+    @Override void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        allocate(tableSize);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != NO_KEY) {
+                int slot = freeSlotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        resize(tableSize);
+        keys = new long[tableSize];
+        values = new int[tableSize];
+        Arrays.fill(keys, NO_KEY);
+    }
+}
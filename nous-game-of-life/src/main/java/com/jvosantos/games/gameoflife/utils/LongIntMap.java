@@ -0,0 +1,71 @@
+package com.jvosantos.games.gameoflife.utils;
+
+/**
+ * A map of primitive long keys to primitive int values, iterated through the slots of its table like a
+ * {@link com.jvosantos.games.gameoflife.utils.LongSet}. Missing keys have the value 0 and {@link LongSet#NO_KEY} can't
+ * be used as a key.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public interface LongIntMap {
+
+    /**
+     * Adds a value to the value of a key, adding the key to the map if it isn't there yet.
+     *
+     * @param key   The key whose value is incremented.
+     * @param delta The value to be added.
+     * @return the new value of the key.
+     */
+    int addTo(long key, int delta);
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key whose value is fetched.
+     * @return the value of the key, or 0 if the key isn't in the map.
+     */
+    int get(long key);
+
+    /**
+     * Removes every key from the map, keeping the allocated table.
+     */
+    void clear();
+
+    /**
+     * Gets the number of keys in the map.
+     *
+     * @return the number of keys.
+     */
+    int size();
+
+    /**
+     * Gets the number of slots of the table, to be used when iterating the map.
+     *
+     * @return the number of slots.
+     */
+    int capacity();
+
+    /**
+     * Checks if a slot of the table holds a key.
+     *
+     * @param slot The slot to be checked.
+     * @return True if the slot holds a key, false otherwise.
+     */
+    boolean isUsed(int slot);
+
+    /**
+     * Gets the key held by a slot of the table.
+     *
+     * @param slot The slot holding the key.
+     * @return the key, or {@link LongSet#NO_KEY} if the slot is empty.
+     */
+    long keyAt(int slot);
+
+    /**
+     * Gets the value held by a slot of the table.
+     *
+     * @param slot The slot holding the value.
+     * @return the value, meaningless if the slot is empty.
+     */
+    int valueAt(int slot);
+}
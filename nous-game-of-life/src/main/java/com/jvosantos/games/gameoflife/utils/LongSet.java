@@ -0,0 +1,81 @@
+package com.jvosantos.games.gameoflife.utils;
+
+/**
+ * A set of primitive longs iterated through the slots of its table:
+ * <pre>
+ * for (int slot = 0; slot &lt; set.capacity(); slot++) {
+ *     if (set.isUsed(slot)) {
+ *         long key = set.keyAt(slot);
+ *     }
+ * }
+ * </pre>
+ * {@link #NO_KEY} marks empty slots and can't be added to the set.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public interface LongSet {
+
+    /**
+     * Value reserved to mark empty slots.
+     */
+    long NO_KEY = Long.MIN_VALUE;
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key The key to be added.
+     * @return True if the key wasn't in the set, false otherwise.
+     */
+    boolean add(long key);
+
+    /**
+     * Checks if a key is in the set.
+     *
+     * @param key The key to be checked.
+     * @return True if the key is in the set, false otherwise.
+     */
+    boolean contains(long key);
+
+    /**
+     * Removes a key from the set.
+     *
+     * @param key The key to be removed.
+     * @return True if the key was in the set, false otherwise.
+     */
+    boolean remove(long key);
+
+    /**
+     * Removes every key from the set, keeping the allocated table.
+     */
+    void clear();
+
+    /**
+     * Gets the number of keys in the set.
+     *
+     * @return the number of keys.
+     */
+    int size();
+
+    /**
+     * Gets the number of slots of the table, to be used when iterating the set.
+     *
+     * @return the number of slots.
+     */
+    int capacity();
+
+    /**
+     * Checks if a slot of the table holds a key.
+     *
+     * @param slot The slot to be checked.
+     * @return True if the slot holds a key, false otherwise.
+     */
+    boolean isUsed(int slot);
+
+    /**
+     * Gets the key held by a slot of the table.
+     *
+     * @param slot The slot holding the key.
+     * @return the key, or {@link #NO_KEY} if the slot is empty.
+     */
+    long keyAt(int slot);
+}
@@ -0,0 +1,114 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import java.io.Closeable;
+
+/**
+ * A set of primitive longs like {@link com.jvosantos.games.gameoflife.utils.LongHashSet}, with its hash table kept in
+ * {@link com.jvosantos.games.gameoflife.utils.OffHeapMemory} instead of the heap.
+ * <p>
+ * Keys are stored flipped by {@link LongSet#NO_KEY}, so that empty slots hold 0 and newly allocated tables need no
+ * filling. The table grows like the heap one, releasing the old table right away, and the whole table is released
+ * when the set is closed.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class OffHeapLongHashSet extends LongHashTable implements LongSet, Closeable {
+
+    private OffHeapMemory keys;
+
+    /**
+     * Creates a new empty set.
+     */
+    public OffHeapLongHashSet() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty set able to hold the given number of keys without growing.
+     *
+     * @param expectedSize The number of keys the set is expected to hold.
+     */
+    public OffHeapLongHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    @Override public boolean add(long key) {
+        checkKey(key);
+
+        int slot = find(key);
+
+        if (slot >= 0) {
+            return false;
+        }
+
+        keys.putLong((long) ~slot * Long.BYTES, key ^ NO_KEY);
+        added();
+
+        return true;
+    }
+
+    @Override public boolean contains(long key) {
+        return find(key) >= 0;
+    }
+
+    @Override public boolean remove(long key) {
+        int slot = find(key);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        removeAt(slot);
+
+        return true;
+    }
+
+    @Override public void clear() {
+        if (size() > 0) {
+            keys.clear();
+            cleared();
+        }
+    }
+
+    @Override public long keyAt(int slot) {
+        return keys.getLong((long) slot * Long.BYTES) ^ NO_KEY;
+    }
+
+    /**
+     * Releases the memory of the table. The set can't be used once closed.
+     */
+    @Override
+    public void close() {
+        keys.close();
+    }
+
+    @Override void move(int from, int to) {
+        keys.putLong((long) to * Long.BYTES, keys.getLong((long) from * Long.BYTES));
+    }
+
+    @Override void empty(int slot) {
+        keys.putLong((long) slot * Long.BYTES, 0);
+    }
+
+    @Override void rehash(int tableSize) {
+        OffHeapMemory oldKeys = keys;
+        long oldTableSize = oldKeys.size() / Long.BYTES;
+
+        allocate(tableSize);
+
+        for (long i = 0; i < oldTableSize; i++) {
+            long stored = oldKeys.getLong(i * Long.BYTES);
+
+            if (stored != 0) {
+                keys.putLong((long) freeSlotOf(stored ^ NO_KEY) * Long.BYTES, stored);
+            }
+        }
+
+        oldKeys.close();
+    }
+
+    private void allocate(int tableSize) {
+        resize(tableSize);
+        keys = new OffHeapMemory((long) tableSize * Long.BYTES);
+    }
+}
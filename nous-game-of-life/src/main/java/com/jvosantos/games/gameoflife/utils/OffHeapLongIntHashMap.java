@@ -0,0 +1,124 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import java.io.Closeable;
+
+/**
+ * A map of primitive long keys to primitive int values like
+ * {@link com.jvosantos.games.gameoflife.utils.LongIntHashMap}, with its hash table kept in
+ * {@link com.jvosantos.games.gameoflife.utils.OffHeapMemory} instead of the heap.
+ * <p>
+ * Keys are stored like in {@link com.jvosantos.games.gameoflife.utils.OffHeapLongHashSet}, followed by the values in
+ * the same block of memory, which is released when the map grows or is closed.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class OffHeapLongIntHashMap extends LongHashTable implements LongIntMap, Closeable {
+
+    private static final long NO_KEY = LongSet.NO_KEY;
+    private static final int SLOT_BYTES = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Keys of every slot, followed by the values of every slot.
+     */
+    private OffHeapMemory table;
+    private long valuesOffset;
+
+    /**
+     * Creates a new empty map.
+     */
+    public OffHeapLongIntHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty map able to hold the given number of keys without growing.
+     *
+     * @param expectedSize The number of keys the map is expected to hold.
+     */
+    public OffHeapLongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    @Override public int addTo(long key, int delta) {
+        checkKey(key);
+
+        int slot = find(key);
+
+        if (slot >= 0) {
+            int value = valueAt(slot) + delta;
+            table.putInt(valuesOffset + (long) slot * Integer.BYTES, value);
+            return value;
+        }
+
+        table.putLong((long) ~slot * Long.BYTES, key ^ NO_KEY);
+        table.putInt(valuesOffset + (long) ~slot * Integer.BYTES, delta);
+        added();
+
+        return delta;
+    }
+
+    @Override public int get(long key) {
+        int slot = find(key);
+
+        return slot >= 0 ? valueAt(slot) : 0;
+    }
+
+    @Override public void clear() {
+        if (size() > 0) {
+            table.clear();
+            cleared();
+        }
+    }
+
+    @Override public long keyAt(int slot) {
+        return table.getLong((long) slot * Long.BYTES) ^ NO_KEY;
+    }
+
+    @Override public int valueAt(int slot) {
+        return table.getInt(valuesOffset + (long) slot * Integer.BYTES);
+    }
+
+    /**
+     * Releases the memory of the table. The map can't be used once closed.
+     */
+    @Override
+    public void close() {
+        table.close();
+    }
+
+    @Override void move(int from, int to) {
+        table.putLong((long) to * Long.BYTES, table.getLong((long) from * Long.BYTES));
+        table.putInt(valuesOffset + (long) to * Integer.BYTES, valueAt(from));
+    }
+
+    @Override void empty(int slot) {
+        table.putLong((long) slot * Long.BYTES, 0);
+    }
+
+    @Override void rehash(int tableSize) {
+        OffHeapMemory oldTable = table;
+        long oldValuesOffset = valuesOffset;
+        long oldTableSize = oldValuesOffset / Long.BYTES;
+
+        allocate(tableSize);
+
+        for (long i = 0; i < oldTableSize; i++) {
+            long stored = oldTable.getLong(i * Long.BYTES);
+
+            if (stored != 0) {
+                int slot = freeSlotOf(stored ^ NO_KEY);
+                table.putLong((long) slot * Long.BYTES, stored);
+                table.putInt(valuesOffset + (long) slot * Integer.BYTES,
+                    oldTable.getInt(oldValuesOffset + i * Integer.BYTES));
+            }
+        }
+
+        oldTable.close();
+    }
+
+    private void allocate(int tableSize) {
+        resize(tableSize);
+        table = new OffHeapMemory((long) tableSize * SLOT_BYTES);
+        valuesOffset = (long) tableSize * Long.BYTES;
+    }
+}
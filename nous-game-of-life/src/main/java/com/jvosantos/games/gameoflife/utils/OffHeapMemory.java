@@ -0,0 +1,184 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import java.io.Closeable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A fixed size block of zeroed memory outside of the heap, made of direct byte buffers of at most 1 GB each so that a
+ * block can be larger than a single buffer.
+ * <p>
+ * The garbage collector only sees the few buffer objects, never the memory behind them, however large the block. The
+ * memory is released as soon as the block is closed, instead of whenever the garbage collector gets to the buffers,
+ * on JVMs exposing a way to do it. Accessing a closed block fails.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public final class OffHeapMemory implements Closeable {
+
+    private static final int PAGE_SHIFT = 30;
+    private static final long PAGE_MASK = (1L << PAGE_SHIFT) - 1;
+
+    /**
+     * Ways of releasing the memory of a direct buffer: {@code Unsafe.invokeCleaner} from Java 9 on, and the cleaner of
+     * the buffer on Java 8. Null when not available, leaving the memory to the garbage collector.
+     */
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+    private static final Method CLEANER;
+    private static final Method CLEAN;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        Method cleaner = null;
+        Method clean = null;
+
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            try {
+                cleaner = Class.forName("java.nio.DirectByteBuffer").getMethod("cleaner");
+                cleaner.setAccessible(true);
+                clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                cleaner = null;
+                clean = null;
+            }
+        }
+
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+        CLEANER = cleaner;
+        CLEAN = clean;
+    }
+
+    private ByteBuffer[] pages;
+    private final long size;
+
+    /**
+     * Allocates a new block of zeroed memory.
+     *
+     * @param size The number of bytes of the block.
+     */
+    public OffHeapMemory(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Memory size can't be negative.");
+        }
+
+        this.size = size;
+        pages = new ByteBuffer[(int) ((size + PAGE_MASK) >>> PAGE_SHIFT)];
+
+        for (int i = 0; i < pages.length; i++) {
+            long pageSize = Math.min(size - ((long) i << PAGE_SHIFT), 1L << PAGE_SHIFT);
+            pages[i] = ByteBuffer.allocateDirect((int) pageSize).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Gets the number of bytes of the block.
+     *
+     * @return the size of the block.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Reads the long at the given offset, which must be a multiple of 8 so that it doesn't span two pages.
+     *
+     * @param offset The offset of the long in bytes.
+     * @return the long at the offset.
+     */
+    public long getLong(long offset) {
+        return pages[(int) (offset >>> PAGE_SHIFT)].getLong((int) (offset & PAGE_MASK));
+    }
+
+    /**
+     * Writes a long at the given offset, which must be a multiple of 8 so that it doesn't span two pages.
+     *
+     * @param offset The offset of the long in bytes.
+     * @param value  The long to be written.
+     */
+    public void putLong(long offset, long value) {
+        pages[(int) (offset >>> PAGE_SHIFT)].putLong((int) (offset & PAGE_MASK), value);
+    }
+
+    /**
+     * Reads the int at the given offset, which must be a multiple of 4 so that it doesn't span two pages.
+     *
+     * @param offset The offset of the int in bytes.
+     * @return the int at the offset.
+     */
+    public int getInt(long offset) {
+        return pages[(int) (offset >>> PAGE_SHIFT)].getInt((int) (offset & PAGE_MASK));
+    }
+
+    /**
+     * Writes an int at the given offset, which must be a multiple of 4 so that it doesn't span two pages.
+     *
+     * @param offset The offset of the int in bytes.
+     * @param value  The int to be written.
+     */
+    public void putInt(long offset, int value) {
+        pages[(int) (offset >>> PAGE_SHIFT)].putInt((int) (offset & PAGE_MASK), value);
+    }
+
+    /**
+     * Zeroes the whole block.
+     */
+    public void clear() {
+        for (ByteBuffer page : pages) {
+            int longs = page.capacity() / Long.BYTES;
+            for (int i = 0; i < longs; i++) {
+                page.putLong(i * Long.BYTES, 0);
+            }
+            for (int i = longs * Long.BYTES; i < page.capacity(); i++) {
+                page.put(i, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Releases the memory of the block. Closing a closed block does nothing.
+     */
+    @Override
+    public void close() {
+        if (pages == null) {
+            return;
+        }
+
+        for (ByteBuffer page : pages) {
+            free(page);
+        }
+        pages = null;
+    }
+
+    /**
+     * Releases the memory of a direct buffer right away, or unmaps it if it is a mapped buffer, on JVMs exposing a way
+     * to do it, instead of whenever the garbage collector gets to it. The buffer, and every view over it, must not be
+     * accessed afterwards.
+     *
+     * @param buffer The direct buffer, neither a slice nor a duplicate of another buffer.
+     */
+    public static void free(ByteBuffer buffer) {
+        try {
+            if (INVOKE_CLEANER != null) {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } else if (CLEANER != null) {
+                Object cleaner = CLEANER.invoke(buffer);
+                if (cleaner != null) {
+                    CLEAN.invoke(cleaner);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            // the buffer is released by the garbage collector instead
+        }
+    }
+}
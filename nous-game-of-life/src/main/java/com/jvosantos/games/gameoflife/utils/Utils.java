@@ -38,4 +38,15 @@ public class Utils {
 
         return max;
     }
+
+    /**
+     * Scrambles the bits of a long into an integer hash, so that keys differing only in a few bits, like neighbouring
+     * coordinates, are spread over a hash table.
+     * @param key The long to be hashed.
+     * @return An integer hash of the key.
+     */
+    public static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
 }
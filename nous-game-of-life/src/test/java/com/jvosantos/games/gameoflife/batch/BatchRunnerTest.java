@@ -0,0 +1,166 @@
+package com.jvosantos.games.gameoflife.batch;
+
+import com.jvosantos.games.gameoflife.engine.CycleDetector;
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameMode;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained;
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.engine.Rule;
+import com.jvosantos.games.gameoflife.settings.PatternType;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.batch.BatchRunner}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class BatchRunnerTest {
+
+    @org.junit.Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that the pattern files of a directory are run in a results file with a row for each of them, telling
+     * empty, static, periodic and still evolving worlds apart, with the generation where they stabilized, and that a
+     * file that can't be parsed only fails its own run.
+     */
+    @Test public void testDirectory() throws IOException, InterruptedException {
+        Path directory = folder.newFolder("patterns").toPath();
+        write(directory.resolve("blank.txt"), "000\n000\n");
+        write(directory.resolve("block.txt"), "0000\n0110\n0110\n0000\n");
+        write(directory.resolve("blinker.txt"), "000\n111\n000\n");
+        write(directory.resolve("dying.txt"), "00000\n01010\n00000\n");
+        write(directory.resolve("broken.txt"), "0O0\n");
+        // a glider on an endless world moves away forever
+        write(directory.resolve("glider.txt"), "010\n001\n111\n");
+        Path results = folder.getRoot().toPath().resolve("results.csv");
+
+        List<BatchSeed> seeds = BatchSeed.directory(directory, PatternType.BINARY);
+        new BatchRunner(GameMode.ENDLESS, Rule.CONWAY, 1, 51, 0, 3).run(seeds, results);
+
+        List<String> lines = Files.readAllLines(results);
+        Assert.assertEquals(RunSummary.HEADER, lines.get(0));
+        Assert.assertEquals(seeds.size() + 1, lines.size());
+
+        Map<String, String[]> rows = new HashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] row = line.split(",", -1);
+            Assert.assertEquals(11, row.length);
+            rows.put(row[0], row);
+        }
+
+        assertRow(rows.get("blank.txt"), "0", "0", "EMPTY", "0", "1");
+        assertRow(rows.get("block.txt"), "4", "4", "STATIC", "0", "1");
+        assertRow(rows.get("blinker.txt"), "3", "3", "PERIODIC", "0", "2");
+        assertRow(rows.get("dying.txt"), "2", "0", "EMPTY", "1", "1");
+        assertRow(rows.get("glider.txt"), "5", "5", "EVOLVING", "", "");
+        Assert.assertEquals("", rows.get("broken.txt")[6]);
+        Assert.assertFalse(rows.get("broken.txt")[10].isEmpty());
+    }
+
+    private static void assertRow(String[] row, String initialPopulation, String finalPopulation, String stability,
+        String stableGeneration, String period) {
+        Assert.assertEquals(row[0], initialPopulation, row[3]);
+        Assert.assertEquals(row[0], finalPopulation, row[4]);
+        Assert.assertEquals(row[0], "51", row[5]);
+        Assert.assertEquals(row[0], stability, row[6]);
+        Assert.assertEquals(row[0], stableGeneration, row[7]);
+        Assert.assertEquals(row[0], period, row[8]);
+        Assert.assertEquals(row[0], "", row[10]);
+    }
+
+    /**
+     * Tests that the final population of a world that stabilized before its last generation is the population of the
+     * last generation, skipping the whole periods left, and matches stepping every generation.
+     */
+    @Test public void testSoupsMatchSteppingEveryGeneration() throws InterruptedException {
+        List<BatchSeed> seeds = BatchSeed.soups(20, 16, 16, 0.4, 100);
+        List<RunSummary> summaries = new ArrayList<>();
+
+        new BatchRunner(GameMode.CONSTRAINED, Rule.CONWAY, 1, 301, 50, 4).run(seeds, summaries::add);
+
+        Assert.assertEquals(seeds.size(), summaries.size());
+        for (RunSummary summary : summaries) {
+            long seed = Long.parseLong(summary.getName().substring("soup-".length()));
+            GameEngine expected = new GameOfLifeConstrained();
+            expected.seed(new SoupPattern(16, 16, 0.4, seed));
+            expected.advance(301);
+
+            Assert.assertNull(summary.getError());
+            Assert.assertEquals(summary.getName(), expected.getBoard().getPopulation(), summary.getFinalPopulation());
+            if (summary.getStability() != CycleDetector.Stability.EVOLVING) {
+                Assert.assertTrue(summary.getStableGeneration() <= 301);
+                Assert.assertTrue(summary.getPeriod() > 0);
+            }
+        }
+    }
+
+    /**
+     * Tests that a soup is the same every time it is visited, and differs from the soup of another seed.
+     */
+    @Test public void testSoupsAreRepeatable() {
+        GameEngine first = new GameOfLifeConstrained();
+        GameEngine second = new GameOfLifeConstrained();
+        GameEngine other = new GameOfLifeConstrained();
+        SoupPattern soup = new SoupPattern(30, 20, 0.5, 7);
+
+        first.seed(soup);
+        second.seed(soup);
+        other.seed(new SoupPattern(30, 20, 0.5, 8));
+
+        Assert.assertArrayEquals(first.snapshot(), second.snapshot());
+        Assert.assertFalse(Arrays.deepEquals(first.snapshot(), other.snapshot()));
+        Assert.assertEquals(20, first.snapshot().length);
+        Assert.assertEquals(30, first.snapshot()[0].length);
+    }
+
+    /**
+     * Tests that runs are spread over the given number of workers, running at once.
+     */
+    @Test public void testWorkersRunAtOnce() throws InterruptedException {
+        int workers = 4;
+        CountDownLatch running = new CountDownLatch(workers);
+        List<BatchSeed> seeds = new ArrayList<>();
+
+        for (int i = 0; i < workers; i++) {
+            seeds.add(new BatchSeed() {
+                @Override public String getName() {
+                    return "waiting";
+                }
+
+                @Override public Pattern open() {
+                    running.countDown();
+                    try {
+                        // every run waits for the others, so they must all be running at once
+                        running.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new SoupPattern(8, 8, 0.5, 0);
+                }
+            });
+        }
+
+        List<RunSummary> summaries = new ArrayList<>();
+        new BatchRunner(GameMode.BITPACKED, Rule.CONWAY, 1, 10, 0, workers).run(seeds, summaries::add);
+
+        Assert.assertEquals(workers, summaries.size());
+        Assert.assertEquals(0, running.getCount());
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
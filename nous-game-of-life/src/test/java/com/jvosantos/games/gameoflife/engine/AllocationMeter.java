@@ -0,0 +1,47 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the memory allocated by the current thread, for tests checking that engines step without allocating.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+final class AllocationMeter {
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * Measures the bytes allocated by the current thread while stepping an engine, after stepping it as many times to
+     * let the engine grow its buffers and the JIT compile it. The test is skipped on JVMs unable to measure allocation.
+     *
+     * @param engine      The seeded engine.
+     * @param generations The number of generations to step.
+     * @return the number of bytes allocated while stepping, not counting the bytes allocated by the measure itself.
+     */
+    static long allocatedWhileStepping(GameEngine engine, int generations) {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long thread = Thread.currentThread().getId();
+
+        for (int generation = 0; generation < generations; generation++) {
+            engine.nextGeneration();
+        }
+
+        long start = threads.getThreadAllocatedBytes(thread);
+        long overhead = threads.getThreadAllocatedBytes(thread) - start;
+
+        start = threads.getThreadAllocatedBytes(thread);
+        for (int generation = 0; generation < generations; generation++) {
+            engine.nextGeneration();
+        }
+
+        return threads.getThreadAllocatedBytes(thread) - start - overhead;
+    }
+}
@@ -0,0 +1,181 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the {@link com.jvosantos.games.gameoflife.engine.Board} exposed by every
+ * {@link com.jvosantos.games.gameoflife.engine.GameMode}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+@RunWith(Parameterized.class)
+public class BoardTest {
+
+    private final GameMode mode;
+
+    public BoardTest(GameMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Provides every game mode as a parameter of the tests.
+     * @return the game modes.
+     */
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> modes() {
+        return Arrays.stream(GameMode.values()).map(mode -> new Object[] {mode})
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that every way of reading a board agrees with the bidimensional array returned by
+     * {@link net.nous.test.GameOfLife#next()} on an engine of the same mode.
+     */
+    @Test public void testBoardMatchesNext() {
+        GameEngine expected = GameEngineFactory.getEngine(mode, 2);
+        GameEngine actual = GameEngineFactory.getEngine(mode, 2);
+
+        expected.seed(LifePatterns.NOUS_OSCILLATOR.getPattern());
+        actual.seed(LifePatterns.NOUS_OSCILLATOR.getPattern());
+
+        for (int generation = 0; generation < 3; generation++) {
+            int[][] cells = expected.next();
+            actual.nextGeneration();
+            Board board = actual.getBoard();
+
+            Assert.assertEquals(cells.length, board.getHeight());
+            Assert.assertEquals(cells[0].length, board.getWidth());
+            Assert.assertArrayEquals(cells, board.toArray());
+            Assert.assertEquals(Arrays.stream(cells).flatMapToInt(Arrays::stream).sum(), board.getPopulation());
+
+            int[][] rows = new int[board.getHeight()][];
+            board.forEachRow((y, row) -> rows[y] = row.clone());
+            Assert.assertArrayEquals(cells, rows);
+
+            int[][] liveCells = new int[board.getHeight()][board.getWidth()];
+            board.forEachLiveCell((x, y) -> liveCells[y][x]++);
+            Assert.assertArrayEquals(cells, liveCells);
+
+            for (int y = 0; y < board.getHeight(); y++) {
+                for (int x = 0; x < board.getWidth(); x++) {
+                    Assert.assertEquals(cells[y][x] == 1, board.isAlive(x, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that seeding from the live cells of a pattern gives the same world as seeding from its bidimensional array.
+     */
+    @Test public void testSeedFromPatternMatchesSeedFromArray() {
+        int[][] cells = {{0, 1, 0, 0, 0}, {0, 0, 1, 0, 0}, {1, 1, 1, 0, 0}, {0, 0, 0, 0, 1}};
+        GameEngine expected = GameEngineFactory.getEngine(mode, 2);
+        GameEngine actual = GameEngineFactory.getEngine(mode, 2);
+
+        expected.seed(cells);
+        actual.seed(Pattern.of(cells));
+
+        Assert.assertArrayEquals(expected.getBoard().toArray(), actual.getBoard().toArray());
+        Assert.assertEquals(expected.getBoard().getPopulation(), actual.getBoard().getPopulation());
+
+        for (int generation = 0; generation < 4; generation++) {
+            expected.nextGeneration();
+            actual.nextGeneration();
+
+            Assert.assertArrayEquals(expected.getBoard().toArray(), actual.getBoard().toArray());
+        }
+    }
+
+    /**
+     * Tests that the hash kept by the engine as the world advances is the hash of its live cells, seeded from a
+     * bidimensional array and from a pattern.
+     */
+    @Test public void testWorldHashMatchesLiveCells() {
+        int[][] soup = RandomSoups.of(20, 37, 7);
+
+        GameEngine fromArray = GameEngineFactory.getEngine(mode, 2);
+        GameEngine fromPattern = GameEngineFactory.getEngine(mode, 2);
+
+        fromArray.seed(soup);
+        fromPattern.seed(Pattern.of(soup));
+
+        for (int generation = 0; generation < 20; generation++) {
+            Assert.assertEquals(WorldHash.of(fromArray), fromArray.getWorldHash());
+            Assert.assertEquals(fromArray.getWorldHash(), fromPattern.getWorldHash());
+
+            fromArray.nextGeneration();
+            fromPattern.nextGeneration();
+        }
+    }
+
+    /**
+     * Tests that advancing several generations at once and taking a snapshot gives the same world as calculating the
+     * generations one by one and reading the board.
+     */
+    @Test public void testAdvanceMatchesNextGeneration() {
+        GameEngine expected = GameEngineFactory.getEngine(mode, 2);
+        GameEngine actual = GameEngineFactory.getEngine(mode, 2);
+
+        expected.seed(LifePatterns.VOLDIAG.getPattern());
+        actual.seed(LifePatterns.VOLDIAG.getPattern());
+
+        for (int generations : new int[] {0, 1, 2, 5, 13}) {
+            for (int i = 0; i < generations; i++) {
+                expected.nextGeneration();
+            }
+            actual.advance(generations);
+
+            Assert.assertArrayEquals(expected.getBoard().toArray(), actual.snapshot());
+            Assert.assertEquals(expected.getWorldHash(), actual.getWorldHash());
+        }
+    }
+
+    /**
+     * Tests that changing the rule of a settled world changes its fate from the next generation on, like it does on
+     * the {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked} engine, even for the parts of the world an
+     * engine knows to be stable under the old rule.
+     */
+    @Test public void testRuleChangeMidRunMatchesBitPacked() {
+        // a block and a beehive, still lifes under the rule of Conway but not under B3/S2
+        int[][] cells = new int[12][12];
+        cells[3][3] = cells[3][4] = cells[4][3] = cells[4][4] = 1;
+        cells[7][6] = cells[7][7] = cells[8][5] = cells[8][8] = cells[9][6] = cells[9][7] = 1;
+        GameEngine expected = new GameOfLifeBitPacked();
+        GameEngine actual = GameEngineFactory.getEngine(mode, 2);
+
+        expected.seed(cells);
+        actual.seed(cells);
+        for (int generation = 0; generation < 3; generation++) {
+            expected.nextGeneration();
+            actual.nextGeneration();
+        }
+
+        expected.setRule(Rule.parse("B3/S2"));
+        actual.setRule(Rule.parse("B3/S2"));
+        for (int generation = 0; generation < 2; generation++) {
+            expected.nextGeneration();
+            actual.nextGeneration();
+
+            Assert.assertArrayEquals(expected.getBoard().toArray(), actual.getBoard().toArray());
+            Assert.assertEquals(expected.getBoard().getPopulation(), actual.getBoard().getPopulation());
+        }
+        Assert.assertNotEquals(10, actual.getBoard().getPopulation());
+    }
+
+    /**
+     * Tests that an engine refuses to advance a negative number of generations.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testAdvanceNegativeGenerations() {
+        GameEngine engine = GameEngineFactory.getEngine(mode, 2);
+
+        engine.seed(LifePatterns.BLINKER.getPattern());
+        engine.advance(-1);
+    }
+}
@@ -0,0 +1,138 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.CycleDetector}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class CycleDetectorTest {
+
+    /**
+     * Tests that a blinker, back to its seed on its second generation, is found periodic with period 2 once it is
+     * back to the same cells again on its fourth generation.
+     */
+    @Test public void testBlinkerIsPeriodic() {
+        GameEngine engine = new GameOfLifeConstrained();
+        engine.seed(LifePatterns.BLINKER.getPattern());
+        CycleDetector detector = new CycleDetector(8);
+
+        Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, 0));
+        engine.nextGeneration();
+        Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, 1));
+        engine.nextGeneration();
+        Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, 2));
+        engine.nextGeneration();
+        Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, 3));
+        engine.nextGeneration();
+        Assert.assertEquals(CycleDetector.Stability.PERIODIC, detector.observe(engine, 4));
+        Assert.assertEquals(2, detector.getPeriod());
+        Assert.assertEquals(0, detector.getCycleStart());
+
+        // 96 generations away from generation 4 is a whole number of periods
+        Assert.assertEquals(0, detector.remainingGenerations(4, 100));
+        Assert.assertEquals(1, detector.remainingGenerations(4, 101));
+    }
+
+    /**
+     * Tests that a block, the same on its first generation, is found static once it is the same again on its second
+     * generation.
+     */
+    @Test public void testBlockIsStatic() {
+        GameEngine engine = new GameOfLifeSparse();
+        engine.seed(new int[][] {{1, 1}, {1, 1}});
+        CycleDetector detector = new CycleDetector(8);
+
+        detector.observe(engine, 0);
+        engine.nextGeneration();
+        Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, 1));
+        engine.nextGeneration();
+
+        Assert.assertEquals(CycleDetector.Stability.STATIC, detector.observe(engine, 2));
+        Assert.assertEquals(1, detector.getPeriod());
+        Assert.assertEquals(0, detector.getCycleStart());
+    }
+
+    /**
+     * Tests that a world where every cell dies is found empty.
+     */
+    @Test public void testDyingWorldIsEmpty() {
+        GameEngine engine = new GameOfLifeHashLife();
+        engine.seed(new int[][] {{1, 0, 0}, {0, 0, 0}, {0, 0, 1}});
+        CycleDetector detector = new CycleDetector(8);
+
+        Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, 0));
+        engine.nextGeneration();
+        Assert.assertEquals(CycleDetector.Stability.EMPTY, detector.observe(engine, 1));
+        Assert.assertEquals(1, detector.getCycleStart());
+    }
+
+    /**
+     * Tests that periods longer than the history are not detected.
+     */
+    @Test public void testPeriodLongerThanHistory() {
+        GameEngine engine = new GameOfLifeBitPacked();
+        engine.seed(LifePatterns.BLINKER.getPattern());
+        CycleDetector detector = new CycleDetector(1);
+
+        for (int generation = 0; generation < 10; generation++) {
+            Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, generation));
+            engine.nextGeneration();
+        }
+    }
+
+    /**
+     * Tests that a glider flying away on a world without boundaries never repeats itself.
+     */
+    @Test public void testGliderIsEvolving() {
+        GameEngine engine = new GameOfLifeEndless();
+        engine.seed(new int[][] {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}});
+        CycleDetector detector = new CycleDetector(64);
+
+        for (int generation = 0; generation < 40; generation++) {
+            Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, generation));
+            engine.nextGeneration();
+        }
+    }
+
+    /**
+     * Tests that worlds with the same hash but different cells are not taken for a repeated world. A row following the
+     * Thue-Morse sequence and its complement hash the same, since the difference of their hashes is a product of
+     * factors {@code 1 - X_BASE^(2^k)}, each one divisible by a higher power of 2.
+     */
+    @Test public void testCollidingWorldsAreEvolving() {
+        int[][] thueMorse = new int[1][2048];
+        int[][] complement = new int[1][2048];
+        for (int x = 0; x < 2048; x++) {
+            thueMorse[0][x] = Integer.bitCount(x) & 1;
+            complement[0][x] = 1 - thueMorse[0][x];
+        }
+
+        GameEngine first = new GameOfLifeConstrained();
+        GameEngine second = new GameOfLifeConstrained();
+        first.seed(thueMorse);
+        second.seed(complement);
+        Assert.assertEquals(first.getWorldHash(), second.getWorldHash());
+
+        // the worlds take turns, so every generation matches the hash of the one before
+        CycleDetector detector = new CycleDetector(8);
+        for (int generation = 0; generation < 10; generation++) {
+            GameEngine engine = (generation % 2 == 0) ? first : second;
+            Assert.assertEquals(CycleDetector.Stability.EVOLVING, detector.observe(engine, generation));
+        }
+    }
+
+    /**
+     * Tests that keys are defined for negative coordinates, moving a cell by (dx, dy) multiplying its key by the key
+     * of (dx, dy).
+     */
+    @Test public void testKeysOfMovedCells() {
+        Assert.assertEquals(1, WorldHash.of(0, 0));
+        Assert.assertEquals(1, WorldHash.of(-5, 3) * WorldHash.of(5, -3));
+        Assert.assertEquals(WorldHash.of(-7, 12), WorldHash.of(-10, 2) * WorldHash.of(3, 10));
+        Assert.assertEquals(WorldHash.power(WorldHash.X_BASE, Integer.MIN_VALUE),
+            WorldHash.of(Integer.MIN_VALUE, 0));
+    }
+}
@@ -0,0 +1,80 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import net.nous.test.GameOfLifeTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked}
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeBitPackedTest extends GameOfLifeTest {
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeBitPacked();
+    }
+
+    /**
+     * Overrides test case {@link GameOfLifeTest#testBorderBlinker()} due to this implementation sharing the boundaries of
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}, so a border blinker will fail to oscillate.
+     */
+    @Override
+    public void testBorderBlinker() {
+        int[][] borderHorizontalBlinker = {{1, 1, 1}, {0, 0, 0}, {0, 0, 0}};
+        int[][] borderVerticalBlinker = {{0, 1, 0}, {0, 1, 0}, {0, 0, 0}};
+        int[][] death = {{0, 0, 0}, {0, 0, 0}, {0, 0, 0}};
+
+        GameOfLife gameOfLife = createGame();
+
+        gameOfLife.seed(borderHorizontalBlinker);
+
+        Assert.assertArrayEquals(borderVerticalBlinker, gameOfLife.next());
+        Assert.assertArrayEquals(death, gameOfLife.next());
+    }
+
+    /**
+     * Tests that a random soup spanning several words per row, with a partially used last word, evolves exactly as in
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}.
+     */
+    @Test public void testRandomSoupMatchesConstrained() {
+        int[][] soup = RandomSoups.of(70, 130, 42);
+
+        GameOfLife expected = new GameOfLifeConstrained();
+        GameOfLife actual = createGame();
+
+        expected.seed(soup);
+        actual.seed(soup);
+
+        for (int generation = 0; generation < 50; generation++) {
+            Assert.assertArrayEquals(expected.next(), actual.next());
+        }
+    }
+
+    /**
+     * Tests that a random soup evolves exactly as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
+     * under rules other than conway's, including rules with birth and survival without neighbours.
+     */
+    @Test public void testRandomSoupMatchesConstrainedWithOtherRules() {
+        int[][] soup = RandomSoups.of(40, 90, 7);
+
+        for (String notation : new String[] {"B36/S23", "B2/S", "B3678/S34678", "B0123/S01", "B1/S012345678"}) {
+            GameEngine expected = new GameOfLifeConstrained();
+            GameEngine actual = (GameEngine) createGame();
+
+            expected.setRule(Rule.parse(notation));
+            actual.setRule(Rule.parse(notation));
+            expected.seed(soup);
+            actual.seed(soup);
+
+            for (int generation = 0; generation < 20; generation++) {
+                Assert.assertArrayEquals(notation, expected.next(), actual.next());
+            }
+        }
+    }
+}
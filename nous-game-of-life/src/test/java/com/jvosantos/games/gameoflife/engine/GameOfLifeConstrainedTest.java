@@ -3,6 +3,7 @@ package com.jvosantos.games.gameoflife.engine;
 import net.nous.test.GameOfLife;
 import net.nous.test.GameOfLifeTest;
 import org.junit.Assert;
+import org.junit.Test;
 
 /**
  * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
@@ -36,4 +37,36 @@ public class GameOfLifeConstrainedTest extends GameOfLifeTest {
         Assert.assertArrayEquals(borderVerticalBlinker, gameOfLife.next());
         Assert.assertArrayEquals(death, gameOfLife.next());
     }
+
+    /**
+     * Tests that a random soup settling into still lifes and oscillators, where most tiles stop being calculated, keeps
+     * evolving exactly as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked}, which calculates every
+     * cell on every generation.
+     */
+    @Test public void testSettlingSoupMatchesBitPacked() {
+        int[][] soup = RandomSoups.of(100, 100, 7);
+
+        GameOfLife expected = new GameOfLifeBitPacked();
+        GameOfLife actual = createGame();
+
+        expected.seed(soup);
+        actual.seed(soup);
+
+        for (int generation = 0; generation < 300; generation++) {
+            Assert.assertArrayEquals(expected.next(), actual.next());
+        }
+    }
+
+    /**
+     * Tests that once the buffers are allocated, stepping a settling soup allocates no memory at all, whether tiles
+     * are calculated or copied.
+     */
+    @Test public void testNextGenerationDoesNotAllocate() {
+        int[][] soup = RandomSoups.of(64, 64, 11);
+
+        GameEngine engine = new GameOfLifeConstrained();
+        engine.seed(soup);
+
+        Assert.assertEquals(0, AllocationMeter.allocatedWhileStepping(engine, 2000));
+    }
 }
@@ -0,0 +1,133 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import net.nous.test.GameOfLifeTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeDistributed}, with every worker on a JVM of its own
+ * started by the tests.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeDistributedTest extends GameOfLifeTest {
+
+    /**
+     * Games created by the tests, closed after each test so their workers exit.
+     */
+    private final List<GameOfLifeDistributed> games = new ArrayList<>();
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeDistributed} with two workers to
+     * be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeDistributed}.
+     */
+    @Override protected GameOfLife createGame() {
+        return createGame(2);
+    }
+
+    private GameOfLifeDistributed createGame(int workers) {
+        GameOfLifeDistributed game = new GameOfLifeDistributed(workers);
+        games.add(game);
+
+        return game;
+    }
+
+    @After public void closeGames() {
+        games.forEach(GameOfLifeDistributed::close);
+    }
+
+    /**
+     * Overrides test case {@link GameOfLifeTest#testBorderBlinker()} due to this implementation sharing the boundaries of
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}, so a border blinker will fail to oscillate.
+     */
+    @Override
+    public void testBorderBlinker() {
+        int[][] borderHorizontalBlinker = {{1, 1, 1}, {0, 0, 0}, {0, 0, 0}};
+        int[][] borderVerticalBlinker = {{0, 1, 0}, {0, 1, 0}, {0, 0, 0}};
+        int[][] death = {{0, 0, 0}, {0, 0, 0}, {0, 0, 0}};
+
+        GameOfLife gameOfLife = createGame();
+
+        gameOfLife.seed(borderHorizontalBlinker);
+
+        Assert.assertArrayEquals(borderVerticalBlinker, gameOfLife.next());
+        Assert.assertArrayEquals(death, gameOfLife.next());
+    }
+
+    /**
+     * Tests that a random soup split into strips of different sizes across three workers evolves bit for bit as in
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}, with the same population and hash.
+     */
+    @Test public void testRandomSoupMatchesConstrained() {
+        int[][] soup = RandomSoups.of(71, 130, 42);
+
+        GameEngine expected = new GameOfLifeConstrained();
+        GameEngine actual = createGame(3);
+
+        expected.seed(soup);
+        actual.seed(soup);
+
+        for (int generation = 0; generation < 40; generation++) {
+            Assert.assertArrayEquals(expected.next(), actual.next());
+            Assert.assertEquals(WorldHash.of(expected), actual.getWorldHash());
+            Assert.assertEquals(expected.getBoard().getPopulation(), actual.getBoard().getPopulation());
+        }
+    }
+
+    /**
+     * Tests that advancing many generations with a single command to each worker matches stepping them one by one on
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}, under rules other than conway's as well.
+     */
+    @Test public void testAdvanceMatchesConstrained() {
+        int[][] soup = RandomSoups.of(50, 64, 7);
+
+        for (String notation : new String[] {"B3/S23", "B36/S23", "B3678/S34678", "B0/S8"}) {
+            GameEngine expected = new GameOfLifeConstrained();
+            GameEngine actual = createGame(3);
+
+            expected.setRule(Rule.parse(notation));
+            actual.setRule(Rule.parse(notation));
+            expected.seed(soup);
+            actual.seed(soup);
+
+            for (int generation = 0; generation < 25; generation++) {
+                expected.nextGeneration();
+            }
+            actual.advance(25);
+
+            Assert.assertArrayEquals(notation, expected.getBoard().toArray(), actual.getBoard().toArray());
+            Assert.assertEquals(notation, WorldHash.of(expected), actual.getWorldHash());
+        }
+    }
+
+    /**
+     * Tests that a world with fewer rows than workers leaves the extra workers idle.
+     */
+    @Test public void testFewerRowsThanWorkers() {
+        int[][] blinker = {{0, 1, 0}, {0, 1, 0}, {0, 1, 0}};
+        int[][] blinkerHorizontal = {{0, 0, 0}, {1, 1, 1}, {0, 0, 0}};
+
+        GameOfLife gameOfLife = createGame(4);
+
+        gameOfLife.seed(blinker);
+
+        Assert.assertArrayEquals(blinkerHorizontal, gameOfLife.next());
+        Assert.assertArrayEquals(blinker, gameOfLife.next());
+    }
+
+    /**
+     * Tests that a closed game can't be used anymore.
+     */
+    @Test(expected = IllegalStateException.class) public void testClosedGameIsRefused() {
+        GameOfLifeDistributed gameOfLife = createGame(1);
+
+        gameOfLife.close();
+        gameOfLife.seed(new int[][] {{1}});
+    }
+}
@@ -2,6 +2,8 @@ package com.jvosantos.games.gameoflife.engine;
 
 import net.nous.test.GameOfLife;
 import net.nous.test.GameOfLifeTest;
+import org.junit.Assert;
+import org.junit.Test;
 
 /**
  * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeEndless}
@@ -16,4 +18,57 @@ public class GameOfLifeEndlessTest extends GameOfLifeTest {
     @Override protected GameOfLife createGame() {
         return new GameOfLifeEndless();
     }
+
+    /**
+     * Tests that a random soup settling into still lifes and oscillators, where only the changed cells end up being
+     * calculated, keeps evolving exactly as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse}, which
+     * calculates every live cell on every generation, including the births and deaths counted on the way.
+     */
+    @Test public void testSettlingSoupMatchesSparse() {
+        int[][] soup = RandomSoups.of(40, 40, 7);
+
+        GameEngine expected = new GameOfLifeSparse();
+        GameEngine actual = new GameOfLifeEndless();
+
+        expected.seed(soup);
+        actual.seed(soup);
+
+        for (int generation = 0; generation < 300; generation++) {
+            Assert.assertArrayEquals(expected.next(), actual.next());
+            Assert.assertEquals(expected.getBirths(), actual.getBirths());
+            Assert.assertEquals(expected.getDeaths(), actual.getDeaths());
+        }
+    }
+
+    /**
+     * Tests that once the tables have grown, stepping a world calculated from all its live cells allocates no memory,
+     * even with a glider flying away.
+     */
+    @Test public void testNextGenerationFromLiveCellsDoesNotAllocate() {
+        GameEngine engine = new GameOfLifeEndless();
+        engine.seed(new int[][]{
+            {0, 1, 0, 0, 0, 0, 0, 0},
+            {0, 0, 1, 0, 0, 0, 0, 0},
+            {1, 1, 1, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0},
+            {1, 1, 1, 0, 1, 1, 1, 0}});
+
+        Assert.assertEquals(0, AllocationMeter.allocatedWhileStepping(engine, 2000));
+    }
+
+    /**
+     * Tests that once the tables have grown, stepping a world calculated from its changed cells allocates no memory.
+     */
+    @Test public void testNextGenerationFromChangedCellsDoesNotAllocate() {
+        GameEngine engine = new GameOfLifeEndless();
+        engine.seed(new int[][]{
+            {1, 1, 0, 1, 1, 0, 1, 1, 0, 1, 1},
+            {1, 1, 0, 1, 1, 0, 1, 1, 0, 1, 1},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 1, 1, 1, 0, 0, 0, 0}});
+
+        Assert.assertEquals(0, AllocationMeter.allocatedWhileStepping(engine, 2000));
+    }
 }
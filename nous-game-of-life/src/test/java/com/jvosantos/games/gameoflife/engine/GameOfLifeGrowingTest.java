@@ -0,0 +1,194 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import net.nous.test.GameOfLifeTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeGrowing}
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeGrowingTest extends GameOfLifeTest {
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeGrowing} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeGrowing}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeGrowing();
+    }
+
+    /**
+     * Tests that a random soup evolves exactly as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse},
+     * including the cells that grow outside of the initial pattern, comparing every live cell and the hash of the
+     * world.
+     */
+    @Test public void testRandomSoupMatchesSparse() {
+        int[][] soup = RandomSoups.of(40, 100, 42);
+
+        GameEngine expected = new GameOfLifeSparse();
+        GameEngine actual = (GameEngine) createGame();
+
+        expected.seed(soup);
+        actual.seed(soup);
+
+        for (int generation = 0; generation < 300; generation++) {
+            Assert.assertArrayEquals(expected.next(), actual.next());
+            Assert.assertEquals(WorldHash.of(expected), WorldHash.of(actual));
+            Assert.assertEquals(expected.getWorldHash(), actual.getWorldHash());
+            Assert.assertEquals(expected.getBoard().getPopulation(), actual.getBoard().getPopulation());
+        }
+    }
+
+    /**
+     * Tests that a random soup evolves exactly as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse}
+     * under rules other than conway's.
+     */
+    @Test public void testRandomSoupMatchesSparseWithOtherRules() {
+        int[][] soup = RandomSoups.of(30, 30, 7);
+
+        for (String notation : new String[] {"B36/S23", "B2/S", "B3678/S34678", "B3/S012"}) {
+            GameEngine expected = new GameOfLifeSparse();
+            GameEngine actual = (GameEngine) createGame();
+
+            expected.setRule(Rule.parse(notation));
+            actual.setRule(Rule.parse(notation));
+            expected.seed(soup);
+            actual.seed(soup);
+
+            for (int generation = 0; generation < 40; generation++) {
+                Assert.assertArrayEquals(notation, expected.next(), actual.next());
+                Assert.assertEquals(notation, expected.getWorldHash(), actual.getWorldHash());
+            }
+        }
+    }
+
+    /**
+     * Tests that gliders travelling away in opposite directions, far beyond the initial grid, keep every cell and the
+     * hash of the world, and give the same snapshot as the sparse world.
+     */
+    @Test public void testGlidersTravellingAway() {
+        int[][] gliders = new int[10][10];
+        // a glider travelling up and left
+        gliders[0][0] = 1;
+        gliders[0][1] = 1;
+        gliders[0][2] = 1;
+        gliders[1][0] = 1;
+        gliders[2][1] = 1;
+        // a glider travelling down and right
+        gliders[7][8] = 1;
+        gliders[8][9] = 1;
+        gliders[9][7] = 1;
+        gliders[9][8] = 1;
+        gliders[9][9] = 1;
+
+        GameEngine expected = new GameOfLifeSparse();
+        GameEngine actual = (GameEngine) createGame();
+
+        expected.seed(gliders);
+        actual.seed(gliders);
+        expected.advance(1000);
+        actual.advance(1000);
+
+        Assert.assertEquals(10, actual.getBoard().getPopulation());
+        Assert.assertEquals(expected.getWorldHash(), actual.getWorldHash());
+        Assert.assertEquals(WorldHash.of(expected), actual.getWorldHash());
+        Assert.assertArrayEquals(expected.snapshot(), actual.snapshot());
+    }
+
+    /**
+     * Tests that the world keeps evolving as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse} when the
+     * grid shrinks, after a lone cell far from a block and a glider dies, and grows again as the glider travels away.
+     */
+    @Test public void testShrinkingAndGrowingGrid() {
+        int[][] world = new int[300][200];
+        // a block
+        world[0][0] = 1;
+        world[0][1] = 1;
+        world[1][0] = 1;
+        world[1][1] = 1;
+        // a glider travelling down and right
+        world[5][6] = 1;
+        world[6][7] = 1;
+        world[7][5] = 1;
+        world[7][6] = 1;
+        world[7][7] = 1;
+        // a lone cell, which dies on the first generation
+        world[299][199] = 1;
+
+        GameEngine expected = new GameOfLifeSparse();
+        GameEngine actual = (GameEngine) createGame();
+
+        expected.seed(world);
+        actual.seed(world);
+
+        for (int generation = 0; generation < 1200; generation++) {
+            expected.nextGeneration();
+            actual.nextGeneration();
+
+            Assert.assertEquals(expected.getWorldHash(), actual.getWorldHash());
+            Assert.assertEquals(expected.getBoard().getPopulation(), actual.getBoard().getPopulation());
+        }
+
+        Assert.assertEquals(WorldHash.of(expected), WorldHash.of(actual));
+        Assert.assertArrayEquals(expected.snapshot(), actual.snapshot());
+    }
+
+    /**
+     * Tests that with {@link PatternStrategy#GROW_WITH_WORLD} the board of the border blinker grows to cover the cells
+     * born above the initial pattern, and goes back to the initial size when they die.
+     */
+    @Test public void testBorderBlinkerGrowsWithWorld() {
+        int[][] borderHorizontalBlinker = {{1, 1, 1}, {0, 0, 0}, {0, 0, 0}};
+        int[][] grownVerticalBlinker = {{0, 1, 0}, {0, 1, 0}, {0, 1, 0}, {0, 0, 0}};
+
+        GameOfLifeGrowing gameOfLife = (GameOfLifeGrowing) createGame();
+
+        gameOfLife.setOutputStrategy(PatternStrategy.GROW_WITH_WORLD);
+        gameOfLife.seed(borderHorizontalBlinker);
+
+        Assert.assertArrayEquals(grownVerticalBlinker, gameOfLife.next());
+        Assert.assertArrayEquals(borderHorizontalBlinker, gameOfLife.next());
+        Assert.assertArrayEquals(grownVerticalBlinker, gameOfLife.next());
+    }
+
+    /**
+     * Tests that with {@link PatternStrategy#GROW_WITH_WORLD} the board follows a glider leaving the initial pattern,
+     * always covering the initial pattern and every live cell.
+     */
+    @Test public void testBoardGrowsWithGlider() {
+        int[][] glider = {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}};
+
+        GameOfLifeGrowing gameOfLife = (GameOfLifeGrowing) createGame();
+
+        gameOfLife.setOutputStrategy(PatternStrategy.GROW_WITH_WORLD);
+        gameOfLife.seed(glider);
+        gameOfLife.advance(40);
+
+        // the glider moves one cell down and right every 4 generations
+        Assert.assertEquals(13, gameOfLife.getBoard().getWidth());
+        Assert.assertEquals(13, gameOfLife.getBoard().getHeight());
+        Assert.assertEquals(5, gameOfLife.getBoard().getPopulation());
+        Assert.assertTrue(gameOfLife.getBoard().isAlive(11, 10));
+        Assert.assertTrue(gameOfLife.getBoard().isAlive(12, 11));
+        Assert.assertTrue(gameOfLife.getBoard().isAlive(10, 12));
+        Assert.assertTrue(gameOfLife.getBoard().isAlive(11, 12));
+        Assert.assertTrue(gameOfLife.getBoard().isAlive(12, 12));
+    }
+
+    /**
+     * Tests that a rule giving birth to cells without neighbours is refused by a world without boundaries.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testBirthWithoutNeighboursIsRefused() {
+        ((GameEngine) createGame()).setRule(Rule.parse("B0/S8"));
+    }
+
+    /**
+     * Tests that the pattern strategy growing with the world is refused by the engines that don't support it.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testGrowWithWorldIsRefusedBySparse() {
+        new GameOfLifeSparse().setOutputStrategy(PatternStrategy.GROW_WITH_WORLD);
+    }
+}
@@ -0,0 +1,95 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import net.nous.test.GameOfLifeTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeHashLife}
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeHashLifeTest extends GameOfLifeTest {
+
+    /**
+     * A glider travelling one cell down and one cell right every 4 generations:
+     * <p>
+     * 010
+     * 001
+     * 111
+     */
+    private static final int[][] GLIDER = {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}};
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeHashLife} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeHashLife}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeHashLife();
+    }
+
+    /**
+     * Tests that advancing several generations at once gives the same world as calculating them one by one with
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeEndless}.
+     */
+    @Test public void testAdvanceMatchesEndless() {
+        GameOfLifeEndless expected = new GameOfLifeEndless();
+        GameOfLifeHashLife actual = new GameOfLifeHashLife();
+
+        expected.seed(LifePatterns.VOLDIAG.getPattern());
+        actual.seed(LifePatterns.VOLDIAG.getPattern());
+
+        for (int generations : new int[] {1, 2, 3, 7, 16, 29}) {
+            for (int i = 0; i < generations; i++) {
+                expected.nextGeneration();
+            }
+            actual.advance(generations);
+
+            Assert.assertArrayEquals(expected.worldToArray(), actual.worldToArray());
+        }
+    }
+
+    /**
+     * Tests that changing the rule discards the generations memoized with the previous rule, by advancing the same
+     * generations under conway's rules and under HighLife.
+     */
+    @Test public void testAdvanceMatchesEndlessAfterChangingRule() {
+        GameOfLifeEndless expected = new GameOfLifeEndless();
+        GameOfLifeHashLife actual = new GameOfLifeHashLife();
+
+        actual.seed(LifePatterns.VOLDIAG.getPattern());
+        actual.advance(16);
+
+        Rule highLife = Rule.parse("B36/S23");
+        expected.setRule(highLife);
+        actual.setRule(highLife);
+        expected.seed(LifePatterns.VOLDIAG.getPattern());
+        actual.seed(LifePatterns.VOLDIAG.getPattern());
+
+        for (int i = 0; i < 16; i++) {
+            expected.nextGeneration();
+        }
+        actual.advance(16);
+
+        Assert.assertArrayEquals(expected.worldToArray(), actual.worldToArray());
+    }
+
+    /**
+     * Tests that a glider can be moved a billion cells away by advancing four billion generations.
+     */
+    @Test public void testAdvanceBillionsOfGenerations() {
+        long distance = 1L << 30;
+        GameOfLifeHashLife gameOfLife = new GameOfLifeHashLife();
+
+        gameOfLife.seed(GLIDER);
+        gameOfLife.advance(4 * distance);
+
+        Assert.assertEquals(5, gameOfLife.getPopulation());
+        for (int i = 0; i < GLIDER.length; i++) {
+            for (int j = 0; j < GLIDER[i].length; j++) {
+                Assert.assertEquals(GLIDER[i][j] == 1, gameOfLife.isAlive(j + distance, i + distance));
+            }
+        }
+    }
+}
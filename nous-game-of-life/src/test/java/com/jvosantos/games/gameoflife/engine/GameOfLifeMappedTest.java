@@ -0,0 +1,131 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeMapped}. Runs every test of
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPackedTest}, since both share the boundaries of
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeMappedTest extends GameOfLifeBitPackedTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeMapped} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeMapped}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeMapped(folder.getRoot().toPath());
+    }
+
+    /**
+     * Tests that a random soup evolves exactly as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
+     * when the world is mapped in bands of two rows, so that rows next to each other live in different bands.
+     */
+    @Test public void testRandomSoupMatchesConstrainedAcrossBands() {
+        int[][] soup = RandomSoups.of(35, 130, 42);
+
+        GameOfLife expected = new GameOfLifeConstrained();
+        GameOfLifeMapped actual = new GameOfLifeMapped(folder.getRoot().toPath(), 2 * 3 * Long.BYTES);
+
+        expected.seed(soup);
+        actual.seed(soup);
+
+        for (int generation = 0; generation < 30; generation++) {
+            int[][] next = expected.next();
+            actual.nextGeneration();
+
+            Assert.assertArrayEquals(next, actual.getBoard().toArray());
+            Assert.assertEquals(Arrays.stream(next).flatMapToInt(Arrays::stream).sum(),
+                actual.getBoard().getPopulation());
+        }
+
+        actual.close();
+    }
+
+    /**
+     * Tests that a world created empty and brought to life cell by cell evolves like the same seeded world.
+     */
+    @Test public void testSetAliveMatchesSeed() {
+        int[][] glider = new int[10][70];
+        glider[0][1] = 1;
+        glider[1][2] = 1;
+        glider[2][0] = 1;
+        glider[2][1] = 1;
+        glider[2][2] = 1;
+
+        GameOfLifeMapped expected = new GameOfLifeMapped(folder.getRoot().toPath());
+        GameOfLifeMapped actual = new GameOfLifeMapped(folder.getRoot().toPath());
+
+        expected.seed(glider);
+        actual.clearWorld(70, 10);
+        actual.setAlive(1, 0);
+        actual.setAlive(2, 1);
+        actual.setAlive(0, 2);
+        actual.setAlive(1, 2);
+        actual.setAlive(2, 2);
+        actual.setAlive(2, 2);
+
+        Assert.assertEquals(5, actual.getBoard().getPopulation());
+
+        for (int generation = 0; generation < 12; generation++) {
+            Assert.assertArrayEquals(expected.next(), actual.next());
+        }
+
+        expected.close();
+        actual.close();
+    }
+
+    /**
+     * Tests that closing the game deletes the files of the generations.
+     */
+    @Test public void testCloseDeletesFiles() {
+        GameOfLifeMapped gameOfLife = new GameOfLifeMapped(folder.getRoot().toPath());
+
+        gameOfLife.seed(LifePatterns.NOUS_OSCILLATOR.getPattern());
+        gameOfLife.nextGeneration();
+        Assert.assertEquals(2, folder.getRoot().listFiles().length);
+
+        gameOfLife.close();
+        Assert.assertEquals(0, folder.getRoot().listFiles().length);
+    }
+
+    /**
+     * Tests that stepping through many bands leaves at most one band of each generation mapped, and that closing the
+     * game unmaps them all. Mappings are read from the memory map of the process, so the test only runs on Linux.
+     */
+    @Test public void testBandsAreUnmapped() throws IOException {
+        Path maps = Paths.get("/proc/self/maps");
+        Assume.assumeTrue(Files.isReadable(maps));
+        GameOfLifeMapped gameOfLife = new GameOfLifeMapped(folder.getRoot().toPath(), 2 * Long.BYTES);
+
+        gameOfLife.seed(new int[40][64]);
+        for (int generation = 0; generation < 10; generation++) {
+            gameOfLife.nextGeneration();
+        }
+        Assert.assertTrue(countMappings(maps) <= 2);
+
+        gameOfLife.close();
+        Assert.assertEquals(0, countMappings(maps));
+    }
+
+    private long countMappings(Path maps) throws IOException {
+        String directory = folder.getRoot().getCanonicalPath();
+
+        return Files.readAllLines(maps).stream().filter(line -> line.contains(directory)).count();
+    }
+}
@@ -0,0 +1,62 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import net.nous.test.GameOfLifeTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeOffHeap}
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeOffHeapTest extends GameOfLifeTest {
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeOffHeap} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeOffHeap}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeOffHeap();
+    }
+
+    /**
+     * Tests that a random soup, large enough to grow the tables several times, evolves exactly as in
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse}, including the hash of the world.
+     */
+    @Test public void testRandomSoupMatchesSparse() {
+        int[][] soup = RandomSoups.of(100, 100, 42);
+
+        GameEngine expected = new GameOfLifeSparse();
+
+        try (GameOfLifeOffHeap actual = new GameOfLifeOffHeap()) {
+            expected.seed(soup);
+            actual.seed(soup);
+
+            for (int generation = 0; generation < 60; generation++) {
+                Assert.assertArrayEquals(expected.next(), actual.next());
+                Assert.assertEquals(expected.getBoard().getPopulation(), actual.getBoard().getPopulation());
+                Assert.assertEquals(expected.getWorldHash(), actual.getWorldHash());
+            }
+        }
+    }
+
+    /**
+     * Tests that a closed game refuses to advance, and that closing it again does nothing.
+     */
+    @Test(expected = IllegalStateException.class) public void testClosedGameIsRefused() {
+        GameOfLifeOffHeap gameOfLife = new GameOfLifeOffHeap();
+        gameOfLife.seed(LifePatterns.BLINKER.getPattern());
+
+        gameOfLife.close();
+        gameOfLife.close();
+        gameOfLife.nextGeneration();
+    }
+
+    /**
+     * Tests that a rule giving birth to cells without neighbours is refused by a world without boundaries.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testBirthWithoutNeighboursIsRefused() {
+        ((GameEngine) createGame()).setRule(Rule.parse("B0/S8"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeParallel}. Runs every test of
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPackedTest} with several workers, so that the random soup
+ * is split into many bands.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeParallelTest extends GameOfLifeBitPackedTest {
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeParallel} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeParallel}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeParallel(4);
+    }
+
+    /**
+     * Tests that a closed game refuses to advance, and that closing it again does nothing.
+     */
+    @Test(expected = IllegalStateException.class) public void testClosedGameIsRefused() {
+        GameOfLifeParallel gameOfLife = new GameOfLifeParallel(2);
+        gameOfLife.seed(LifePatterns.BLINKER.getPattern());
+
+        gameOfLife.close();
+        gameOfLife.close();
+        gameOfLife.nextGeneration();
+    }
+}
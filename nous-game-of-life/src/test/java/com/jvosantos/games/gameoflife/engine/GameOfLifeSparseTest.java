@@ -0,0 +1,69 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import net.nous.test.GameOfLifeTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse}
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeSparseTest extends GameOfLifeTest {
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeSparse();
+    }
+
+    /**
+     * Tests that a random soup evolves exactly as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeEndless},
+     * including the cells that grow outside of the initial pattern and come back.
+     */
+    @Test public void testRandomSoupMatchesEndless() {
+        int[][] soup = RandomSoups.of(40, 40, 42);
+
+        GameOfLife expected = new GameOfLifeEndless();
+        GameOfLife actual = createGame();
+
+        expected.seed(soup);
+        actual.seed(soup);
+
+        for (int generation = 0; generation < 60; generation++) {
+            Assert.assertArrayEquals(expected.next(), actual.next());
+        }
+    }
+
+    /**
+     * Tests that a random soup evolves exactly as in {@link com.jvosantos.games.gameoflife.engine.GameOfLifeEndless}
+     * under rules other than conway's, including a rule where cells without neighbours survive.
+     */
+    @Test public void testRandomSoupMatchesEndlessWithOtherRules() {
+        int[][] soup = RandomSoups.of(30, 30, 7);
+
+        for (String notation : new String[] {"B36/S23", "B2/S", "B3678/S34678", "B3/S012"}) {
+            GameEngine expected = new GameOfLifeEndless();
+            GameEngine actual = (GameEngine) createGame();
+
+            expected.setRule(Rule.parse(notation));
+            actual.setRule(Rule.parse(notation));
+            expected.seed(soup);
+            actual.seed(soup);
+
+            for (int generation = 0; generation < 20; generation++) {
+                Assert.assertArrayEquals(notation, expected.next(), actual.next());
+            }
+        }
+    }
+
+    /**
+     * Tests that a rule giving birth to cells without neighbours is refused by a world without boundaries.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testBirthWithoutNeighboursIsRefused() {
+        ((GameEngine) createGame()).setRule(Rule.parse("B0/S8"));
+    }
+}
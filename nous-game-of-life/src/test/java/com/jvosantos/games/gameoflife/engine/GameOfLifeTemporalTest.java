@@ -0,0 +1,102 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+import net.nous.test.GameOfLifeTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeTemporal}
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeTemporalTest extends GameOfLifeTest {
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeTemporal} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeTemporal}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeTemporal();
+    }
+
+    /**
+     * Overrides test case {@link GameOfLifeTest#testBorderBlinker()} due to this implementation sharing the boundaries of
+     * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}, so a border blinker will fail to oscillate.
+     */
+    @Override
+    public void testBorderBlinker() {
+        int[][] borderHorizontalBlinker = {{1, 1, 1}, {0, 0, 0}, {0, 0, 0}};
+        int[][] borderVerticalBlinker = {{0, 1, 0}, {0, 1, 0}, {0, 0, 0}};
+        int[][] death = {{0, 0, 0}, {0, 0, 0}, {0, 0, 0}};
+
+        GameOfLife gameOfLife = createGame();
+
+        gameOfLife.seed(borderHorizontalBlinker);
+
+        Assert.assertArrayEquals(borderVerticalBlinker, gameOfLife.next());
+        Assert.assertArrayEquals(death, gameOfLife.next());
+    }
+
+    /**
+     * Tests that advancing a random soup spanning several bands and columns of tiles, with a partially used last word,
+     * matches stepping {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked} one generation at a time,
+     * for several depths and numbers of generations that aren't multiples of the depth.
+     */
+    @Test public void testAdvanceMatchesBitPacked() {
+        int[][] soup = RandomSoups.of(300, 2500, 42);
+
+        for (int depth : new int[] {1, 3, 8, 64}) {
+            GameEngine expected = new GameOfLifeBitPacked();
+            GameEngine actual = new GameOfLifeTemporal(depth);
+
+            expected.seed(soup);
+            actual.seed(soup);
+
+            for (int generations : new int[] {1, 2, 37, 64}) {
+                for (int generation = 0; generation < generations; generation++) {
+                    expected.nextGeneration();
+                }
+                actual.advance(generations);
+
+                String message = "depth " + depth + ", " + generations + " generations";
+                Assert.assertArrayEquals(message, expected.getBoard().toArray(), actual.getBoard().toArray());
+                Assert.assertEquals(message, WorldHash.of(expected), actual.getWorldHash());
+            }
+        }
+    }
+
+    /**
+     * Tests that advancing a random soup matches {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
+     * under rules other than conway's, including rules with birth and survival without neighbours, which must not
+     * bring to life the cells outside of the world.
+     */
+    @Test public void testAdvanceMatchesConstrainedWithOtherRules() {
+        int[][] soup = RandomSoups.of(150, 2100, 7);
+
+        for (String notation : new String[] {"B36/S23", "B3678/S34678", "B0/S8", "B1/S012345678"}) {
+            GameEngine expected = new GameOfLifeConstrained();
+            GameEngine actual = (GameEngine) createGame();
+
+            expected.setRule(Rule.parse(notation));
+            actual.setRule(Rule.parse(notation));
+            expected.seed(soup);
+            actual.seed(soup);
+
+            for (int generation = 0; generation < 21; generation++) {
+                expected.nextGeneration();
+            }
+            actual.advance(21);
+
+            Assert.assertArrayEquals(notation, expected.getBoard().toArray(), actual.getBoard().toArray());
+            Assert.assertEquals(notation, WorldHash.of(expected), actual.getWorldHash());
+        }
+    }
+
+    /**
+     * Tests that a depth larger than the halo of a word on each side of a tile is refused.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testDepthLargerThanHaloIsRefused() {
+        new GameOfLifeTemporal(65);
+    }
+}
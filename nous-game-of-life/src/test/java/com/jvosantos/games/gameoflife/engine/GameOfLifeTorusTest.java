@@ -0,0 +1,103 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeTorus}. The tests of
+ * {@link net.nous.test.GameOfLifeTest} aren't run, since their patterns touch the edges of worlds too small to wrap
+ * around without changing how they evolve.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeTorusTest {
+
+    /**
+     * Tests that a blinker away from the edges oscillates.
+     */
+    @Test public void testBlinker() {
+        int[][] horizontalBlinker = {{0, 0, 0, 0, 0}, {0, 0, 0, 0, 0}, {0, 1, 1, 1, 0}, {0, 0, 0, 0, 0}, {0, 0, 0, 0, 0}};
+        int[][] verticalBlinker = {{0, 0, 0, 0, 0}, {0, 0, 1, 0, 0}, {0, 0, 1, 0, 0}, {0, 0, 1, 0, 0}, {0, 0, 0, 0, 0}};
+
+        GameEngine gameOfLife = new GameOfLifeTorus();
+
+        gameOfLife.seed(horizontalBlinker);
+
+        Assert.assertArrayEquals(verticalBlinker, gameOfLife.next());
+        Assert.assertArrayEquals(horizontalBlinker, gameOfLife.next());
+    }
+
+    /**
+     * Tests that a blinker across the corner of the world oscillates, wrapping around both edges.
+     */
+    @Test public void testCornerBlinker() {
+        int[][] horizontalBlinker = {{1, 1, 0, 0, 1}, {0, 0, 0, 0, 0}, {0, 0, 0, 0, 0}, {0, 0, 0, 0, 0}, {0, 0, 0, 0, 0}};
+        int[][] verticalBlinker = {{1, 0, 0, 0, 0}, {1, 0, 0, 0, 0}, {0, 0, 0, 0, 0}, {0, 0, 0, 0, 0}, {1, 0, 0, 0, 0}};
+
+        GameEngine gameOfLife = new GameOfLifeTorus();
+
+        gameOfLife.seed(horizontalBlinker);
+
+        Assert.assertArrayEquals(verticalBlinker, gameOfLife.next());
+        Assert.assertArrayEquals(horizontalBlinker, gameOfLife.next());
+    }
+
+    /**
+     * Tests that a glider crossing the edges comes back to where it started. A glider moves one cell diagonally every
+     * four generations, so it goes around an 8x8 world in 32 generations.
+     */
+    @Test public void testGliderWrapsAround() {
+        int[][] glider = new int[8][8];
+        glider[0][1] = 1;
+        glider[1][2] = 1;
+        glider[2][0] = 1;
+        glider[2][1] = 1;
+        glider[2][2] = 1;
+
+        GameEngine gameOfLife = new GameOfLifeTorus();
+
+        gameOfLife.seed(glider);
+
+        for (int generation = 0; generation < 32; generation++) {
+            gameOfLife.nextGeneration();
+            Assert.assertEquals(5, gameOfLife.getBoard().getPopulation());
+        }
+
+        Assert.assertArrayEquals(glider, gameOfLife.getBoard().toArray());
+    }
+
+    /**
+     * Tests that a random soup evolves as the center of a {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}
+     * world tiled with 3x3 copies of it, which sees the same neighbours across the edges as the torus.
+     */
+    @Test public void testRandomSoupMatchesTiledConstrained() {
+        int rows = 23;
+        int cols = 37;
+        int[][] soup = RandomSoups.of(rows, cols, 42);
+
+        GameEngine torus = new GameOfLifeTorus();
+        torus.seed(soup);
+
+        int[][] expected = soup;
+
+        for (int generation = 0; generation < 50; generation++) {
+            int[][] tiled = new int[3 * rows][3 * cols];
+            for (int i = 0; i < tiled.length; i++) {
+                for (int j = 0; j < tiled[i].length; j++) {
+                    tiled[i][j] = expected[i % rows][j % cols];
+                }
+            }
+
+            GameEngine constrained = new GameOfLifeConstrained();
+            constrained.seed(tiled);
+            int[][] next = constrained.next();
+
+            expected = new int[rows][cols];
+            for (int i = 0; i < rows; i++) {
+                System.arraycopy(next[rows + i], cols, expected[i], 0, cols);
+            }
+
+            Assert.assertArrayEquals(expected, torus.next());
+        }
+    }
+}
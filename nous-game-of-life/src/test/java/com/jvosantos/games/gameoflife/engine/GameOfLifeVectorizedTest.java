@@ -0,0 +1,21 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import net.nous.test.GameOfLife;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.GameOfLifeVectorized}. Runs every test of
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeBitPackedTest}, since both share the boundaries of
+ * {@link com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class GameOfLifeVectorizedTest extends GameOfLifeBitPackedTest {
+
+    /**
+     * Provides an instance of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeVectorized} to be used in {@link net.nous.test.GameOfLifeTest} tests.
+     * @return An instantiated {@link com.jvosantos.games.gameoflife.engine.GameOfLifeVectorized}.
+     */
+    @Override protected GameOfLife createGame() {
+        return new GameOfLifeVectorized();
+    }
+}
@@ -0,0 +1,35 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import java.util.Random;
+
+/**
+ * Creates random soups, for tests checking that an engine evolves a soup like a reference engine.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public final class RandomSoups {
+
+    private RandomSoups() {
+    }
+
+    /**
+     * Creates a random soup with about half of the cells alive. The same seed always gives the same soup.
+     *
+     * @param rows The number of rows of the soup.
+     * @param cols The number of columns of the soup.
+     * @param seed The seed of the random generator drawing the cells.
+     * @return the soup, as a bidimensional array with 1 for live cells and 0 for dead ones.
+     */
+    public static int[][] of(int rows, int cols, long seed) {
+        int[][] soup = new int[rows][cols];
+        Random random = new Random(seed);
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                soup[i][j] = random.nextInt(2);
+            }
+        }
+
+        return soup;
+    }
+}
@@ -0,0 +1,63 @@
+package com.jvosantos.games.gameoflife.engine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.engine.Rule}
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class RuleTest {
+
+    /**
+     * Tests that conway's rule gives birth on 3 neighbours and keeps cells alive on 2 or 3 neighbours.
+     */
+    @Test public void testConway() {
+        for (int neighbours = 0; neighbours <= Rule.MAX_NEIGHBOURS; neighbours++) {
+            Assert.assertEquals(neighbours == 3 ? 1 : 0, Rule.CONWAY.nextState(0, neighbours));
+            Assert.assertEquals(neighbours == 2 || neighbours == 3 ? 1 : 0, Rule.CONWAY.nextState(1, neighbours));
+            Assert.assertEquals(neighbours == 3, Rule.CONWAY.willBeAlive(false, neighbours));
+            Assert.assertEquals(neighbours == 2 || neighbours == 3, Rule.CONWAY.willBeAlive(true, neighbours));
+        }
+
+        Assert.assertEquals(1 << 3, Rule.CONWAY.getBirthMask());
+        Assert.assertEquals((1 << 2) | (1 << 3), Rule.CONWAY.getSurvivalMask());
+    }
+
+    /**
+     * Tests that the order of the counts and the case of the letters don't matter and that rules are written back in
+     * B/S notation.
+     */
+    @Test public void testParse() {
+        Assert.assertEquals(Rule.CONWAY, Rule.parse("S23/B3"));
+        Assert.assertEquals(Rule.CONWAY, Rule.parse(" b3/s32 "));
+        Assert.assertEquals("B36/S23", Rule.parse("B63/S23").toString());
+        Assert.assertEquals("B2/S", Rule.parse("B2/S").toString());
+        Assert.assertEquals("B0/S8", Rule.parse("B0/S8").toString());
+        Assert.assertTrue(Rule.parse("B0/S8").isBornWithoutNeighbours());
+        Assert.assertFalse(Rule.parse("B0/S8").survivesWithoutNeighbours());
+        Assert.assertTrue(Rule.parse("B3/S012").survivesWithoutNeighbours());
+    }
+
+    /**
+     * Tests that a rule without the survival counts is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testParseMissingSurvival() {
+        Rule.parse("B3");
+    }
+
+    /**
+     * Tests that a rule with the birth counts twice is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testParseRepeatedBirth() {
+        Rule.parse("B3/B23");
+    }
+
+    /**
+     * Tests that a rule with more than eight neighbours is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testParseInvalidCount() {
+        Rule.parse("B39/S23");
+    }
+}
@@ -0,0 +1,55 @@
+package com.jvosantos.games.gameoflife.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.metrics.LatencyHistogram}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Tests that latencies fall into the bucket of their highest power of two, up to the largest latency.
+     */
+    @Test public void testBuckets() {
+        Assert.assertEquals(0, LatencyHistogram.bucketOf(0));
+        Assert.assertEquals(0, LatencyHistogram.bucketOf(1));
+        Assert.assertEquals(1, LatencyHistogram.bucketOf(2));
+        Assert.assertEquals(1, LatencyHistogram.bucketOf(3));
+        Assert.assertEquals(10, LatencyHistogram.bucketOf(1024));
+        Assert.assertEquals(62, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+
+        Assert.assertEquals(1, LatencyHistogram.upperBoundOf(0));
+        Assert.assertEquals(2047, LatencyHistogram.upperBoundOf(10));
+        Assert.assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(62));
+    }
+
+    /**
+     * Tests that percentiles are estimated to the upper bound of their bucket, never above the largest latency.
+     */
+    @Test public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getPercentile(0.5));
+
+        for (int i = 0; i < 98; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(100000);
+        histogram.record(150000);
+
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(150000, histogram.getMax());
+        Assert.assertEquals((98 * 1000 + 250000) / 100.0, histogram.getMean(), 0.001);
+        Assert.assertEquals(1023, histogram.getPercentile(0.5));
+        Assert.assertEquals(131071, histogram.getPercentile(0.99));
+        Assert.assertEquals(150000, histogram.getPercentile(1));
+        Assert.assertEquals(98, histogram.getCounts()[9]);
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMax());
+    }
+}
@@ -0,0 +1,224 @@
+package com.jvosantos.games.gameoflife.metrics;
+
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeBitPacked;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeEndless;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeHashLife;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeOffHeap;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeSparse;
+import com.jvosantos.games.gameoflife.engine.LifePatterns;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.metrics.MeteredEngine} and the
+ * {@link com.jvosantos.games.gameoflife.metrics.EngineMetrics} it records.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class MeteredEngineTest {
+
+    /**
+     * Tests that a blinker turning from vertical to horizontal is recorded with two births, two deaths and the
+     * bounding box of each phase, while the metered engine shows the same cells as the engine it wraps.
+     */
+    @Test public void testBlinkerBirthsAndDeaths() {
+        int[][] blinker = {{0, 0, 0, 0, 0}, {0, 0, 1, 0, 0}, {0, 0, 1, 0, 0}, {0, 0, 1, 0, 0}, {0, 0, 0, 0, 0}};
+        int[][] blinkerHorizontal = {{0, 0, 0, 0, 0}, {0, 0, 0, 0, 0}, {0, 1, 1, 1, 0}, {0, 0, 0, 0, 0}, {0, 0, 0, 0, 0}};
+
+        MeteredEngine engine = new MeteredEngine(new GameOfLifeConstrained(), new EngineMetrics(1));
+        EngineMetrics metrics = engine.getMetrics();
+
+        engine.seed(blinker);
+        Assert.assertEquals(0, metrics.getGeneration());
+        Assert.assertEquals(3, metrics.getPopulation());
+        Assert.assertEquals(-1, metrics.getBirths());
+        Assert.assertEquals(-1, metrics.getDeaths());
+        assertBoundingBox(metrics, 2, 1, 1, 3);
+
+        Assert.assertArrayEquals(blinkerHorizontal, engine.next());
+        Assert.assertEquals(1, metrics.getGeneration());
+        Assert.assertEquals(3, metrics.getPopulation());
+        Assert.assertEquals(2, metrics.getBirths());
+        Assert.assertEquals(2, metrics.getDeaths());
+        assertBoundingBox(metrics, 1, 2, 3, 1);
+        Assert.assertEquals(1, metrics.getSteps());
+
+        Assert.assertArrayEquals(blinker, engine.next());
+        Assert.assertEquals(2, metrics.getBirths());
+        Assert.assertEquals(2, metrics.getDeaths());
+        Assert.assertEquals(2, metrics.getSteps());
+    }
+
+    /**
+     * Tests that a glider on an unbounded world is followed off the board by the bounding box, and that an advance is
+     * recorded as a single step of many generations, with the births and deaths of all of them.
+     */
+    @Test public void testAdvanceIsASingleStep() {
+        MeteredEngine engine = new MeteredEngine(new GameOfLifeEndless(), new EngineMetrics(1));
+        EngineMetrics metrics = engine.getMetrics();
+
+        engine.seed(new int[][] {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}});
+        engine.advance(400);
+
+        Assert.assertEquals(400, metrics.getGeneration());
+        Assert.assertEquals(1, metrics.getSteps());
+        Assert.assertEquals(5, metrics.getPopulation());
+        // the glider moves a cell down and right every 4 generations
+        assertBoundingBox(metrics, 100, 100, 3, 3);
+        // every generation of the glider gives birth to 2 cells and kills 2 others
+        Assert.assertEquals(800, metrics.getBirths());
+        Assert.assertEquals(800, metrics.getDeaths());
+    }
+
+    /**
+     * Tests that the births and deaths of an engine that doesn't count them are unknown, while the bounding box is
+     * still measured.
+     */
+    @Test public void testBirthsUnknownWithoutCounters() {
+        MeteredEngine engine = new MeteredEngine(new GameOfLifeHashLife(), new EngineMetrics(1));
+        EngineMetrics metrics = engine.getMetrics();
+
+        engine.seed(LifePatterns.BLINKER.getPattern());
+        engine.nextGeneration();
+
+        Assert.assertEquals(3, metrics.getPopulation());
+        Assert.assertEquals(-1, metrics.getBirths());
+        Assert.assertEquals(-1, metrics.getDeaths());
+        Assert.assertEquals(3, metrics.getBoundingBoxWidth() * metrics.getBoundingBoxHeight());
+    }
+
+    /**
+     * Tests that the bounding box is only measured every given number of steps, keeping the last box in between, and
+     * only on the seed when no number of steps is given.
+     */
+    @Test public void testBoundingBoxIsSampled() {
+        int[][] glider = {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}};
+        MeteredEngine sampled = new MeteredEngine(new GameOfLifeSparse(), new EngineMetrics(4));
+        MeteredEngine seedOnly = new MeteredEngine(new GameOfLifeSparse(), new EngineMetrics(0));
+
+        sampled.seed(glider);
+        seedOnly.seed(glider);
+        for (int step = 1; step < 4; step++) {
+            sampled.nextGeneration();
+            seedOnly.nextGeneration();
+            assertBoundingBox(sampled.getMetrics(), 0, 0, 3, 3);
+            Assert.assertEquals(2, sampled.getMetrics().getBirths());
+        }
+
+        sampled.nextGeneration();
+        seedOnly.nextGeneration();
+        assertBoundingBox(sampled.getMetrics(), 1, 1, 3, 3);
+        assertBoundingBox(seedOnly.getMetrics(), 0, 0, 3, 3);
+    }
+
+    /**
+     * Tests that an empty world has an empty bounding box, and that reseeding forgets the steps recorded before.
+     */
+    @Test public void testSeedResetsMetrics() {
+        MeteredEngine engine = new MeteredEngine(new GameOfLifeSparse());
+        EngineMetrics metrics = engine.getMetrics();
+
+        engine.seed(LifePatterns.BLINKER.getPattern());
+        engine.advance(3);
+        engine.seed(LifePatterns.BLANK.getPattern());
+
+        Assert.assertEquals(0, metrics.getGeneration());
+        Assert.assertEquals(0, metrics.getSteps());
+        Assert.assertEquals(0, metrics.getPopulation());
+        assertBoundingBox(metrics, 0, 0, 0, 0);
+    }
+
+    /**
+     * Tests that the latencies and allocated bytes of every step are recorded.
+     */
+    @Test public void testStepLatencies() {
+        GameEngine engine = new MeteredEngine(new GameOfLifeConstrained());
+        EngineMetrics metrics = ((MeteredEngine) engine).getMetrics();
+
+        engine.seed(LifePatterns.NOUS_OSCILLATOR.getPattern());
+        for (int generation = 0; generation < 10; generation++) {
+            engine.nextGeneration();
+        }
+
+        long histogramSteps = 0;
+        for (long count : metrics.getStepLatencyHistogram()) {
+            histogramSteps += count;
+        }
+
+        Assert.assertEquals(10, metrics.getSteps());
+        Assert.assertEquals(10, histogramSteps);
+        Assert.assertTrue(metrics.getMaxStepNanos() > 0);
+        Assert.assertTrue(metrics.getMedianStepNanos() <= metrics.getP99StepNanos());
+        Assert.assertTrue(metrics.getP99StepNanos() <= metrics.getMaxStepNanos());
+        Assert.assertTrue(metrics.getMeanStepNanos() <= metrics.getMaxStepNanos());
+    }
+
+    /**
+     * Tests that registered metrics are read as attributes of an MBean on the platform MBean server.
+     */
+    @Test public void testMetricsAreExposedThroughJmx() throws JMException {
+        MeteredEngine engine = new MeteredEngine(new GameOfLifeConstrained());
+        ObjectName name = engine.getMetrics().register("test");
+
+        try {
+            engine.seed(LifePatterns.BLINKER.getPattern());
+            engine.advance(5);
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Assert.assertEquals(EngineMetrics.objectName("test"), name);
+            Assert.assertEquals(5L, server.getAttribute(name, "Generation"));
+            Assert.assertEquals(3L, server.getAttribute(name, "Population"));
+            Assert.assertEquals(1L, server.getAttribute(name, "Steps"));
+        } finally {
+            EngineMetrics.unregister("test");
+        }
+
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    /**
+     * Tests that the live cells of a board larger than {@link EngineMetrics#MAX_TRACKED_CELLS} aren't visited, even
+     * with a small population, since an engine with boundaries visits every cell of its board to find them.
+     */
+    @Test public void testLargeBoardIsNotVisited() {
+        int[][] cells = new int[1024][EngineMetrics.MAX_TRACKED_CELLS / 1024 + 1];
+        cells[10][9] = cells[10][10] = cells[10][11] = 1;
+        MeteredEngine engine = new MeteredEngine(new GameOfLifeBitPacked());
+        EngineMetrics metrics = engine.getMetrics();
+
+        engine.seed(cells);
+        engine.nextGeneration();
+
+        Assert.assertEquals(3, metrics.getPopulation());
+        Assert.assertEquals(-1, metrics.getBirths());
+        Assert.assertEquals(-1, metrics.getDeaths());
+        Assert.assertEquals(-1, metrics.getBoundingBoxWidth());
+    }
+
+    /**
+     * Tests that closing a metered engine closes the engine it wraps.
+     */
+    @Test(expected = IllegalStateException.class) public void testCloseClosesEngine() throws IOException {
+        GameOfLifeOffHeap offHeap = new GameOfLifeOffHeap();
+        MeteredEngine engine = new MeteredEngine(offHeap);
+        engine.seed(LifePatterns.BLINKER.getPattern());
+
+        engine.close();
+        offHeap.nextGeneration();
+    }
+
+    private static void assertBoundingBox(EngineMetrics metrics, int x, int y, long width, long height) {
+        Assert.assertEquals(x, metrics.getBoundingBoxX());
+        Assert.assertEquals(y, metrics.getBoundingBoxY());
+        Assert.assertEquals(width, metrics.getBoundingBoxWidth());
+        Assert.assertEquals(height, metrics.getBoundingBoxHeight());
+    }
+}
@@ -0,0 +1,72 @@
+package com.jvosantos.games.gameoflife.metrics;
+
+import com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained;
+import com.jvosantos.games.gameoflife.engine.LifePatterns;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.metrics.MetricsLog}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class MetricsLogTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that the log writes the header, rows while the engine runs and a last row with the metrics of the last
+     * step when closed.
+     */
+    @Test public void testRowsAreWritten() throws IOException, InterruptedException {
+        Path file = folder.getRoot().toPath().resolve("metrics.csv");
+        MeteredEngine engine = new MeteredEngine(new GameOfLifeConstrained());
+        engine.seed(LifePatterns.BLINKER.getPattern());
+
+        MetricsLog log = new MetricsLog(engine.getMetrics(), file, 5);
+        for (int generation = 0; generation < 4; generation++) {
+            engine.nextGeneration();
+            Thread.sleep(20);
+        }
+        log.close();
+
+        List<String> lines = Files.readAllLines(file);
+        Assert.assertEquals(MetricsLog.HEADER, lines.get(0));
+        Assert.assertTrue(lines.size() > 2);
+
+        String[] header = MetricsLog.HEADER.split(",");
+        String[] last = lines.get(lines.size() - 1).split(",", -1);
+        Assert.assertEquals(header.length, last.length);
+        Assert.assertEquals("4", last[1]);
+        Assert.assertEquals("3", last[2]);
+        Assert.assertEquals("2", last[3]);
+        Assert.assertEquals("2", last[4]);
+        Assert.assertEquals("4", last[9]);
+    }
+
+    /**
+     * Tests that unknown metrics are left empty.
+     */
+    @Test public void testUnknownMetricsAreEmpty() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("metrics.csv");
+        MeteredEngine engine = new MeteredEngine(new GameOfLifeConstrained());
+        engine.seed(LifePatterns.BLINKER.getPattern());
+
+        new MetricsLog(engine.getMetrics(), file, 60000).close();
+
+        List<String> lines = Files.readAllLines(file);
+        String[] row = lines.get(1).split(",", -1);
+        Assert.assertEquals(2, lines.size());
+        Assert.assertEquals("0", row[1]);
+        Assert.assertEquals("", row[3]);
+        Assert.assertEquals("", row[4]);
+        Assert.assertEquals("", row[14]);
+    }
+}
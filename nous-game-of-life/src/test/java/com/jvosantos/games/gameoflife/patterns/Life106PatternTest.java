@@ -0,0 +1,67 @@
+package com.jvosantos.games.gameoflife.patterns;
+
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.settings.PatternType;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.patterns.Life106Pattern}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class Life106PatternTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that a glider with negative coordinates is moved into the bounding box of its cells.
+     */
+    @Test public void testGlider() throws IOException, ParseException {
+        Pattern pattern = open("#Life 1.06\n0 -1\n1 0\n-1 1\n0 1\n1 1\n");
+
+        Assert.assertEquals(3, pattern.getWidth());
+        Assert.assertEquals(3, pattern.getHeight());
+        Assert.assertArrayEquals(new int[][] {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}},
+            RlePatternTest.toArray(pattern));
+    }
+
+    /**
+     * Tests that a pattern without cells is empty.
+     */
+    @Test public void testEmpty() throws IOException, ParseException {
+        Pattern pattern = open("#Life 1.06\r\n");
+
+        Assert.assertEquals(0, pattern.getWidth());
+        Assert.assertEquals(0, pattern.getHeight());
+    }
+
+    /**
+     * Tests that a line with a single coordinate is refused.
+     */
+    @Test(expected = ParseException.class) public void testMissingCoordinate() throws IOException, ParseException {
+        open("#Life 1.06\n1\n");
+    }
+
+    /**
+     * Tests that a coordinate which isn't a number is refused.
+     */
+    @Test(expected = ParseException.class) public void testInvalidCoordinate() throws IOException, ParseException {
+        open("#Life 1.06\n1 a\n");
+    }
+
+    private Pattern open(String content) throws IOException, ParseException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+
+        return PatternFile.open(PatternType.LIFE_106, file);
+    }
+}
@@ -0,0 +1,69 @@
+package com.jvosantos.games.gameoflife.patterns;
+
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.settings.PatternType;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.patterns.PlaintextPattern}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class PlaintextPatternTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that a plaintext glider with comments and short rows is read with the size of its longest row.
+     */
+    @Test public void testPlaintext() throws IOException, ParseException {
+        Pattern pattern = open(PatternType.PLAINTEXT, "!Name: Glider\n!\n.O\n..*\nOOO\n\n");
+
+        Assert.assertEquals(3, pattern.getWidth());
+        Assert.assertEquals(4, pattern.getHeight());
+        Assert.assertArrayEquals(new int[][] {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}, {0, 0, 0}},
+            RlePatternTest.toArray(pattern));
+    }
+
+    /**
+     * Tests that a binary pattern is read like {@link com.jvosantos.games.gameoflife.engine.LifePatterns#parsePattern(java.util.List)},
+     * skipping empty lines.
+     */
+    @Test public void testBinary() throws IOException, ParseException {
+        Pattern pattern = open(PatternType.BINARY, "010\r\n\r\n001\r\n111");
+
+        Assert.assertEquals(3, pattern.getWidth());
+        Assert.assertEquals(3, pattern.getHeight());
+        Assert.assertArrayEquals(new int[][] {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}}, RlePatternTest.toArray(pattern));
+    }
+
+    /**
+     * Tests that binary patterns have no comments.
+     */
+    @Test(expected = ParseException.class) public void testBinaryComment() throws IOException, ParseException {
+        open(PatternType.BINARY, "!Name: Glider\n010\n");
+    }
+
+    /**
+     * Tests that a plaintext pattern with binary cells is refused.
+     */
+    @Test(expected = ParseException.class) public void testUnexpectedCharacter() throws IOException, ParseException {
+        open(PatternType.PLAINTEXT, ".O.\n010\n");
+    }
+
+    private Pattern open(PatternType type, String content) throws IOException, ParseException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+
+        return PatternFile.open(type, file);
+    }
+}
@@ -0,0 +1,86 @@
+package com.jvosantos.games.gameoflife.patterns;
+
+import com.jvosantos.games.gameoflife.engine.Pattern;
+import com.jvosantos.games.gameoflife.settings.PatternType;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.patterns.RlePattern}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class RlePatternTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests that a glider with comments, a rule and runs split across lines is read with the size of its header.
+     */
+    @Test public void testGlider() throws IOException, ParseException {
+        Pattern pattern = open("#N Glider\n#C A comment\nx = 4, y = 3, rule = B3/S23\nbo$2bo\n$3o!\n");
+
+        Assert.assertEquals(4, pattern.getWidth());
+        Assert.assertEquals(3, pattern.getHeight());
+        Assert.assertArrayEquals(new int[][] {{0, 1, 0, 0}, {0, 0, 1, 0}, {1, 1, 1, 0}}, toArray(pattern));
+    }
+
+    /**
+     * Tests that a run of row ends skips empty rows.
+     */
+    @Test public void testEmptyRows() throws IOException, ParseException {
+        Pattern pattern = open("x=2,y=4\r\n2o3$ob!");
+
+        Assert.assertArrayEquals(new int[][] {{1, 1}, {0, 0}, {0, 0}, {1, 0}}, toArray(pattern));
+    }
+
+    /**
+     * Tests that a pattern without a header is refused.
+     */
+    @Test(expected = ParseException.class) public void testMissingHeader() throws IOException, ParseException {
+        open("bo$2bo$3o!");
+    }
+
+    /**
+     * Tests that a pattern without its end mark is refused.
+     */
+    @Test(expected = ParseException.class) public void testMissingEnd() throws IOException, ParseException {
+        open("x = 3, y = 3\nbo$2bo$3o");
+    }
+
+    /**
+     * Tests that a pattern with cells beyond the size of its header is refused.
+     */
+    @Test(expected = ParseException.class) public void testCellsOutsideHeader() throws IOException, ParseException {
+        open("x = 2, y = 2\n3o!");
+    }
+
+    /**
+     * Tests that a pattern with an unknown character is refused.
+     */
+    @Test(expected = ParseException.class) public void testUnexpectedCharacter() throws IOException, ParseException {
+        open("x = 3, y = 1\no?o!");
+    }
+
+    private Pattern open(String content) throws IOException, ParseException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+
+        return PatternFile.open(PatternType.RLE, file);
+    }
+
+    static int[][] toArray(Pattern pattern) {
+        int[][] cells = new int[pattern.getHeight()][pattern.getWidth()];
+        pattern.forEachLiveCell((x, y) -> cells[y][x]++);
+
+        return cells;
+    }
+}
@@ -0,0 +1,149 @@
+package com.jvosantos.games.gameoflife.snapshots;
+
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameEngineFactory;
+import com.jvosantos.games.gameoflife.engine.GameMode;
+import com.jvosantos.games.gameoflife.engine.RandomSoups;
+import com.jvosantos.games.gameoflife.engine.Rule;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.snapshots.Snapshot} on every
+ * {@link com.jvosantos.games.gameoflife.engine.GameMode}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+@RunWith(Parameterized.class)
+public class SnapshotTest {
+
+    private final GameMode mode;
+
+    public SnapshotTest(GameMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Provides every game mode as a parameter of the tests.
+     * @return the game modes.
+     */
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> modes() {
+        return Arrays.stream(GameMode.values()).map(mode -> new Object[] {mode})
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that a random soup restored from a dense snapshot keeps evolving like the engine it was saved from. Worlds
+     * without boundaries are always saved sparse.
+     */
+    @Test public void testDenseSnapshot() throws IOException {
+        int[][] soup = RandomSoups.of(40, 70, 42);
+
+        assertRestoredEngineMatches(soup, GameEngineFactory.getEngine(mode, 2).hasBoundaries() ?
+            Snapshot.Encoding.DENSE : Snapshot.Encoding.SPARSE);
+    }
+
+    /**
+     * Tests that a glider restored from a sparse snapshot keeps evolving like the engine it was saved from.
+     */
+    @Test public void testSparseSnapshot() throws IOException {
+        int[][] glider = new int[30][30];
+        glider[10][11] = 1;
+        glider[11][12] = 1;
+        glider[12][10] = 1;
+        glider[12][11] = 1;
+        glider[12][12] = 1;
+
+        assertRestoredEngineMatches(glider, Snapshot.Encoding.SPARSE);
+    }
+
+    /**
+     * Tests that a sparse world saved in bands of a few cells, some of its rows holding more cells than a band, gives
+     * the same bytes as saving it at once.
+     */
+    @Test public void testSparseSnapshotInBands() throws IOException {
+        int[][] soup = RandomSoups.of(64, 64, 11);
+        for (int[] row : soup) {
+            for (int x = 0; x < row.length; x++) {
+                row[x] &= (x % 8 == 0) ? 1 : 0;
+            }
+        }
+
+        GameEngine engine = GameEngineFactory.getEngine(mode, 2);
+        engine.seed(soup);
+        engine.advance(3);
+
+        byte[] expected = save(engine, 3);
+        for (int bandCells : new int[] {3, 50}) {
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            Snapshot snapshot = Snapshot.save(engine, 3, Channels.newChannel(actual), bandCells);
+
+            Assert.assertEquals(Snapshot.Encoding.SPARSE, snapshot.getEncoding());
+            Assert.assertArrayEquals(expected, actual.toByteArray());
+        }
+    }
+
+    /**
+     * Tests that a snapshot is refused when it doesn't start with the magic bytes.
+     */
+    @Test(expected = StreamCorruptedException.class) public void testCorruptedSnapshot() throws IOException {
+        GameEngine engine = GameEngineFactory.getEngine(mode, 2);
+        engine.seed(new int[][] {{0, 1, 0}, {0, 1, 0}, {0, 1, 0}});
+
+        byte[] bytes = save(engine, 0);
+        bytes[0] = 0;
+
+        restore(GameEngineFactory.getEngine(mode, 2), bytes);
+    }
+
+    private void assertRestoredEngineMatches(int[][] pattern, Snapshot.Encoding encoding) throws IOException {
+        GameEngine expected = GameEngineFactory.getEngine(mode, 2);
+        expected.seed(pattern);
+        expected.setRule(Rule.parse("B36/S23"));
+
+        for (int generation = 0; generation < 5; generation++) {
+            expected.nextGeneration();
+        }
+
+        byte[] bytes = save(expected, 5);
+        GameEngine actual = GameEngineFactory.getEngine(mode, 2);
+        Snapshot snapshot = restore(actual, bytes);
+
+        Assert.assertEquals(encoding, snapshot.getEncoding());
+        Assert.assertEquals(5, snapshot.getGeneration());
+        Assert.assertEquals(Rule.parse("B36/S23"), snapshot.getRule());
+        Assert.assertEquals(Rule.parse("B36/S23"), actual.getRule());
+        Assert.assertEquals(expected.getBoard().getPopulation(), snapshot.getPopulation());
+
+        for (int generation = 0; generation < 10; generation++) {
+            Assert.assertArrayEquals(expected.getBoard().toArray(), actual.getBoard().toArray());
+            Assert.assertEquals(expected.getBoard().getPopulation(), actual.getBoard().getPopulation());
+
+            expected.nextGeneration();
+            actual.nextGeneration();
+        }
+    }
+
+    static byte[] save(GameEngine engine, long generation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Snapshot.save(engine, generation, Channels.newChannel(bytes));
+
+        return bytes.toByteArray();
+    }
+
+    static Snapshot restore(GameEngine engine, byte[] bytes) throws IOException {
+        return Snapshot.restore(engine, Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+}
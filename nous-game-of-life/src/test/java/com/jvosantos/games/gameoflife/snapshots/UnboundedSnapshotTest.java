@@ -0,0 +1,104 @@
+package com.jvosantos.games.gameoflife.snapshots;
+
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeEndless;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeHashLife;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeSparse;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Tests for {@link com.jvosantos.games.gameoflife.snapshots.Snapshot} on worlds without boundaries, whose live cells
+ * wander off the board.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class UnboundedSnapshotTest {
+
+    private static final int[][] GLIDER = {{0, 0, 1}, {1, 0, 1}, {0, 1, 1}};
+
+    /**
+     * Tests that a glider that left the board of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeEndless}
+     * comes back after restoring it.
+     */
+    @Test public void testEndlessKeepsCellsOutsideOfTheBoard() throws IOException {
+        assertCellsOutsideOfTheBoardAreKept(GameOfLifeEndless::new);
+    }
+
+    /**
+     * Tests that a glider that left the board of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeSparse}
+     * comes back after restoring it.
+     */
+    @Test public void testSparseKeepsCellsOutsideOfTheBoard() throws IOException {
+        assertCellsOutsideOfTheBoardAreKept(GameOfLifeSparse::new);
+    }
+
+    /**
+     * Tests that a glider that left the board of {@link com.jvosantos.games.gameoflife.engine.GameOfLifeHashLife}
+     * comes back after restoring it.
+     */
+    @Test public void testHashLifeKeepsCellsOutsideOfTheBoard() throws IOException {
+        assertCellsOutsideOfTheBoardAreKept(GameOfLifeHashLife::new);
+    }
+
+    /**
+     * Tests that a snapshot with cells outside of the board can't be restored into an engine with boundaries.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testEngineWithBoundariesRefusesOutsideCells()
+        throws IOException {
+        GameEngine engine = new GameOfLifeEndless();
+        engine.seed(GLIDER);
+
+        for (int generation = 0; generation < 20; generation++) {
+            engine.nextGeneration();
+        }
+
+        SnapshotTest.restore(new GameOfLifeConstrained(), SnapshotTest.save(engine, 20));
+    }
+
+    private void assertCellsOutsideOfTheBoardAreKept(Supplier<GameEngine> engines) throws IOException {
+        GameEngine expected = engines.get();
+        expected.seed(GLIDER);
+
+        // the glider flies south east, off the board
+        for (int generation = 0; generation < 20; generation++) {
+            expected.nextGeneration();
+        }
+        Assert.assertEquals(0, countBoardCells(expected));
+        Assert.assertEquals(5, expected.getBoard().getPopulation());
+
+        GameEngine actual = engines.get();
+        SnapshotTest.restore(actual, SnapshotTest.save(expected, 20));
+
+        Assert.assertEquals(5, actual.getBoard().getPopulation());
+        Assert.assertEquals(cells(expected), cells(actual));
+
+        for (int generation = 0; generation < 8; generation++) {
+            expected.nextGeneration();
+            actual.nextGeneration();
+
+            Assert.assertEquals(cells(expected), cells(actual));
+        }
+    }
+
+    private static int countBoardCells(GameEngine engine) {
+        int[] count = {0};
+        engine.getBoard().forEachLiveCell((x, y) -> count[0]++);
+
+        return count[0];
+    }
+
+    private static List<String> cells(GameEngine engine) {
+        List<String> cells = new ArrayList<>();
+        engine.forEachLiveCell((x, y) -> cells.add(x + "," + y));
+        cells.sort(String::compareTo);
+
+        return cells;
+    }
+}
@@ -0,0 +1,83 @@
+package com.jvosantos.games.gameoflife.ui;
+
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.ui.BufferedRenderer}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class BufferedRendererTest {
+
+    private static final String HEADER = "============  Game of life  ============";
+    private static final String NEW_LINE = System.lineSeparator();
+
+    /**
+     * Tests that every frame is written in full, header first and one line per row.
+     */
+    @Test public void testFullFrames() {
+        GameEngine engine = blinker();
+        StringWriter out = new StringWriter();
+        BufferedRenderer renderer = new BufferedRenderer(out, 'O', '.', false);
+
+        renderer.render(engine.getBoard());
+        engine.nextGeneration();
+        renderer.render(engine.getBoard());
+
+        Assert.assertEquals(HEADER + NEW_LINE + ".O." + NEW_LINE + ".O." + NEW_LINE + ".O." + NEW_LINE
+            + HEADER + NEW_LINE + "..." + NEW_LINE + "OOO" + NEW_LINE + "..." + NEW_LINE, out.toString());
+    }
+
+    /**
+     * Tests that the first frame clears the terminal and draws the board in full, that the following frames only
+     * redraw the changed cells, and that an unchanged board only moves the cursor below it.
+     */
+    @Test public void testDiffFrames() {
+        GameEngine engine = blinker();
+        StringWriter out = new StringWriter();
+        BufferedRenderer renderer = new BufferedRenderer(out, 'O', '.', true);
+
+        renderer.render(engine.getBoard());
+        Assert.assertEquals("\u001B[2J\u001B[H" + HEADER + NEW_LINE + ".O." + NEW_LINE + ".O." + NEW_LINE + ".O."
+            + NEW_LINE, out.toString());
+
+        out.getBuffer().setLength(0);
+        engine.nextGeneration();
+        renderer.render(engine.getBoard());
+        // the top and bottom cells die, and the middle row gets a run on each side of its unchanged middle cell
+        Assert.assertEquals("\u001B[2;2H.\u001B[3;1HO\u001B[3;3HO\u001B[4;2H.\u001B[5;1H", out.toString());
+
+        out.getBuffer().setLength(0);
+        renderer.render(engine.getBoard());
+        Assert.assertEquals("\u001B[5;1H", out.toString());
+    }
+
+    /**
+     * Tests that a board of another size is drawn again in full.
+     */
+    @Test public void testDiffRedrawsResizedBoard() {
+        StringWriter out = new StringWriter();
+        BufferedRenderer renderer = new BufferedRenderer(out, 'O', '.', true);
+        GameEngine engine = new GameOfLifeConstrained();
+
+        renderer.render(blinker().getBoard());
+        out.getBuffer().setLength(0);
+        engine.seed(new int[][] {{1, 1}, {1, 1}});
+        renderer.render(engine.getBoard());
+
+        Assert.assertEquals("\u001B[2J\u001B[H" + HEADER + NEW_LINE + "OO" + NEW_LINE + "OO" + NEW_LINE,
+            out.toString());
+    }
+
+    private static GameEngine blinker() {
+        GameEngine engine = new GameOfLifeConstrained();
+        engine.seed(new int[][] {{0, 1, 0}, {0, 1, 0}, {0, 1, 0}});
+
+        return engine;
+    }
+}
@@ -0,0 +1,82 @@
+package com.jvosantos.games.gameoflife.ui;
+
+import com.jvosantos.games.gameoflife.engine.Board;
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeConstrained;
+import com.jvosantos.games.gameoflife.engine.LifePatterns;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.ui.FrameRing}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class FrameRingTest {
+
+    /**
+     * Tests that frames are taken in the order they were published, with the cells of their generation.
+     */
+    @Test public void testTakeInPublishingOrder() throws InterruptedException {
+        GameEngine engine = new GameOfLifeConstrained();
+        engine.seed(LifePatterns.BLINKER.getPattern());
+        FrameRing ring = new FrameRing(2);
+
+        publish(ring, engine.getBoard(), 0);
+        engine.nextGeneration();
+        publish(ring, engine.getBoard(), 1);
+
+        Frame frame = ring.take();
+        Assert.assertEquals(0, frame.getGeneration());
+        Assert.assertArrayEquals(LifePatterns.BLINKER.getPattern(), frame.toArray());
+        ring.release(frame);
+
+        frame = ring.take();
+        Assert.assertEquals(1, frame.getGeneration());
+        Assert.assertArrayEquals(engine.getBoard().toArray(), frame.toArray());
+        Assert.assertEquals(3, frame.getPopulation());
+        ring.release(frame);
+
+        Assert.assertEquals(0, ring.getDroppedFrames());
+    }
+
+    /**
+     * Tests that publishing on a full ring drops the oldest frames, without ever running out of frames to claim.
+     */
+    @Test public void testDropOldestWhenFull() throws InterruptedException {
+        GameEngine engine = new GameOfLifeConstrained();
+        engine.seed(LifePatterns.BLINKER.getPattern());
+        FrameRing ring = new FrameRing(3);
+
+        // the consumer holds a frame all along
+        publish(ring, engine.getBoard(), 0);
+        Frame held = ring.take();
+
+        for (int generation = 1; generation <= 10; generation++) {
+            publish(ring, engine.getBoard(), generation);
+        }
+        ring.release(held);
+        ring.close();
+
+        Assert.assertEquals(7, ring.getDroppedFrames());
+        for (int generation = 8; generation <= 10; generation++) {
+            Frame frame = ring.take();
+            Assert.assertEquals(generation, frame.getGeneration());
+            ring.release(frame);
+        }
+        Assert.assertNull(ring.take());
+    }
+
+    /**
+     * Tests that a ring can't be created without room for a frame.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testEmptyRing() {
+        new FrameRing(0);
+    }
+
+    private static void publish(FrameRing ring, Board board, long generation) {
+        Frame frame = ring.claim();
+        frame.copy(board, generation);
+        ring.publish(frame);
+    }
+}
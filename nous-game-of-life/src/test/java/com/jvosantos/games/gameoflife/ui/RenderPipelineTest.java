@@ -0,0 +1,72 @@
+package com.jvosantos.games.gameoflife.ui;
+
+import com.jvosantos.games.gameoflife.engine.GameEngine;
+import com.jvosantos.games.gameoflife.engine.GameOfLifeEndless;
+import com.jvosantos.games.gameoflife.engine.LifePatterns;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.ui.RenderPipeline}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class RenderPipelineTest {
+
+    /**
+     * Tests that an engine outrunning a slow renderer gets every generation either rendered, in order and with the
+     * right cells, or dropped, and that closing renders the last generation.
+     */
+    @Test public void testSlowRendererDropsFrames() {
+        int generations = 200;
+        GameEngine engine = new GameOfLifeEndless();
+        engine.seed(LifePatterns.BLINKER.getPattern());
+
+        List<Long> rendered = new ArrayList<>();
+        List<Boolean> matches = new ArrayList<>();
+        RenderPipeline pipeline = new RenderPipeline(board -> {
+            Frame frame = (Frame) board;
+            rendered.add(frame.getGeneration());
+            // the blinker is back to the seed on even generations
+            matches.add((frame.getGeneration() % 2 == 0)
+                == Arrays.deepEquals(LifePatterns.BLINKER.getPattern(), frame.toArray()));
+        }, 4, 1);
+
+        pipeline.offer(engine.getBoard(), 0);
+        for (int generation = 1; generation <= generations; generation++) {
+            engine.nextGeneration();
+            pipeline.offer(engine.getBoard(), generation);
+        }
+        pipeline.close();
+
+        Assert.assertEquals(generations + 1, rendered.size() + pipeline.getDroppedFrames());
+        Assert.assertEquals(Long.valueOf(generations), rendered.get(rendered.size() - 1));
+        for (int i = 1; i < rendered.size(); i++) {
+            Assert.assertTrue(rendered.get(i - 1) < rendered.get(i));
+        }
+        Assert.assertFalse(matches.contains(false));
+    }
+
+    /**
+     * Tests that frames are rendered on a daemon thread, so a pipeline left open doesn't keep the JVM running, and that
+     * closing from an interrupted thread keeps it interrupted.
+     */
+    @Test public void testRendererThreadIsDaemon() {
+        List<Boolean> daemon = new ArrayList<>();
+        RenderPipeline pipeline = new RenderPipeline(board -> daemon.add(Thread.currentThread().isDaemon()), 4, 0);
+
+        GameEngine engine = new GameOfLifeEndless();
+        engine.seed(LifePatterns.BLINKER.getPattern());
+        pipeline.offer(engine.getBoard(), 0);
+        pipeline.close();
+        Assert.assertEquals(Arrays.asList(true), daemon);
+
+        Thread.currentThread().interrupt();
+        pipeline.close();
+        Assert.assertTrue(Thread.interrupted());
+    }
+}
@@ -0,0 +1,91 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.utils.LongHashSet}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class LongHashSetTest {
+
+    /**
+     * Tests adding and checking keys, including zero and negative keys, while the table grows.
+     */
+    @Test public void testAddAndContains() {
+        LongHashSet set = new LongHashSet();
+
+        for (long key = -500; key < 500; key++) {
+            Assert.assertEquals(true, set.add(key * 31));
+        }
+        Assert.assertEquals(false, set.add(0));
+        Assert.assertEquals(1000, set.size());
+
+        for (long key = -500; key < 500; key++) {
+            Assert.assertEquals(true, set.contains(key * 31));
+            Assert.assertEquals(false, set.contains(key * 31 + 1));
+        }
+    }
+
+    /**
+     * Tests that iterating the slots gives every key once and that clearing empties the set.
+     */
+    @Test public void testIterateAndClear() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+
+        for (long key = 0; key < 100; key++) {
+            set.add(key << 32);
+            expected.add(key << 32);
+        }
+
+        Set<Long> actual = new HashSet<>();
+        for (int slot = 0; slot < set.capacity(); slot++) {
+            if (set.isUsed(slot)) {
+                actual.add(set.keyAt(slot));
+            }
+        }
+        Assert.assertEquals(expected, actual);
+
+        set.clear();
+        Assert.assertEquals(0, set.size());
+        Assert.assertEquals(false, set.contains(0));
+    }
+
+    /**
+     * Tests that removing random keys, which leaves holes in the middle of the probed runs, keeps every other key
+     * reachable.
+     */
+    @Test public void testRemove() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 5000; i++) {
+            long key = random.nextInt(2000);
+
+            if (random.nextBoolean()) {
+                Assert.assertEquals(expected.add(key), set.add(key));
+            } else {
+                Assert.assertEquals(expected.remove(key), set.remove(key));
+            }
+        }
+
+        Assert.assertEquals(expected.size(), set.size());
+        for (long key = 0; key < 2000; key++) {
+            Assert.assertEquals(expected.contains(key), set.contains(key));
+        }
+    }
+
+    /**
+     * Tests that the key reserved for empty slots is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testReservedKey() {
+        new LongHashSet().add(LongHashSet.NO_KEY);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.utils.LongIntHashMap}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class LongIntHashMapTest {
+
+    /**
+     * Tests accumulating values for many keys while the table grows, and that missing keys have the value 0.
+     */
+    @Test public void testAddToAndGet() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        for (int round = 1; round <= 3; round++) {
+            for (long key = -500; key < 500; key++) {
+                Assert.assertEquals(round * (int) Math.abs(key), map.addTo(key, (int) Math.abs(key)));
+            }
+        }
+
+        Assert.assertEquals(1000, map.size());
+        Assert.assertEquals(3 * 42, map.get(-42));
+        Assert.assertEquals(0, map.get(500));
+    }
+
+    /**
+     * Tests that iterating the slots gives the sum of all values and that clearing empties the map.
+     */
+    @Test public void testIterateAndClear() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        for (long key = 0; key < 100; key++) {
+            map.addTo(key, 1);
+            map.addTo(key, 1);
+        }
+
+        int sum = 0;
+        for (int slot = 0; slot < map.capacity(); slot++) {
+            if (map.isUsed(slot)) {
+                sum += map.valueAt(slot);
+            }
+        }
+        Assert.assertEquals(200, sum);
+
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertEquals(0, map.get(1));
+    }
+}
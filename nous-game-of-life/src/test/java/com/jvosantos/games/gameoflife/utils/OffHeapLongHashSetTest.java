@@ -0,0 +1,98 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.utils.OffHeapLongHashSet}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class OffHeapLongHashSetTest {
+
+    /**
+     * Tests adding and checking keys, including zero, negative keys and the key flipped into an empty slot, while the
+     * table grows.
+     */
+    @Test public void testAddAndContains() {
+        try (OffHeapLongHashSet set = new OffHeapLongHashSet()) {
+            for (long key = -500; key < 500; key++) {
+                Assert.assertEquals(true, set.add(key * 31));
+            }
+            Assert.assertEquals(false, set.add(0));
+            Assert.assertEquals(true, set.add(Long.MAX_VALUE));
+            Assert.assertEquals(1001, set.size());
+
+            for (long key = -500; key < 500; key++) {
+                Assert.assertEquals(true, set.contains(key * 31));
+                Assert.assertEquals(false, set.contains(key * 31 + 1));
+            }
+            Assert.assertEquals(true, set.contains(Long.MAX_VALUE));
+        }
+    }
+
+    /**
+     * Tests that iterating the slots gives every key once and that clearing empties the set.
+     */
+    @Test public void testIterateAndClear() {
+        try (OffHeapLongHashSet set = new OffHeapLongHashSet()) {
+            Set<Long> expected = new HashSet<>();
+
+            for (long key = 0; key < 100; key++) {
+                set.add(key << 32);
+                expected.add(key << 32);
+            }
+
+            Set<Long> actual = new HashSet<>();
+            for (int slot = 0; slot < set.capacity(); slot++) {
+                if (set.isUsed(slot)) {
+                    actual.add(set.keyAt(slot));
+                }
+            }
+            Assert.assertEquals(expected, actual);
+
+            set.clear();
+            Assert.assertEquals(0, set.size());
+            Assert.assertEquals(false, set.contains(0));
+        }
+    }
+
+    /**
+     * Tests that removing random keys, which leaves holes in the middle of the probed runs, keeps every other key
+     * reachable.
+     */
+    @Test public void testRemove() {
+        try (OffHeapLongHashSet set = new OffHeapLongHashSet()) {
+            Set<Long> expected = new HashSet<>();
+            Random random = new Random(3);
+
+            for (int i = 0; i < 5000; i++) {
+                long key = random.nextInt(2000);
+
+                if (random.nextBoolean()) {
+                    Assert.assertEquals(expected.add(key), set.add(key));
+                } else {
+                    Assert.assertEquals(expected.remove(key), set.remove(key));
+                }
+            }
+
+            Assert.assertEquals(expected.size(), set.size());
+            for (long key = 0; key < 2000; key++) {
+                Assert.assertEquals(expected.contains(key), set.contains(key));
+            }
+        }
+    }
+
+    /**
+     * Tests that the key reserved for empty slots is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class) public void testReservedKey() {
+        try (OffHeapLongHashSet set = new OffHeapLongHashSet()) {
+            set.add(LongHashSet.NO_KEY);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jvosantos.games.gameoflife.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Holds the test cases for {@link com.jvosantos.games.gameoflife.utils.OffHeapLongIntHashMap}.
+ *
+ * @author {@link "mailto:jvosantos@gmail.com" "Vasco Santos"}
+ */
+public class OffHeapLongIntHashMapTest {
+
+    /**
+     * Tests that values are added up per key and kept while the table grows, and that missing keys have the value 0.
+     */
+    @Test public void testAddToAndGet() {
+        try (OffHeapLongIntHashMap map = new OffHeapLongIntHashMap()) {
+            for (int round = 1; round <= 3; round++) {
+                for (long key = -1000; key < 1000; key++) {
+                    Assert.assertEquals(round * (int) key, map.addTo(key << 20, (int) key));
+                }
+            }
+
+            Assert.assertEquals(2000, map.size());
+            for (long key = -1000; key < 1000; key++) {
+                Assert.assertEquals(3 * key, map.get(key << 20));
+            }
+            Assert.assertEquals(0, map.get(1));
+        }
+    }
+
+    /**
+     * Tests that iterating the slots gives every key with its value and that clearing empties the map.
+     */
+    @Test public void testIterateAndClear() {
+        try (OffHeapLongIntHashMap map = new OffHeapLongIntHashMap()) {
+            for (long key = 0; key < 100; key++) {
+                map.addTo(key, (int) key + 1);
+            }
+
+            long keys = 0;
+            for (int slot = 0; slot < map.capacity(); slot++) {
+                if (map.isUsed(slot)) {
+                    Assert.assertEquals(map.keyAt(slot) + 1, map.valueAt(slot));
+                    keys++;
+                }
+            }
+            Assert.assertEquals(100, keys);
+
+            map.clear();
+            Assert.assertEquals(0, map.size());
+            Assert.assertEquals(0, map.get(5));
+        }
+    }
+}